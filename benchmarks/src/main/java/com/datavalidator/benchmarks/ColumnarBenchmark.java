@@ -0,0 +1,67 @@
+package com.datavalidator.benchmarks;
+
+import com.datavalidator.columnar.ColumnBatch;
+import com.datavalidator.columnar.DoubleColumn;
+import com.datavalidator.validators.RangeValidator;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Range checks on a numeric column: the primitive kernel against the
+ * row-at-a-time path. Scores are per row.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ColumnarBenchmark {
+    private static final int ROWS = 65_536;
+
+    private RangeValidator validator;
+    private ColumnBatch batch;
+    private Map<String, Object>[] rows;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        validator = new RangeValidator("age_range", "age", 0.0, 150.0, true, 5);
+        Random random = new Random(11);
+        double[] ages = new double[ROWS];
+        rows = new Map[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            ages[i] = random.nextDouble() * 170 - 10;
+            rows[i] = Collections.singletonMap("age", ages[i]);
+        }
+        batch = new ColumnBatch(ROWS).add(new DoubleColumn("age", ages, null));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long[] kernel() {
+        return validator.validateColumns(batch);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void rowAtATime(Blackhole blackhole) {
+        for (Map<String, Object> row : rows) {
+            blackhole.consume(validator.validate(row).isValid());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.datavalidator.benchmarks;
+
+import com.datavalidator.validators.LookupIndex;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Membership tests against a reference set of customer ids, half hits and
+ * half misses, in a {@code HashSet<String>} and in mapped lookup indexes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LookupBenchmark {
+    private static final int PROBES = 1 << 16;
+
+    @Param({"1000000"})
+    public int keys;
+
+    private Path dir;
+    private Set<String> hashSet;
+    private LookupIndex hashed;
+    private LookupIndex verified;
+    private String[] probes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("lookup-bench");
+        Path keyFile = dir.resolve("customers.txt");
+        hashSet = new HashSet<>();
+        try (BufferedWriter writer = Files.newBufferedWriter(keyFile, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < keys; i++) {
+                String key = "CUST-" + (i * 2L);
+                hashSet.add(key);
+                writer.write(key);
+                writer.newLine();
+            }
+        }
+        hashed = LookupIndex.build(keyFile, dir.resolve("hashed.idx"), false);
+        verified = LookupIndex.build(keyFile, dir.resolve("verified.idx"), true);
+
+        Random random = new Random(5);
+        probes = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = "CUST-" + random.nextInt(keys * 2); // odd ids are absent
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    private String nextProbe() {
+        String probe = probes[next];
+        next = (next + 1) & (PROBES - 1);
+        return probe;
+    }
+
+    @Benchmark
+    public boolean hashSet() {
+        return hashSet.contains(nextProbe());
+    }
+
+    @Benchmark
+    public boolean index() {
+        return hashed.contains(nextProbe());
+    }
+
+    @Benchmark
+    public boolean verifiedIndex() {
+        return verified.contains(nextProbe());
+    }
+}
@@ -0,0 +1,84 @@
+package com.datavalidator.benchmarks;
+
+import com.datavalidator.core.ErrorCollector;
+import com.datavalidator.validators.MemoizingValidator;
+import com.datavalidator.validators.RangeValidator;
+import com.datavalidator.validators.TypeValidator;
+import com.datavalidator.validators.Validator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Coercing type and range checks over string values, plain and memoized,
+ * for columns with few distinct values and with mostly distinct ones.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MemoizeBenchmark {
+    private static final int COUNT = 1 << 17; // more records than the default capacity, so high cardinality misses
+
+    @Param({"16", "100000"})
+    public int cardinality;
+
+    private Validator type;
+    private Validator range;
+    private Validator memoType;
+    private Validator memoRange;
+    private Map<String, Object>[] records;
+    private final ErrorCollector errors = new ErrorCollector();
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        type = new TypeValidator("types", Collections.singletonMap("amount", "double"), 5, true);
+        range = new RangeValidator("amount", "amount", 0.0, 500_000.0, true, 5);
+        memoType = MemoizingValidator.wrap(type, MemoizingValidator.DEFAULT_CAPACITY);
+        memoRange = MemoizingValidator.wrap(range, MemoizingValidator.DEFAULT_CAPACITY);
+
+        Random random = new Random(11);
+        records = new Map[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("amount", String.format("%.2f", (double) random.nextInt(cardinality)));
+            records[i] = record;
+        }
+    }
+
+    private Map<String, Object> nextRecord() {
+        errors.clear();
+        Map<String, Object> record = records[next];
+        next = (next + 1) & (COUNT - 1);
+        return record;
+    }
+
+    @Benchmark
+    public double plain() {
+        Map<String, Object> record = nextRecord();
+        return type.validateInto(record, errors) + range.validateInto(record, errors);
+    }
+
+    @Benchmark
+    public double memoized() {
+        Map<String, Object> record = nextRecord();
+        return memoType.validateInto(record, errors) + memoRange.validateInto(record, errors);
+    }
+}
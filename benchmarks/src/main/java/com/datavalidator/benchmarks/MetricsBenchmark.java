@@ -0,0 +1,66 @@
+package com.datavalidator.benchmarks;
+
+import com.datavalidator.config.ValidationConfig;
+import com.datavalidator.core.ValidationEngine;
+import com.datavalidator.core.ValidationResult;
+import com.datavalidator.core.ValidatorCLI;
+import com.datavalidator.metrics.ValidationMetrics;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Overhead of per-rule metrics: the same engine uninstrumented (sampleEvery 0),
+ * timing every invocation (1) and timing one in 64.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+    @Param({"0", "1", "64"})
+    public int sampleEvery;
+
+    @Param({"10", "100"})
+    public int width;
+
+    @Param({"false", "true"})
+    public boolean dirty;
+
+    private ValidationEngine engine;
+    private Map<String, Object>[] records;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ValidationConfig base = SyntheticRecords.loadRules();
+        engine = ValidatorCLI.createEngine(SyntheticRecords.widen(base, width));
+        if (sampleEvery > 0) {
+            engine = new ValidationMetrics(sampleEvery).instrument(engine);
+        }
+
+        List<Map<String, Object>> generated = SyntheticRecords.generate(base, width, dirty);
+        records = generated.toArray(new Map[0]);
+    }
+
+    @Benchmark
+    public ValidationResult validate() {
+        Map<String, Object> record = records[next];
+        next = (next + 1) & (SyntheticRecords.RECORD_COUNT - 1);
+        return engine.validate(record);
+    }
+}
@@ -0,0 +1,85 @@
+package com.datavalidator.benchmarks;
+
+import com.datavalidator.core.NumberParser;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link NumberParser} against the JDK parsers wrapped in try/catch, on
+ * clean input and on input where a share of the values is not a number.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NumberParserBenchmark {
+    private static final int COUNT = 1024;
+    private static final String[] GARBAGE = {"abc", "N/A", "", "12a", "1,5", "--", "null", "?"};
+
+    @Param({"0", "20"})
+    public int garbagePercent;
+
+    private final NumberParser parser = new NumberParser();
+    private String[] decimals;
+    private String[] integers;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(3);
+        decimals = new String[COUNT];
+        integers = new String[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            boolean garbage = random.nextInt(100) < garbagePercent;
+            decimals[i] = garbage ? GARBAGE[i % GARBAGE.length] : String.format("%.2f", random.nextDouble() * 1000);
+            integers[i] = garbage ? GARBAGE[i % GARBAGE.length] : Integer.toString(random.nextInt(1_000_000));
+        }
+    }
+
+    private int index() {
+        int current = next;
+        next = (next + 1) & (COUNT - 1);
+        return current;
+    }
+
+    @Benchmark
+    public double jdkDouble() {
+        try {
+            return Double.parseDouble(decimals[index()]);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public double parserDouble() {
+        return parser.parseDouble(decimals[index()]) == NumberParser.Status.OK ? parser.doubleValue() : -1;
+    }
+
+    @Benchmark
+    public int jdkInt() {
+        try {
+            return Integer.parseInt(integers[index()]);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public int parserInt() {
+        return parser.parseInt(integers[index()]) == NumberParser.Status.OK ? parser.intValue() : -1;
+    }
+}
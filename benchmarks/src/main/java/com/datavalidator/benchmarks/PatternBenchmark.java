@@ -0,0 +1,95 @@
+package com.datavalidator.benchmarks;
+
+import com.datavalidator.validators.PatternValidator;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Email, phone and UUID format checks, about one value in eight malformed:
+ * {@code String.matches}, which compiles the regex on every call, a
+ * precompiled {@link Pattern} with a fresh matcher per value, and
+ * {@link PatternValidator}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PatternBenchmark {
+    private static final int VALUES = 1 << 12;
+
+    @Param({"email", "phone", "uuid"})
+    public String format;
+
+    private String regex;
+    private Pattern pattern;
+    private PatternValidator validator;
+    private String[] values;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(25);
+        values = new String[VALUES];
+        switch (format) {
+            case "email":
+                regex = "^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
+                for (int i = 0; i < VALUES; i++) {
+                    values[i] = random.nextInt(8) == 0 ? "user" + i + "-at-example.com" : "user." + i + "@example.com";
+                }
+                break;
+            case "phone":
+                regex = "^\\+?[1-9]\\d{6,14}$";
+                for (int i = 0; i < VALUES; i++) {
+                    long number = 1_000_000_000L + (random.nextLong() & Long.MAX_VALUE) % 9_000_000_000L;
+                    values[i] = random.nextInt(8) == 0 ? "+1 " + number : "+1" + number;
+                }
+                break;
+            default:
+                regex = "^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$";
+                for (int i = 0; i < VALUES; i++) {
+                    String uuid = new UUID(random.nextLong(), random.nextLong()).toString();
+                    values[i] = random.nextInt(8) == 0 ? uuid.toUpperCase() : uuid;
+                }
+                break;
+        }
+        pattern = Pattern.compile(regex);
+        validator = new PatternValidator(format, format, regex, 1);
+    }
+
+    private String nextValue() {
+        String value = values[next];
+        next = (next + 1) & (VALUES - 1);
+        return value;
+    }
+
+    @Benchmark
+    public boolean stringMatches() {
+        return nextValue().matches(regex);
+    }
+
+    @Benchmark
+    public boolean compiledPattern() {
+        return pattern.matcher(nextValue()).matches();
+    }
+
+    @Benchmark
+    public boolean validator() {
+        return validator.matches(nextValue());
+    }
+}
@@ -0,0 +1,65 @@
+package com.datavalidator.benchmarks;
+
+import com.datavalidator.config.ValidationConfig;
+import com.datavalidator.core.TrackedResult;
+import com.datavalidator.core.ValidationEngine;
+import com.datavalidator.core.ValidationResult;
+import com.datavalidator.core.ValidatorCLI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Checking a one-field update of a wide record: full validation against
+ * {@link ValidationEngine#revalidate}. The update changes {@code age}, which
+ * only the type and range rules of the bundled config read.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RevalidateBenchmark {
+    private static final Set<String> CHANGED = Collections.singleton("age");
+
+    @Param({"150"})
+    public int width;
+
+    private ValidationEngine engine;
+    private Map<String, Object> record;
+    private TrackedResult tracked;
+    private int age;
+
+    @Setup
+    public void setUp() {
+        ValidationConfig base = SyntheticRecords.loadRules();
+        engine = ValidatorCLI.createEngine(SyntheticRecords.widen(base, width));
+        record = SyntheticRecords.generate(base, width, false).get(0);
+        tracked = engine.validateTracked(record);
+    }
+
+    @Benchmark
+    public ValidationResult full() {
+        record.put("age", age++ & 255);
+        return engine.validate(record);
+    }
+
+    @Benchmark
+    public ValidationResult incremental() {
+        record.put("age", age++ & 255);
+        return engine.revalidate(tracked, record, CHANGED);
+    }
+}
@@ -0,0 +1,64 @@
+package com.datavalidator.benchmarks;
+
+import com.datavalidator.core.ValidationResult;
+import com.datavalidator.scoring.QualityScorer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link QualityScorer} in every scoring mode, for as many per-validator
+ * results as a record has fields, through both the list and array entry points.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ScorerBenchmark {
+    @Param({"WEIGHTED", "AVERAGE", "MINIMUM", "THRESHOLD"})
+    public QualityScorer.ScoringMode scoringMode;
+
+    @Param({"10", "100", "1000"})
+    public int width;
+
+    private QualityScorer scorer;
+    private List<ValidationResult> results;
+    private double[] scores;
+
+    @Setup
+    public void setUp() {
+        scorer = new QualityScorer(scoringMode, 0.8);
+        Random random = new Random(7);
+        results = new ArrayList<>(width);
+        scores = new double[width];
+        for (int i = 0; i < width; i++) {
+            scores[i] = 0.5 + random.nextDouble() / 2;
+            results.add(new ValidationResult(true, Collections.emptyList(), scores[i]));
+        }
+    }
+
+    @Benchmark
+    public double scoreList() {
+        return scorer.calculateScore(results);
+    }
+
+    @Benchmark
+    public double scoreArray() {
+        return scorer.calculateScore(scores, scores.length);
+    }
+}
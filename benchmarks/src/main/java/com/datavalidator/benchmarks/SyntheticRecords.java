@@ -0,0 +1,204 @@
+package com.datavalidator.benchmarks;
+
+import com.datavalidator.config.ValidationConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates reproducible records shaped by {@code configs/validation-rules.yaml},
+ * which is bundled into the benchmark jar. Records are padded with extra fields
+ * up to the requested width, and {@link #widen} adds rules over those fields so
+ * the work per record grows with the width.
+ */
+public final class SyntheticRecords {
+    public static final String RULES_RESOURCE = "/validation-rules.yaml";
+    public static final int RECORD_COUNT = 1024; // power of two, so benchmarks can cycle with a mask
+    private static final long SEED = 20240601L;
+    private static final String PADDING_PREFIX = "extra_";
+
+    private SyntheticRecords() {
+    }
+
+    public static ValidationConfig loadRules() {
+        try (InputStream in = SyntheticRecords.class.getResourceAsStream(RULES_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing bundled rules " + RULES_RESOURCE);
+            }
+            return new ObjectMapper(new YAMLFactory()).readValue(in, ValidationConfig.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The bundled rules plus a required rule and a type rule over the padding
+     * fields of a record of the given width.
+     */
+    public static ValidationConfig widen(ValidationConfig config, int width) {
+        List<String> padding = paddingFields(config, width);
+        if (padding.isEmpty()) {
+            return config;
+        }
+
+        Map<String, String> types = new LinkedHashMap<>();
+        for (int i = 0; i < padding.size(); i++) {
+            types.put(padding.get(i), i % 2 == 0 ? "integer" : "string");
+        }
+
+        ValidationConfig.RuleConfig required = new ValidationConfig.RuleConfig();
+        required.setName("wide_required");
+        required.setType("required");
+        required.setPriority(3);
+        required.setFields(padding);
+        required.setStrict(true);
+
+        ValidationConfig.RuleConfig typed = new ValidationConfig.RuleConfig();
+        typed.setName("wide_types");
+        typed.setType("type");
+        typed.setPriority(2);
+        typed.setTypes(types);
+
+        List<ValidationConfig.RuleConfig> rules = new ArrayList<>(config.getRules());
+        rules.add(required);
+        rules.add(typed);
+
+        ValidationConfig widened = new ValidationConfig();
+        widened.setMode(config.getMode());
+        widened.setScoring(config.getScoring());
+        widened.setRules(rules);
+        widened.setFailFast(config.getFailFast());
+        widened.setAdaptiveOrdering(config.getAdaptiveOrdering());
+        return widened;
+    }
+
+    /**
+     * Generate {@link #RECORD_COUNT} records. Dirty records break one rule each,
+     * cycling through a missing required field, a wrong type, an out-of-range
+     * value and an unparseable number.
+     */
+    public static List<Map<String, Object>> generate(ValidationConfig config, int width, boolean dirty) {
+        Random random = new Random(SEED);
+        List<String> padding = paddingFields(config, width);
+        List<Map<String, Object>> records = new ArrayList<>(RECORD_COUNT);
+
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            for (ValidationConfig.RuleConfig rule : config.getRules()) {
+                fill(record, rule, random, i);
+            }
+            for (int p = 0; p < padding.size(); p++) {
+                record.put(padding.get(p), p % 2 == 0 ? (Object) random.nextInt(1000) : "v" + random.nextInt(1000));
+            }
+            if (dirty) {
+                corrupt(record, config, i);
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static void fill(Map<String, Object> record, ValidationConfig.RuleConfig rule, Random random, int index) {
+        switch (rule.getType()) {
+            case "required":
+                for (String field : rule.getFields()) {
+                    record.putIfAbsent(field, field + "-" + index);
+                }
+                break;
+            case "type":
+                for (Map.Entry<String, String> entry : rule.getTypes().entrySet()) {
+                    record.put(entry.getKey(), valueOfType(entry.getValue(), random, index));
+                }
+                break;
+            case "range":
+                double min = rule.getMin() != null ? rule.getMin() : 0.0;
+                double max = rule.getMax() != null ? rule.getMax() : min + 1000.0;
+                record.put(rule.getField(), (int) (min + 1 + random.nextInt((int) Math.max(1, max - min - 1))));
+                break;
+            case "pattern":
+                String email = "user" + index + "@example.com"; // the only format the sample config checks
+                if (email.matches(rule.getPattern())) {
+                    record.put(rule.getField(), email);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static Object valueOfType(String type, Random random, int index) {
+        switch (type.toLowerCase()) {
+            case "integer":
+            case "int":
+                return random.nextInt(100_000);
+            case "double":
+                return random.nextDouble() * 1000;
+            default:
+                return "value-" + index;
+        }
+    }
+
+    private static void corrupt(Map<String, Object> record, ValidationConfig config, int index) {
+        for (ValidationConfig.RuleConfig rule : config.getRules()) {
+            switch (index % 4) {
+                case 0:
+                    if ("required".equals(rule.getType())) {
+                        record.remove(rule.getFields().get(0));
+                        return;
+                    }
+                    break;
+                case 1:
+                    if ("type".equals(rule.getType())) {
+                        String field = rule.getTypes().keySet().iterator().next();
+                        record.put(field, Boolean.TRUE);
+                        return;
+                    }
+                    break;
+                case 2:
+                    if ("range".equals(rule.getType())) {
+                        double max = rule.getMax() != null ? rule.getMax() : 1000.0;
+                        record.put(rule.getField(), (int) max + 50);
+                        return;
+                    }
+                    break;
+                default:
+                    if ("range".equals(rule.getType())) {
+                        record.put(rule.getField(), "not-a-number");
+                        return;
+                    }
+                    break;
+            }
+        }
+    }
+
+    private static List<String> paddingFields(ValidationConfig config, int width) {
+        Set<String> used = new HashSet<>();
+        for (ValidationConfig.RuleConfig rule : config.getRules()) {
+            if (rule.getFields() != null) {
+                used.addAll(rule.getFields());
+            }
+            if (rule.getTypes() != null) {
+                used.addAll(rule.getTypes().keySet());
+            }
+            if (rule.getField() != null) {
+                used.add(rule.getField());
+            }
+        }
+        used.removeIf(field -> field.startsWith(PADDING_PREFIX)); // already widened
+
+        List<String> padding = new ArrayList<>();
+        for (int i = used.size(); i < width; i++) {
+            padding.add(PADDING_PREFIX + i);
+        }
+        return padding;
+    }
+}
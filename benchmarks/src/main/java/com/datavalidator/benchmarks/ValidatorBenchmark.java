@@ -0,0 +1,88 @@
+package com.datavalidator.benchmarks;
+
+import com.datavalidator.config.ValidationConfig;
+import com.datavalidator.core.ValidationResult;
+import com.datavalidator.core.ValidatorCLI;
+import com.datavalidator.validators.Validator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Each built-in validator on its own, on clean and dirty records. The
+ * required and type validators cover every field of the widened record.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidatorBenchmark {
+    @Param({"required", "type", "type_coercion", "range"})
+    public String validator;
+
+    @Param({"10", "100", "1000"})
+    public int width;
+
+    @Param({"false", "true"})
+    public boolean dirty;
+
+    private Validator target;
+    private Map<String, Object>[] records;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ValidationConfig base = SyntheticRecords.loadRules();
+        ValidationConfig widened = SyntheticRecords.widen(base, width);
+        target = ValidatorCLI.createValidator(select(widened, validator));
+
+        List<Map<String, Object>> generated = SyntheticRecords.generate(base, width, dirty);
+        records = generated.toArray(new Map[0]);
+    }
+
+    /**
+     * The widest rule of the requested kind.
+     */
+    private static ValidationConfig.RuleConfig select(ValidationConfig config, String kind) {
+        String type = kind.startsWith("type") ? "type" : kind;
+        ValidationConfig.RuleConfig selected = null;
+        for (ValidationConfig.RuleConfig rule : config.getRules()) {
+            if (type.equals(rule.getType()) && (selected == null || width(rule) > width(selected))) {
+                selected = rule;
+            }
+        }
+        if (selected == null) {
+            throw new IllegalStateException("No " + type + " rule in the bundled config");
+        }
+        selected.setAllowCoercion(kind.equals("type_coercion"));
+        return selected;
+    }
+
+    private static int width(ValidationConfig.RuleConfig rule) {
+        if (rule.getFields() != null) {
+            return rule.getFields().size();
+        }
+        return rule.getTypes() != null ? rule.getTypes().size() : 1;
+    }
+
+    @Benchmark
+    public ValidationResult validate() {
+        Map<String, Object> record = records[next];
+        next = (next + 1) & (SyntheticRecords.RECORD_COUNT - 1);
+        return target.validate(record);
+    }
+}
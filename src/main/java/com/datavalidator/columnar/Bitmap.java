@@ -0,0 +1,51 @@
+package com.datavalidator.columnar;
+
+/**
+ * Helpers for row bitmaps stored as {@code long[]}, bit {@code i % 64} of
+ * word {@code i / 64} standing for row {@code i}.
+ */
+public final class Bitmap {
+    private Bitmap() {
+    }
+
+    public static long[] create(int rows) {
+        return new long[words(rows)];
+    }
+
+    public static int words(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    public static boolean get(long[] bitmap, int row) {
+        return (bitmap[row >>> 6] & (1L << row)) != 0;
+    }
+
+    public static void set(long[] bitmap, int row) {
+        bitmap[row >>> 6] |= 1L << row;
+    }
+
+    public static int cardinality(long[] bitmap) {
+        int count = 0;
+        for (long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * {@code target |= source}, word by word.
+     */
+    public static void or(long[] target, long[] source) {
+        for (int w = 0; w < target.length; w++) {
+            target[w] |= source[w];
+        }
+    }
+
+    /**
+     * Mask selecting the valid rows of word {@code w} in a bitmap of {@code rows} rows.
+     */
+    public static long rowMask(int rows, int w) {
+        int remaining = rows - (w << 6);
+        return remaining >= 64 ? -1L : (1L << remaining) - 1;
+    }
+}
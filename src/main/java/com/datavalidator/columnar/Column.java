@@ -0,0 +1,49 @@
+package com.datavalidator.columnar;
+
+/**
+ * A single named column of a {@link ColumnBatch}. Nulls are tracked in a
+ * separate bitmap so primitive columns never need boxed values.
+ */
+public abstract class Column {
+    private final String name;
+    private final int rowCount;
+    private final long[] nulls; // bit set = null; null array means no nulls
+
+    protected Column(String name, int rowCount, long[] nulls) {
+        if (nulls != null && nulls.length < Bitmap.words(rowCount)) {
+            throw new IllegalArgumentException("Null bitmap too short for " + rowCount + " rows");
+        }
+        this.name = name;
+        this.rowCount = rowCount;
+        this.nulls = nulls;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Null bitmap, or null if the column has no nulls. Not copied.
+     */
+    public long[] getNulls() {
+        return nulls;
+    }
+
+    public boolean isNull(int row) {
+        return nulls != null && Bitmap.get(nulls, row);
+    }
+
+    /**
+     * Boxed value of a row, for row-at-a-time fallbacks.
+     */
+    public abstract Object getValue(int row);
+
+    /**
+     * Type of the boxed values this column produces.
+     */
+    public abstract Class<?> getValueType();
+}
@@ -0,0 +1,56 @@
+package com.datavalidator.columnar;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A batch of rows stored column by column. A field without a column is
+ * treated as missing from every row.
+ */
+public final class ColumnBatch {
+    private final int rowCount;
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+
+    public ColumnBatch(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public ColumnBatch add(Column column) {
+        if (column.getRowCount() != rowCount) {
+            throw new IllegalArgumentException("Column " + column.getName() + " has "
+                + column.getRowCount() + " rows, batch has " + rowCount);
+        }
+        columns.put(column.getName(), column);
+        return this;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Column for a field, or null if the batch has none.
+     */
+    public Column column(String field) {
+        return columns.get(field);
+    }
+
+    public Collection<Column> getColumns() {
+        return Collections.unmodifiableCollection(columns.values());
+    }
+
+    /**
+     * Materialize one row as a map, for validators without a columnar kernel.
+     * Null rows are present with a null value, matching a JSON null.
+     */
+    public Map<String, Object> row(int row) {
+        Map<String, Object> record = new HashMap<>(columns.size() * 2);
+        for (Column column : columns.values()) {
+            record.put(column.getName(), column.getValue(row));
+        }
+        return record;
+    }
+}
@@ -0,0 +1,54 @@
+package com.datavalidator.columnar;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of validating a {@link ColumnBatch}: one failure bitmap per rule,
+ * where a set bit means the row would have produced an invalid
+ * {@code ValidationResult} for that rule.
+ */
+public final class ColumnBatchResult {
+    private final int rowCount;
+    private final Map<String, long[]> failures = new LinkedHashMap<>();
+
+    public ColumnBatchResult(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public void addFailures(String ruleName, long[] bitmap) {
+        failures.put(ruleName, bitmap);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Failure bitmap for a rule, or null if no such rule ran.
+     */
+    public long[] getFailures(String ruleName) {
+        return failures.get(ruleName);
+    }
+
+    public Map<String, long[]> getAllFailures() {
+        return Collections.unmodifiableMap(failures);
+    }
+
+    public int failureCount(String ruleName) {
+        long[] bitmap = failures.get(ruleName);
+        return bitmap != null ? Bitmap.cardinality(bitmap) : 0;
+    }
+
+    /**
+     * Rows failing at least one rule, i.e. the rows STRICT mode rejects.
+     */
+    public long[] anyFailure() {
+        long[] union = Bitmap.create(rowCount);
+        for (long[] bitmap : failures.values()) {
+            Bitmap.or(union, bitmap);
+        }
+        return union;
+    }
+}
@@ -0,0 +1,37 @@
+package com.datavalidator.columnar;
+
+/**
+ * Column of {@code double} values. Values at null rows are ignored.
+ */
+public final class DoubleColumn extends Column {
+    private final double[] values;
+
+    public DoubleColumn(String name, double[] values, long[] nulls) {
+        this(name, values, values.length, nulls);
+    }
+
+    public DoubleColumn(String name, double[] values, int rowCount, long[] nulls) {
+        super(name, rowCount, nulls);
+        if (values.length < rowCount) {
+            throw new IllegalArgumentException("Value array too short for " + rowCount + " rows");
+        }
+        this.values = values;
+    }
+
+    /**
+     * Backing array. Not copied; may be longer than the row count.
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    @Override
+    public Object getValue(int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    @Override
+    public Class<?> getValueType() {
+        return Double.class;
+    }
+}
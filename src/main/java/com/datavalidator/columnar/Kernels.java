@@ -0,0 +1,99 @@
+package com.datavalidator.columnar;
+
+/**
+ * Column-at-a-time validation kernels. Each kernel walks a primitive array in
+ * 64-row words, folds the per-row outcome into a bitmap word without
+ * branching, and masks out null rows at the end of the word.
+ */
+public final class Kernels {
+    private Kernels() {
+    }
+
+    /**
+     * Rows whose value is not in {@code [lo, hi]}. NaN is outside every range.
+     * Exclusive bounds can be expressed with {@link Math#nextUp}/{@link Math#nextDown}.
+     */
+    public static long[] outsideRange(DoubleColumn column, double lo, double hi) {
+        double[] values = column.getValues();
+        long[] nulls = column.getNulls();
+        int rows = column.getRowCount();
+        long[] failures = Bitmap.create(rows);
+
+        for (int w = 0; w < failures.length; w++) {
+            int base = w << 6;
+            int end = Math.min(64, rows - base);
+            long bits = 0L;
+            for (int j = 0; j < end; j++) {
+                double v = values[base + j];
+                long inside = (v >= lo ? 1L : 0L) & (v <= hi ? 1L : 0L);
+                bits |= (inside ^ 1L) << j;
+            }
+            failures[w] = nulls != null ? bits & ~nulls[w] : bits;
+        }
+        return failures;
+    }
+
+    /**
+     * Rows whose value, widened to double as {@code Number.doubleValue()} would,
+     * is not in {@code [lo, hi]}.
+     */
+    public static long[] outsideRange(LongColumn column, double lo, double hi) {
+        long[] values = column.getValues();
+        long[] nulls = column.getNulls();
+        int rows = column.getRowCount();
+        long[] failures = Bitmap.create(rows);
+
+        for (int w = 0; w < failures.length; w++) {
+            int base = w << 6;
+            int end = Math.min(64, rows - base);
+            long bits = 0L;
+            for (int j = 0; j < end; j++) {
+                double v = values[base + j];
+                long inside = (v >= lo ? 1L : 0L) & (v <= hi ? 1L : 0L);
+                bits |= (inside ^ 1L) << j;
+            }
+            failures[w] = nulls != null ? bits & ~nulls[w] : bits;
+        }
+        return failures;
+    }
+
+    /**
+     * Rows that are not null.
+     */
+    public static long[] nonNull(Column column) {
+        long[] nulls = column.getNulls();
+        int rows = column.getRowCount();
+        long[] result = Bitmap.create(rows);
+        for (int w = 0; w < result.length; w++) {
+            long mask = Bitmap.rowMask(rows, w);
+            result[w] = nulls != null ? ~nulls[w] & mask : mask;
+        }
+        return result;
+    }
+
+    /**
+     * Rows that are null.
+     */
+    public static long[] nulls(Column column) {
+        long[] nulls = column.getNulls();
+        int rows = column.getRowCount();
+        long[] result = Bitmap.create(rows);
+        if (nulls != null) {
+            for (int w = 0; w < result.length; w++) {
+                result[w] = nulls[w] & Bitmap.rowMask(rows, w);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Every row of a batch of the given size.
+     */
+    public static long[] allRows(int rows) {
+        long[] result = Bitmap.create(rows);
+        for (int w = 0; w < result.length; w++) {
+            result[w] = Bitmap.rowMask(rows, w);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package com.datavalidator.columnar;
+
+/**
+ * Column of {@code long} values. Values at null rows are ignored.
+ */
+public final class LongColumn extends Column {
+    private final long[] values;
+
+    public LongColumn(String name, long[] values, long[] nulls) {
+        this(name, values, values.length, nulls);
+    }
+
+    public LongColumn(String name, long[] values, int rowCount, long[] nulls) {
+        super(name, rowCount, nulls);
+        if (values.length < rowCount) {
+            throw new IllegalArgumentException("Value array too short for " + rowCount + " rows");
+        }
+        this.values = values;
+    }
+
+    /**
+     * Backing array. Not copied; may be longer than the row count.
+     */
+    public long[] getValues() {
+        return values;
+    }
+
+    @Override
+    public Object getValue(int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    @Override
+    public Class<?> getValueType() {
+        return Long.class;
+    }
+}
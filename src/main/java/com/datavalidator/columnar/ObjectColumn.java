@@ -0,0 +1,34 @@
+package com.datavalidator.columnar;
+
+/**
+ * Column of arbitrary values, used for strings and mixed-type data.
+ * Null array elements are treated as null rows.
+ */
+public final class ObjectColumn extends Column {
+    private final Object[] values;
+
+    public ObjectColumn(String name, Object[] values) {
+        super(name, values.length, nullsOf(values));
+        this.values = values;
+    }
+
+    private static long[] nullsOf(Object[] values) {
+        long[] nulls = Bitmap.create(values.length);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                Bitmap.set(nulls, i);
+            }
+        }
+        return nulls;
+    }
+
+    @Override
+    public Object getValue(int row) {
+        return values[row];
+    }
+
+    @Override
+    public Class<?> getValueType() {
+        return Object.class;
+    }
+}
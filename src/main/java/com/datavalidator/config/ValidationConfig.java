@@ -18,6 +18,12 @@ public class ValidationConfig {
     @JsonProperty("rules")
     private List<RuleConfig> rules;
 
+    @JsonProperty("failFast")
+    private Boolean failFast;
+
+    @JsonProperty("adaptiveOrdering")
+    private Boolean adaptiveOrdering;
+
     public String getMode() {
         return mode;
     }
@@ -42,6 +48,22 @@ public class ValidationConfig {
         this.rules = rules;
     }
 
+    public Boolean getFailFast() {
+        return failFast != null ? failFast : false;
+    }
+
+    public void setFailFast(Boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    public Boolean getAdaptiveOrdering() {
+        return adaptiveOrdering != null ? adaptiveOrdering : false;
+    }
+
+    public void setAdaptiveOrdering(Boolean adaptiveOrdering) {
+        this.adaptiveOrdering = adaptiveOrdering;
+    }
+
     public static class ScoringConfig {
         @JsonProperty("mode")
         private String mode; // "weighted", "average", "minimum", "threshold"
@@ -80,7 +102,7 @@ public class ValidationConfig {
         private String name;
 
         @JsonProperty("type")
-        private String type; // "required", "type", "range"
+        private String type; // "required", "type", "range", "pattern", "lookup", "unique"
 
         @JsonProperty("priority")
         private Object priority; // Can be int or string ("high", "medium", "low")
@@ -109,6 +131,33 @@ public class ValidationConfig {
         @JsonProperty("inclusive")
         private Boolean inclusive;
 
+        @JsonProperty("memoize")
+        private Boolean memoize;
+
+        @JsonProperty("memoizeCapacity")
+        private Integer memoizeCapacity;
+
+        @JsonProperty("pattern")
+        private String pattern; // pattern: regex the whole value must match
+
+        @JsonProperty("keyFile")
+        private String keyFile; // lookup: one key per line
+
+        @JsonProperty("indexFile")
+        private String indexFile; // lookup: defaults to keyFile + ".idx"
+
+        @JsonProperty("verify")
+        private Boolean verify; // lookup: store keys and compare them on a hash match
+
+        @JsonProperty("memoryBudgetMb")
+        private Integer memoryBudgetMb; // unique: heap for key hashes before spilling
+
+        @JsonProperty("spillDir")
+        private String spillDir; // unique: defaults to java.io.tmpdir
+
+        @JsonProperty("sampleDuplicates")
+        private Integer sampleDuplicates; // unique: repeated keys to report
+
         public String getName() {
             return name;
         }
@@ -211,6 +260,78 @@ public class ValidationConfig {
         public void setInclusive(Boolean inclusive) {
             this.inclusive = inclusive;
         }
+
+        public Boolean getMemoize() {
+            return memoize != null ? memoize : false;
+        }
+
+        public void setMemoize(Boolean memoize) {
+            this.memoize = memoize;
+        }
+
+        public Integer getMemoizeCapacity() {
+            return memoizeCapacity;
+        }
+
+        public void setMemoizeCapacity(Integer memoizeCapacity) {
+            this.memoizeCapacity = memoizeCapacity;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public String getKeyFile() {
+            return keyFile;
+        }
+
+        public void setKeyFile(String keyFile) {
+            this.keyFile = keyFile;
+        }
+
+        public String getIndexFile() {
+            return indexFile;
+        }
+
+        public void setIndexFile(String indexFile) {
+            this.indexFile = indexFile;
+        }
+
+        public Boolean getVerify() {
+            return verify != null ? verify : false;
+        }
+
+        public void setVerify(Boolean verify) {
+            this.verify = verify;
+        }
+
+        public Integer getMemoryBudgetMb() {
+            return memoryBudgetMb;
+        }
+
+        public void setMemoryBudgetMb(Integer memoryBudgetMb) {
+            this.memoryBudgetMb = memoryBudgetMb;
+        }
+
+        public String getSpillDir() {
+            return spillDir;
+        }
+
+        public void setSpillDir(String spillDir) {
+            this.spillDir = spillDir;
+        }
+
+        public Integer getSampleDuplicates() {
+            return sampleDuplicates;
+        }
+
+        public void setSampleDuplicates(Integer sampleDuplicates) {
+            this.sampleDuplicates = sampleDuplicates;
+        }
     }
 }
 
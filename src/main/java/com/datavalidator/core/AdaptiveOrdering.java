@@ -0,0 +1,111 @@
+package com.datavalidator.core;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Learns an execution order for fail-fast validation. A sample of records is
+ * timed per validator; every {@link #REORDER_EVERY} samples the order is
+ * recomputed from the samples since the last reorder, so validators with the
+ * lowest cost per rejection run first. Validators that never reject keep their
+ * priority order at the end. Only execution order changes: records that could
+ * stop early are scored by their verdict alone and the rest run every
+ * validator, so verdicts and scores do not depend on the order.
+ */
+class AdaptiveOrdering {
+    static final int SAMPLE_EVERY = 16;   // records per thread between timed records
+    static final int REORDER_EVERY = 64;  // timed records between reorders
+
+    private final int count;
+    private final LongAdder[] nanos;
+    private final LongAdder[] calls;
+    private final LongAdder[] rejects;
+    private final AtomicLong samples = new AtomicLong();
+    private volatile int[] order;
+
+    // Totals at the last reorder, guarded by this
+    private final long[] lastNanos;
+    private final long[] lastCalls;
+    private final long[] lastRejects;
+
+    AdaptiveOrdering(int count) {
+        this.count = count;
+        this.nanos = adders(count);
+        this.calls = adders(count);
+        this.rejects = adders(count);
+        this.lastNanos = new long[count];
+        this.lastCalls = new long[count];
+        this.lastRejects = new long[count];
+        int[] identity = new int[count];
+        for (int i = 0; i < count; i++) {
+            identity[i] = i;
+        }
+        this.order = identity;
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    int[] order() {
+        return order;
+    }
+
+    void record(int validator, long elapsedNanos, boolean rejected) {
+        nanos[validator].add(elapsedNanos);
+        calls[validator].increment();
+        if (rejected) {
+            rejects[validator].increment();
+        }
+    }
+
+    /**
+     * Called once per timed record, after its validators have been recorded.
+     */
+    void sampleCompleted() {
+        if (samples.incrementAndGet() % REORDER_EVERY == 0) {
+            reorder();
+        }
+    }
+
+    private synchronized void reorder() {
+        double[] costPerReject = new double[count];
+        for (int i = 0; i < count; i++) {
+            long n = nanos[i].sum();
+            long c = calls[i].sum();
+            long r = rejects[i].sum();
+            long windowCalls = c - lastCalls[i];
+            long windowRejects = r - lastRejects[i];
+            long windowNanos = n - lastNanos[i];
+            lastNanos[i] = n;
+            lastCalls[i] = c;
+            lastRejects[i] = r;
+
+            if (windowCalls == 0 || windowRejects == 0) {
+                costPerReject[i] = Double.POSITIVE_INFINITY;
+            } else {
+                double cost = (double) Math.max(windowNanos, 1) / windowCalls;
+                double rejectRate = (double) windowRejects / windowCalls;
+                costPerReject[i] = cost / rejectRate;
+            }
+        }
+
+        Integer[] next = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            next[i] = i;
+        }
+        // Stable sort: validators that never reject keep their priority order
+        Arrays.sort(next, Comparator.comparingDouble(i -> costPerReject[i]));
+        int[] published = new int[count];
+        for (int i = 0; i < count; i++) {
+            published[i] = next[i];
+        }
+        order = published;
+    }
+}
@@ -0,0 +1,135 @@
+package com.datavalidator.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Progress of a file validation run: how far into the input it got, the
+ * running totals up to that point and, if a dataset report is being built,
+ * the report's counts. Written as JSON, atomically, so a crash mid-write
+ * leaves the previous checkpoint intact.
+ */
+public class Checkpoint {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String input;
+    private final long inputSize;
+    private final long inputModified;
+    private final long offset;
+    private final long records;
+    private final long passed;
+    private final long errors;
+    private final double scoreSum;
+    private final Map<String, Object> report; // DatasetQualityReport state, or null
+
+    public Checkpoint(String input, long inputSize, long inputModified, long offset,
+                      long records, long passed, long errors, double scoreSum, Map<String, Object> report) {
+        this.input = input;
+        this.inputSize = inputSize;
+        this.inputModified = inputModified;
+        this.offset = offset;
+        this.records = records;
+        this.passed = passed;
+        this.errors = errors;
+        this.scoreSum = scoreSum;
+        this.report = report;
+    }
+
+    /**
+     * Write to {@code path} through a temporary file in the same directory,
+     * forced to disk and then renamed over the previous checkpoint.
+     */
+    public void write(Path path) throws IOException {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("input", input);
+        state.put("inputSize", inputSize);
+        state.put("inputModified", inputModified);
+        state.put("offset", offset);
+        state.put("records", records);
+        state.put("passed", passed);
+        state.put("errors", errors);
+        state.put("scoreSum", scoreSum);
+        if (report != null) {
+            state.put("report", report);
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.wrap(MAPPER.writeValueAsBytes(state));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Checkpoint read(Path path) throws IOException {
+        Map<String, Object> state = MAPPER.readValue(path.toFile(), Map.class);
+        try {
+            return new Checkpoint(
+                (String) state.get("input"),
+                number(state, "inputSize").longValue(),
+                number(state, "inputModified").longValue(),
+                number(state, "offset").longValue(),
+                number(state, "records").longValue(),
+                number(state, "passed").longValue(),
+                number(state, "errors").longValue(),
+                number(state, "scoreSum").doubleValue(),
+                (Map<String, Object>) state.get("report"));
+        } catch (ClassCastException | NullPointerException e) {
+            throw new IOException("Malformed checkpoint " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Number number(Map<String, Object> state, String key) {
+        return (Number) state.get(key);
+    }
+
+    /**
+     * Whether the input file still has the size and modification time it had
+     * at the checkpoint. Resuming into a changed file would skip the wrong records.
+     */
+    public boolean matches(Path inputFile) throws IOException {
+        return Files.size(inputFile) == inputSize
+            && Files.getLastModifiedTime(inputFile).toMillis() == inputModified;
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getPassed() {
+        return passed;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getScoreSum() {
+        return scoreSum;
+    }
+
+    public Map<String, Object> getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,126 @@
+package com.datavalidator.core;
+
+import com.datavalidator.io.RecordReader;
+import com.datavalidator.scoring.DatasetQualityReport;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes {@link Checkpoint}s while the CLI validates a file. Records are read
+ * ahead of their results, so the input offset after each record is queued
+ * when the record is read and taken off when its result arrives; results
+ * must therefore be delivered in input order. The clock is only read every
+ * {@link #CHECK_EVERY} results, so between writes the cost per record is a
+ * queue push and pop.
+ */
+final class Checkpointer {
+    static final long DEFAULT_INTERVAL_SECONDS = 10;
+    private static final int CHECK_EVERY = 1024;
+
+    private final Path file;
+    private final long intervalNanos;
+    private final Path input;
+    private final long inputSize;
+    private final long inputModified;
+    private final long baseOffset;
+
+    private long[] offsets = new long[1024]; // ring buffer of end offsets of records read but not yet counted
+    private int head;
+    private int size;
+    private long lastOffset;
+    private long nextWrite;
+    private int untilCheck = CHECK_EVERY;
+    private int written;
+
+    /**
+     * @param baseOffset offset the reader started at, when resuming
+     */
+    Checkpointer(Path file, long intervalSeconds, Path input, long baseOffset) throws IOException {
+        this.file = file;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(intervalSeconds);
+        this.input = input;
+        this.inputSize = Files.size(input);
+        this.inputModified = Files.getLastModifiedTime(input).toMillis();
+        this.baseOffset = baseOffset;
+        this.lastOffset = baseOffset;
+        this.nextWrite = System.nanoTime() + intervalNanos;
+    }
+
+    /**
+     * The reader's records, noting the input offset after each one.
+     */
+    Iterator<Map<String, Object>> track(RecordReader reader) {
+        return new Iterator<Map<String, Object>>() {
+            @Override
+            public boolean hasNext() {
+                return reader.hasNext();
+            }
+
+            @Override
+            public Map<String, Object> next() {
+                Map<String, Object> record = reader.next();
+                push(baseOffset + reader.getBytesRead());
+                return record;
+            }
+        };
+    }
+
+    private void push(long offset) {
+        if (size == offsets.length) {
+            long[] grown = Arrays.copyOfRange(offsets, head, head + offsets.length);
+            System.arraycopy(offsets, 0, grown, offsets.length - head, head);
+            offsets = Arrays.copyOf(grown, offsets.length * 2);
+            head = 0;
+        }
+        offsets[(head + size) & (offsets.length - 1)] = offset;
+        size++;
+    }
+
+    /**
+     * Called once per result, in input order, after the totals include it.
+     * Writes a checkpoint when the interval has passed.
+     */
+    void onResult(long records, long passed, long errors, double scoreSum, DatasetQualityReport report) {
+        lastOffset = offsets[head];
+        head = (head + 1) & (offsets.length - 1);
+        size--;
+        if (--untilCheck > 0) {
+            return;
+        }
+        untilCheck = CHECK_EVERY;
+        if (System.nanoTime() - nextWrite >= 0) {
+            write(records, passed, errors, scoreSum, report);
+            nextWrite = System.nanoTime() + intervalNanos;
+        }
+    }
+
+    /**
+     * Write a checkpoint now. A failed write is reported and the run goes on;
+     * the previous checkpoint stays in place.
+     */
+    void write(long records, long passed, long errors, double scoreSum, DatasetQualityReport report) {
+        try {
+            new Checkpoint(input.toString(), inputSize, inputModified, lastOffset, records, passed, errors, scoreSum,
+                report != null ? report.toState() : null).write(file);
+            written++;
+        } catch (IOException e) {
+            System.err.println("Warning: could not write checkpoint " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Remove the checkpoint once the run has finished.
+     */
+    void complete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    int getWritten() {
+        return written;
+    }
+}
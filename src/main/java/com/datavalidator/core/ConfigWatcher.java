@@ -0,0 +1,112 @@
+package com.datavalidator.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads a {@link ReloadableEngine} when its rules file changes. Watches the
+ * file's directory, so editors that save by writing a temporary file and
+ * renaming it are seen too, and waits for a quiet period before reloading so
+ * a save made of several writes triggers one rebuild. The directory is also
+ * rechecked every poll interval, which covers file systems where watch events
+ * are unreliable; {@link ReloadableEngine#reload()} ignores unchanged content.
+ */
+public class ConfigWatcher implements Closeable {
+    public static final long DEFAULT_QUIET_MILLIS = 200;
+    public static final long DEFAULT_POLL_MILLIS = 5_000;
+
+    private final ReloadableEngine engine;
+    private final WatchService watchService;
+    private final Path fileName;
+    private final long quietMillis;
+    private final long pollMillis;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public ConfigWatcher(ReloadableEngine engine) throws IOException {
+        this(engine, DEFAULT_QUIET_MILLIS, DEFAULT_POLL_MILLIS);
+    }
+
+    public ConfigWatcher(ReloadableEngine engine, long quietMillis, long pollMillis) throws IOException {
+        this.engine = engine;
+        Path config = engine.getConfigPath().toAbsolutePath();
+        this.fileName = config.getFileName();
+        this.quietMillis = quietMillis;
+        this.pollMillis = pollMillis;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        config.getParent().register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::run, "config-watcher-" + fileName);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                WatchKey key = watchService.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    reload(); // periodic recheck
+                    continue;
+                }
+                boolean relevant = consume(key);
+                // Let the writer finish: keep absorbing events until the directory is quiet
+                while (running) {
+                    WatchKey more = watchService.poll(quietMillis, TimeUnit.MILLISECONDS);
+                    if (more == null) {
+                        break;
+                    }
+                    relevant |= consume(more);
+                }
+                if (relevant) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    /**
+     * Reload, keeping the watcher alive whatever the reload throws.
+     */
+    private void reload() {
+        try {
+            engine.reload();
+        } catch (RuntimeException e) {
+            System.err.println("Warning: reloading " + engine.getConfigPath() + " failed: " + e);
+        }
+    }
+
+    private boolean consume(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(context)) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        watchService.close();
+        thread.interrupt();
+        try {
+            thread.join(1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.datavalidator.core;
+
+import com.datavalidator.validators.Validator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Which validators read which fields, by validator index. Validators that do
+ * not declare their fields depend on every field.
+ */
+final class DependencyIndex {
+    private static final int[] NONE = new int[0];
+
+    private final int count;
+    private final Map<String, int[]> byField;
+    private final int[] undeclared;
+
+    DependencyIndex(Validator[] validators) {
+        this.count = validators.length;
+        Map<String, List<Integer>> lists = new HashMap<>();
+        List<Integer> opaque = new ArrayList<>();
+        for (int i = 0; i < validators.length; i++) {
+            Set<String> fields = validators[i].getReferencedFields();
+            if (fields == null) {
+                opaque.add(i);
+                continue;
+            }
+            for (String field : fields) {
+                lists.computeIfAbsent(field, f -> new ArrayList<>()).add(i);
+            }
+        }
+        this.byField = new HashMap<>(lists.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : lists.entrySet()) {
+            byField.put(entry.getKey(), toArray(entry.getValue()));
+        }
+        this.undeclared = toArray(opaque);
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Validators that read at least one of the fields, flagged by index.
+     */
+    boolean[] affectedBy(Collection<String> fields) {
+        boolean[] affected = new boolean[count];
+        for (int i : undeclared) {
+            affected[i] = true;
+        }
+        for (String field : fields) {
+            for (int i : byField.getOrDefault(field, NONE)) {
+                affected[i] = true;
+            }
+        }
+        return affected;
+    }
+}
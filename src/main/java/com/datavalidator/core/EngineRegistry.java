@@ -0,0 +1,336 @@
+package com.datavalidator.core;
+
+import com.datavalidator.config.ValidationConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Engines for many tenants, keyed by tenant and a hash of the config content,
+ * so a tenant that changes its rules gets a new engine and an unchanged config
+ * is never rebuilt. Engines are built lazily; concurrent requests for the same
+ * key share one build. At most {@code maxEngines} are kept, evicting the least
+ * recently used; lookups that hit take no lock. When a tenant's config
+ * changes, its previous engine is dropped.
+ * <p>
+ * A build is a YAML parse plus validator construction, which bounds how long
+ * a tenant's first request waits. {@link #preload} moves even that off the
+ * request path.
+ */
+public class EngineRegistry {
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory());
+    private static final ObjectMapper CANONICAL = new ObjectMapper()
+        .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final int maxEngines;
+    private final Function<ValidationConfig, ValidationEngine> builder;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Key> currentKeys = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAccumulator maxLoadNanos = new LongAccumulator(Math::max, 0L);
+
+    private static final class Key {
+        final String tenant;
+        final String hash;
+
+        Key(String tenant, String hash) {
+            this.tenant = tenant;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return tenant.equals(key.tenant) && hash.equals(key.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, hash);
+        }
+    }
+
+    private static final class Entry {
+        final CompletableFuture<ValidationEngine> engine = new CompletableFuture<>();
+        volatile long lastAccess;
+    }
+
+    /**
+     * Point-in-time counters. Hits include requests that waited for another
+     * thread's build of the same key.
+     */
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long loads;
+        private final long loadFailures;
+        private final long evictions;
+        private final int size;
+        private final long totalLoadNanos;
+        private final long maxLoadNanos;
+
+        Stats(long hits, long misses, long loads, long loadFailures, long evictions, int size,
+              long totalLoadNanos, long maxLoadNanos) {
+            this.hits = hits;
+            this.misses = misses;
+            this.loads = loads;
+            this.loadFailures = loadFailures;
+            this.evictions = evictions;
+            this.size = size;
+            this.totalLoadNanos = totalLoadNanos;
+            this.maxLoadNanos = maxLoadNanos;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        public long getLoads() {
+            return loads;
+        }
+
+        public long getLoadFailures() {
+            return loadFailures;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public double getMeanLoadMillis() {
+            long attempts = loads + loadFailures;
+            return attempts == 0 ? 0.0 : totalLoadNanos / 1e6 / attempts;
+        }
+
+        public double getMaxLoadMillis() {
+            return maxLoadNanos / 1e6;
+        }
+    }
+
+    /**
+     * A registry that builds engines as the CLI does, after {@link ValidatorCLI#checkConfig}.
+     * Unique rules are not enforced; a warning names them.
+     */
+    public EngineRegistry(int maxEngines) {
+        this(maxEngines, config -> {
+            ValidatorCLI.checkConfig(config);
+            ValidatorCLI.warnUniqueRulesIgnored(config, "Engine registry");
+            return ValidatorCLI.createEngine(config);
+        });
+    }
+
+    public EngineRegistry(int maxEngines, Function<ValidationConfig, ValidationEngine> builder) {
+        if (maxEngines < 1) {
+            throw new IllegalArgumentException("maxEngines must be at least 1, got " + maxEngines);
+        }
+        this.maxEngines = maxEngines;
+        this.builder = builder;
+    }
+
+    /**
+     * The tenant's engine for a YAML config, building it if needed.
+     *
+     * @throws IllegalArgumentException if the config cannot be parsed or built;
+     *         the failure is not cached, so the next request retries
+     */
+    public ValidationEngine get(String tenant, byte[] yaml) {
+        return get(tenant, hash(yaml), () -> parse(yaml));
+    }
+
+    /**
+     * The tenant's engine for an already parsed config. The key hashes the
+     * config's canonical JSON form, so equal configs share a key.
+     */
+    public ValidationEngine get(String tenant, ValidationConfig config) {
+        return get(tenant, hash(canonical(config)), () -> config);
+    }
+
+    /**
+     * Build the tenant's engine on the given executor ahead of its first request.
+     */
+    public CompletableFuture<ValidationEngine> preload(String tenant, byte[] yaml, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> get(tenant, yaml), executor);
+    }
+
+    /**
+     * Drop the tenant's engine; its next request rebuilds.
+     */
+    public void invalidate(String tenant) {
+        Key key = currentKeys.remove(tenant);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), loads.sum(), loadFailures.sum(), evictions.sum(),
+            entries.size(), loadNanos.sum(), maxLoadNanos.get());
+    }
+
+    private interface ConfigSource {
+        ValidationConfig load() throws IOException;
+    }
+
+    private ValidationEngine get(String tenant, String hash, ConfigSource source) {
+        Key key = new Key(tenant, hash);
+        Entry entry = entries.get(key);
+        boolean owner = false;
+        if (entry == null) {
+            Entry created = new Entry();
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                entry = created;
+                owner = true;
+            }
+        }
+        entry.lastAccess = clock.incrementAndGet();
+
+        if (owner) {
+            misses.increment();
+            build(key, entry, source);
+            retire(tenant, key);
+            evictIfNeeded();
+        } else {
+            hits.increment();
+        }
+        return await(entry.engine);
+    }
+
+    private void build(Key key, Entry entry, ConfigSource source) {
+        long start = System.nanoTime();
+        try {
+            entry.engine.complete(builder.apply(source.load()));
+            loads.increment();
+        } catch (Throwable e) {
+            loadFailures.increment();
+            entries.remove(key, entry); // do not cache failures
+            entry.engine.completeExceptionally(e); // waiters must not hang, whatever the failure
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            loadNanos.add(elapsed);
+            maxLoadNanos.accumulate(elapsed);
+        }
+    }
+
+    /**
+     * Make {@code key} the tenant's current key and drop the engine for its old config.
+     */
+    private void retire(String tenant, Key key) {
+        if (!entries.containsKey(key)) {
+            return; // the build failed
+        }
+        Key previous = currentKeys.put(tenant, key);
+        if (previous != null && !previous.equals(key)) {
+            entries.remove(previous);
+        }
+    }
+
+    /**
+     * Evict least recently used engines until within bounds. A scan over the
+     * entries runs only after a build, never on a hit.
+     */
+    private synchronized void evictIfNeeded() {
+        while (entries.size() > maxEngines) {
+            Map.Entry<Key, Entry> oldest = null;
+            for (Map.Entry<Key, Entry> candidate : entries.entrySet()) {
+                if (oldest == null || candidate.getValue().lastAccess < oldest.getValue().lastAccess) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest == null || !entries.remove(oldest.getKey(), oldest.getValue())) {
+                continue;
+            }
+            currentKeys.remove(oldest.getKey().tenant, oldest.getKey());
+            evictions.increment();
+        }
+    }
+
+    private static ValidationEngine await(CompletableFuture<ValidationEngine> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an engine build", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) cause;
+            }
+            throw new IllegalArgumentException("Could not build engine: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static ValidationConfig parse(byte[] yaml) throws IOException {
+        ValidationConfig config = YAML.readValue(yaml, ValidationConfig.class);
+        if (config == null) {
+            throw new IOException("Config is empty");
+        }
+        return config;
+    }
+
+    private static byte[] canonical(ValidationConfig config) {
+        try {
+            return CANONICAL.writeValueAsBytes(config);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is always available", e);
+        }
+    }
+}
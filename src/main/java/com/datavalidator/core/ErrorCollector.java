@@ -0,0 +1,112 @@
+package com.datavalidator.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reusable, caller-owned sink for validation errors. Validators append errors
+ * and call {@link #reject()} when the record is invalid for them; the engine
+ * turns the collected state into a {@link ValidationResult} once per record.
+ * Clearing keeps the backing arrays, so a collector that is reused across
+ * records stops allocating once it has grown to the widest record.
+ * Not thread-safe: use one collector per thread.
+ */
+public final class ErrorCollector {
+    private ValidationResult.ValidationError[] errors = new ValidationResult.ValidationError[8];
+    private int size;
+    private boolean rejected;
+
+    // Per-validator scratch space for the engine
+    private double[] scores = new double[0];
+    private boolean[] verdicts = new boolean[0];
+    int recordsUntilSample; // adaptive ordering: records left before this thread times one
+
+    public void add(ValidationResult.ValidationError error) {
+        if (size == errors.length) {
+            errors = Arrays.copyOf(errors, size * 2);
+        }
+        errors[size++] = error;
+    }
+
+    public void addAll(List<ValidationResult.ValidationError> more) {
+        for (int i = 0; i < more.size(); i++) {
+            add(more.get(i));
+        }
+    }
+
+    /**
+     * Mark the record as invalid for the validator currently running.
+     */
+    public void reject() {
+        rejected = true;
+    }
+
+    public boolean isRejected() {
+        return rejected;
+    }
+
+    /**
+     * Start collecting for the next validator on the same record. Errors are kept.
+     */
+    public void beginRule() {
+        rejected = false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ValidationResult.ValidationError get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return errors[index];
+    }
+
+    /**
+     * Drop all errors and the rejection flag, keeping allocated capacity.
+     */
+    public void clear() {
+        Arrays.fill(errors, 0, size, null);
+        size = 0;
+        rejected = false;
+    }
+
+    /**
+     * Copy of the errors collected since {@code from}.
+     */
+    public List<ValidationResult.ValidationError> errorsSince(int from) {
+        if (from >= size) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(Arrays.asList(errors).subList(from, size));
+    }
+
+    /**
+     * Snapshot the collected errors into an immutable result. A valid, error-free
+     * record with a perfect score gets the shared {@link ValidationResult#passed()}
+     * instance, so the pass path allocates nothing.
+     */
+    public ValidationResult toResult(boolean valid, double qualityScore) {
+        if (valid && size == 0 && qualityScore == 1.0) {
+            return ValidationResult.passed();
+        }
+        return new ValidationResult(valid, errorsSince(0), qualityScore);
+    }
+
+    double[] scores(int count) {
+        if (scores.length < count) {
+            scores = new double[count];
+        }
+        return scores;
+    }
+
+    boolean[] verdicts(int count) {
+        if (verdicts.length < count) {
+            verdicts = new boolean[count];
+        }
+        return verdicts;
+    }
+}
@@ -0,0 +1,70 @@
+package com.datavalidator.core;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Fixed assignment of field names to slot indexes. Built once per compiled
+ * plan so validators can resolve their fields up front instead of hashing
+ * field names for every record.
+ */
+public final class FieldLayout {
+    private final String[] names;
+    private final Map<String, Integer> slots;
+    private final boolean open; // keep fields outside the layout when reading records
+
+    private FieldLayout(String[] names, boolean open) {
+        this.names = names;
+        this.open = open;
+        this.slots = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            slots.put(names[i], i);
+        }
+    }
+
+    /**
+     * Create a layout with one slot per distinct field, in iteration order.
+     * An open layout additionally retains fields it has no slot for, which is
+     * needed when some validator cannot declare the fields it reads.
+     */
+    public static FieldLayout of(Collection<String> fields, boolean open) {
+        return new FieldLayout(new LinkedHashSet<>(fields).toArray(new String[0]), open);
+    }
+
+    /**
+     * Slot index of a field, or -1 if the field has no slot.
+     */
+    public int slotOf(String field) {
+        Integer slot = slots.get(field);
+        return slot != null ? slot : -1;
+    }
+
+    public int[] slotsOf(Collection<String> fields) {
+        int[] result = new int[fields.size()];
+        int i = 0;
+        for (String field : fields) {
+            result[i++] = slotOf(field);
+        }
+        return result;
+    }
+
+    public String nameOf(int slot) {
+        return names[slot];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldLayout" + Arrays.toString(names) + (open ? " (open)" : "");
+    }
+}
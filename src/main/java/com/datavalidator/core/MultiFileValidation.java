@@ -0,0 +1,362 @@
+package com.datavalidator.core;
+
+import com.datavalidator.io.CsvRecordReader;
+import com.datavalidator.io.JsonRecordReader;
+import com.datavalidator.io.RecordReader;
+import com.datavalidator.scoring.DatasetQualityReport;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Validates many files, and large files in pieces, on a work-stealing pool.
+ * Newline-delimited JSON files ({@code .ndjson}, {@code .jsonl}) are cut into
+ * byte-range chunks that start and end at line boundaries; CSV, TSV and
+ * {@code .json} files are validated whole, one chunk each. Chunks are sized so that every worker gets several, and
+ * the chunk list is split recursively into fork/join tasks, so idle workers
+ * steal pending chunks instead of waiting for the largest file. Each chunk
+ * fills its own {@link DatasetQualityReport}; reports are merged as the tasks
+ * join.
+ */
+public class MultiFileValidation {
+    public static final long MIN_CHUNK_BYTES = 1L << 20;
+    public static final long MAX_CHUNK_BYTES = 64L << 20;
+    private static final int CHUNKS_PER_WORKER = 8;
+
+    private final ValidationEngine engine;
+    private final ValidationPlan plan;
+    private final int parallelism;
+    private final List<UniqueKeyCheck> uniqueChecks;
+    private final int[][] uniqueSlots; // per check, its key fields' slots in the plan's layout
+
+    /**
+     * A byte range of one file; {@code end} is exclusive.
+     */
+    static final class Chunk {
+        final Path file;
+        final long start;
+        final long end;
+        final boolean whole; // read with the file's own reader rather than as an NDJSON range
+
+        Chunk(Path file, long start, long end, boolean whole) {
+            this.file = file;
+            this.start = start;
+            this.end = end;
+            this.whole = whole;
+        }
+
+        long length() {
+            return end - start;
+        }
+    }
+
+    /**
+     * Merged outcome of a run.
+     */
+    public static final class Summary {
+        private final DatasetQualityReport report;
+        private final int files;
+        private final int chunks;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        Summary(DatasetQualityReport report, int files, int chunks, long bytes, long elapsedNanos) {
+            this.report = report;
+            this.files = files;
+            this.chunks = chunks;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public DatasetQualityReport getReport() {
+            return report;
+        }
+
+        public int getFiles() {
+            return files;
+        }
+
+        public int getChunks() {
+            return chunks;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    public MultiFileValidation(ValidationEngine engine, int parallelism) {
+        this(engine, parallelism, Collections.emptyList());
+    }
+
+    /**
+     * @param uniqueChecks fed every record; the caller finishes them after {@link #run}
+     */
+    public MultiFileValidation(ValidationEngine engine, int parallelism, List<UniqueKeyCheck> uniqueChecks) {
+        this.engine = engine;
+        Set<String> uniqueFields = new LinkedHashSet<>();
+        for (UniqueKeyCheck check : uniqueChecks) {
+            uniqueFields.addAll(check.getFields());
+        }
+        this.plan = ValidationPlan.compile(engine, uniqueFields); // unique keys get slots, so records stay slot-based
+        this.parallelism = Math.max(1, parallelism);
+        this.uniqueChecks = uniqueChecks;
+        this.uniqueSlots = new int[uniqueChecks.size()][];
+        for (int i = 0; i < uniqueSlots.length; i++) {
+            uniqueSlots[i] = plan.getLayout().slotsOf(uniqueChecks.get(i).getFields());
+        }
+    }
+
+    /**
+     * Whether an input argument names several files: a directory, or a glob
+     * that is not also the name of an existing file, such as {@code data[1].ndjson}.
+     */
+    public static boolean isMultiFile(String input) {
+        Path path;
+        try {
+            path = Paths.get(input);
+        } catch (InvalidPathException e) {
+            return true; // '*' and '?' are not legal in file names on some platforms
+        }
+        if (Files.exists(path)) {
+            return Files.isDirectory(path);
+        }
+        return input.chars().anyMatch(c -> "*?[{".indexOf(c) >= 0);
+    }
+
+    /**
+     * The data files a directory or glob names, sorted. A directory yields
+     * every {@code .json}, {@code .ndjson}, {@code .jsonl}, {@code .csv} and
+     * {@code .tsv} file below it; a glob such as {@code data/*.ndjson} or
+     * {@code data/**.ndjson} is matched below the directory part before its
+     * first wildcard.
+     */
+    public static List<Path> resolve(String input) throws IOException {
+        Path base;
+        PathMatcher matcher;
+        if (Files.isDirectory(Paths.get(input))) {
+            base = Paths.get(input);
+            matcher = FileSystems.getDefault().getPathMatcher("glob:**.{json,ndjson,jsonl,csv,tsv}");
+        } else {
+            int wildcard = 0;
+            while (wildcard < input.length() && "*?[{".indexOf(input.charAt(wildcard)) < 0) {
+                wildcard++;
+            }
+            int separator = input.lastIndexOf('/', wildcard);
+            base = Paths.get(separator < 0 ? "." : input.substring(0, Math.max(separator, 1)));
+            matcher = FileSystems.getDefault().getPathMatcher("glob:" + (separator < 0 ? "./" + input : input));
+        }
+        Path root = base;
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths
+                .filter(Files::isRegularFile)
+                .filter(path -> matcher.matches(path) || matcher.matches(root.relativize(path)))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    public Summary run(List<Path> files) throws IOException {
+        long start = System.nanoTime();
+        long total = 0;
+        for (Path file : files) {
+            total += Files.size(file);
+        }
+        long chunkBytes = Math.max(MIN_CHUNK_BYTES,
+            Math.min(MAX_CHUNK_BYTES, total / ((long) parallelism * CHUNKS_PER_WORKER)));
+
+        List<Chunk> chunks = new ArrayList<>();
+        for (Path file : files) {
+            chunks.addAll(chunk(file, chunkBytes));
+        }
+        // Largest first, so the last chunks to start are the short ones
+        chunks.sort(Comparator.comparingLong(Chunk::length).reversed());
+
+        DatasetQualityReport report;
+        if (chunks.isEmpty()) {
+            report = DatasetQualityReport.forEngine(engine);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                report = pool.invoke(new ChunkTask(chunks, 0, chunks.size()));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        return new Summary(report, files.size(), chunks.size(), total, System.nanoTime() - start);
+    }
+
+    /**
+     * Cut a file into chunks of about {@code chunkBytes}, each starting at a line start.
+     */
+    static List<Chunk> chunk(Path file, long chunkBytes) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return chunks;
+            }
+            if (!isNdjson(file, channel)) {
+                chunks.add(new Chunk(file, 0, size, true));
+                return chunks;
+            }
+            long start = 0;
+            while (start < size) {
+                long end = start + chunkBytes >= size ? size : lineStartAtOrAfter(channel, start + chunkBytes);
+                chunks.add(new Chunk(file, start, end, false));
+                start = end;
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Whether a file can be cut at line boundaries. Only {@code .ndjson} and
+     * {@code .jsonl} files are promised one record per line; a {@code .json}
+     * file may hold pretty-printed objects that span lines, so it is read whole.
+     */
+    private static boolean isNdjson(Path file, FileChannel channel) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (!name.endsWith(".ndjson") && !name.endsWith(".jsonl")) {
+            return false;
+        }
+        ByteBuffer head = ByteBuffer.allocate(4096);
+        long offset = 0;
+        while (channel.read(head, offset) > 0) {
+            head.flip();
+            while (head.hasRemaining()) {
+                byte b = head.get();
+                if (!Character.isWhitespace(b) && b != (byte) 0xEF && b != (byte) 0xBB && b != (byte) 0xBF) {
+                    return b != '['; // a top-level array cannot be split
+                }
+            }
+            offset += head.limit();
+            head.clear();
+        }
+        return true;
+    }
+
+    /**
+     * Offset just past the first newline at or after {@code position - 1},
+     * i.e. the first line start at or after {@code position}.
+     */
+    private static long lineStartAtOrAfter(FileChannel channel, long position) throws IOException {
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long offset = position - 1;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    /**
+     * Validates chunks {@code [from, to)}, splitting the range in half until
+     * one chunk is left.
+     */
+    private final class ChunkTask extends RecursiveTask<DatasetQualityReport> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Chunk> chunks;
+        private final int from;
+        private final int to;
+
+        ChunkTask(List<Chunk> chunks, int from, int to) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected DatasetQualityReport compute() {
+            if (to - from == 1) {
+                try {
+                    return validate(chunks.get(from));
+                } catch (IOException e) {
+                    Chunk chunk = chunks.get(from);
+                    throw new UncheckedIOException(new IOException(
+                        chunk.file + " [" + chunk.start + ", " + chunk.end + "): " + e.getMessage(), e));
+                }
+            }
+            int middle = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(chunks, from, middle);
+            left.fork();
+            DatasetQualityReport report = new ChunkTask(chunks, middle, to).compute();
+            report.merge(left.join());
+            return report;
+        }
+    }
+
+    private DatasetQualityReport validate(Chunk chunk) throws IOException {
+        DatasetQualityReport report = DatasetQualityReport.forEngine(engine);
+        SlotRecord record = plan.newRecord();
+        if (!chunk.whole) {
+            try (JsonRecordReader reader = JsonRecordReader.open(chunk.file, chunk.start, chunk.end)) {
+                while (reader.readInto(record)) {
+                    add(report, record);
+                }
+            }
+            return report;
+        }
+        try (RecordReader reader = ValidatorCLI.openReader(chunk.file, null)) {
+            if (reader instanceof CsvRecordReader) {
+                CsvRecordReader csv = (CsvRecordReader) reader;
+                while (csv.readInto(record)) {
+                    add(report, record);
+                }
+            } else {
+                while (reader.hasNext()) {
+                    Map<String, Object> next = reader.next();
+                    report.add(next, engine.validate(next));
+                    for (UniqueKeyCheck check : uniqueChecks) {
+                        check.add(next);
+                    }
+                }
+            }
+        }
+        return report;
+    }
+
+    private void add(DatasetQualityReport report, SlotRecord record) {
+        report.add(record, plan.validate(record));
+        for (int i = 0; i < uniqueSlots.length; i++) {
+            uniqueChecks.get(i).add(record, uniqueSlots[i]);
+        }
+    }
+}
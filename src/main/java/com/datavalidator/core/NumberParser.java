@@ -0,0 +1,286 @@
+package com.datavalidator.core;
+
+/**
+ * Exception-free number parsing on any {@link CharSequence}. Accepts exactly
+ * the formats of {@link Double#parseDouble} and {@link Integer#parseInt}, but
+ * reports bad input through a {@link Status} instead of a
+ * {@link NumberFormatException}, whose stack trace costs far more than the
+ * parse itself on garbage-heavy data. Common decimals are converted without
+ * allocating; long mantissas and extreme exponents fall back to the JDK after
+ * the syntax has been checked, so that path cannot throw either.
+ * <p>
+ * An instance holds the last parsed value and is not thread-safe; use
+ * {@link #local()} for a per-thread instance.
+ */
+public final class NumberParser {
+    private static final ThreadLocal<NumberParser> LOCAL = ThreadLocal.withInitial(NumberParser::new);
+
+    // Powers of ten that are exact doubles, for the correctly rounded fast path
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    public enum Status {
+        OK,
+        INVALID,      // Not a number in the accepted format
+        OUT_OF_RANGE  // Well-formed integer that does not fit the requested type
+    }
+
+    private double doubleValue;
+    private long longValue;
+
+    public static NumberParser local() {
+        return LOCAL.get();
+    }
+
+    public double doubleValue() {
+        return doubleValue;
+    }
+
+    public long longValue() {
+        return longValue;
+    }
+
+    public int intValue() {
+        return (int) longValue;
+    }
+
+    /**
+     * Parse an int as {@link Integer#parseInt(String)} would: an optional
+     * sign followed by decimal digits, no whitespace.
+     */
+    public Status parseInt(CharSequence text) {
+        Status status = parseLong(text);
+        if (status == Status.OK && longValue != (int) longValue) {
+            return Status.OUT_OF_RANGE;
+        }
+        return status;
+    }
+
+    /**
+     * Parse a long as {@link Long#parseLong(String)} would.
+     */
+    public Status parseLong(CharSequence text) {
+        int length = text.length();
+        if (length == 0) {
+            return Status.INVALID;
+        }
+        int i = 0;
+        boolean negative = false;
+        char first = text.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == length) {
+                return Status.INVALID;
+            }
+        }
+
+        // Accumulate negatively so Long.MIN_VALUE fits
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplicationLimit = limit / 10;
+        long result = 0;
+        boolean overflow = false;
+        for (; i < length; i++) {
+            int digit = Character.digit(text.charAt(i), 10);
+            if (digit < 0) {
+                return Status.INVALID;
+            }
+            if (result < multiplicationLimit || result * 10 < limit + digit) {
+                overflow = true; // keep scanning: trailing garbage still makes it INVALID
+            } else {
+                result = result * 10 - digit;
+            }
+        }
+        if (overflow) {
+            return Status.OUT_OF_RANGE;
+        }
+        longValue = negative ? result : -result;
+        return Status.OK;
+    }
+
+    /**
+     * Parse a double as {@link Double#parseDouble(String)} would: surrounding
+     * whitespace, an optional sign, {@code NaN}, {@code Infinity}, decimal and
+     * hexadecimal floating-point literals, and an optional {@code f}/{@code d}
+     * suffix. Never returns {@link Status#OUT_OF_RANGE}; overflow gives infinity.
+     */
+    public Status parseDouble(CharSequence text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return Status.INVALID;
+        }
+
+        int i = start;
+        boolean negative = false;
+        char c = text.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            if (++i == end) {
+                return Status.INVALID;
+            }
+            c = text.charAt(i);
+        }
+
+        if (c == 'N' || c == 'I') {
+            if (matches(text, i, end, "NaN")) {
+                doubleValue = Double.NaN;
+                return Status.OK;
+            }
+            if (matches(text, i, end, "Infinity")) {
+                doubleValue = negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+                return Status.OK;
+            }
+            return Status.INVALID;
+        }
+        if (c == '0' && i + 1 < end && (text.charAt(i + 1) == 'x' || text.charAt(i + 1) == 'X')) {
+            return parseHex(text, start, i + 2, end);
+        }
+        return parseDecimal(text, start, i, end, negative);
+    }
+
+    private Status parseDecimal(CharSequence text, int start, int i, int end, boolean negative) {
+        long mantissa = 0;
+        int significantDigits = 0; // digits after leading zeros
+        int digits = 0;
+        int exponent = 0;          // decimal exponent adjustment from the position of the point
+
+        for (; i < end && isDigit(text.charAt(i)); i++, digits++) {
+            int digit = text.charAt(i) - '0';
+            if (significantDigits > 0 || digit != 0) {
+                if (significantDigits < 18) { // 18 digits always fit in a long
+                    mantissa = mantissa * 10 + digit;
+                } else {
+                    exponent++;
+                }
+                significantDigits++;
+            }
+        }
+        if (i < end && text.charAt(i) == '.') {
+            for (i++; i < end && isDigit(text.charAt(i)); i++, digits++) {
+                int digit = text.charAt(i) - '0';
+                if (significantDigits > 0 || digit != 0) {
+                    if (significantDigits < 18) {
+                        mantissa = mantissa * 10 + digit;
+                        exponent--;
+                    }
+                    significantDigits++;
+                } else {
+                    exponent--;
+                }
+            }
+        }
+        if (digits == 0) {
+            return Status.INVALID;
+        }
+
+        if (i < end && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                negativeExponent = text.charAt(i) == '-';
+                i++;
+            }
+            int exponentDigits = 0;
+            int explicit = 0;
+            for (; i < end && isDigit(text.charAt(i)); i++, exponentDigits++) {
+                if (explicit < 100_000) { // far beyond any double; just stop growing
+                    explicit = explicit * 10 + (text.charAt(i) - '0');
+                }
+            }
+            if (exponentDigits == 0) {
+                return Status.INVALID;
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (i < end && isSuffix(text.charAt(i))) {
+            i++;
+        }
+        if (i != end) {
+            return Status.INVALID;
+        }
+
+        if (mantissa == 0) {
+            doubleValue = negative ? -0.0 : 0.0;
+            return Status.OK;
+        }
+        if (significantDigits <= 18 && mantissa < MAX_EXACT_MANTISSA
+                && exponent >= -22 && exponent <= 22) {
+            // Both operands are exact doubles, so one IEEE operation rounds correctly
+            double value = exponent >= 0
+                ? mantissa * POWERS_OF_TEN[exponent]
+                : mantissa / POWERS_OF_TEN[-exponent];
+            doubleValue = negative ? -value : value;
+            return Status.OK;
+        }
+        doubleValue = Double.parseDouble(text.subSequence(start, end).toString());
+        return Status.OK;
+    }
+
+    /**
+     * Hexadecimal literal, {@code 0x} already consumed: hex digits with an
+     * optional point, then a mandatory binary exponent. Checked here,
+     * converted by the JDK.
+     */
+    private Status parseHex(CharSequence text, int start, int i, int end) {
+        int digits = 0;
+        for (; i < end && Character.digit(text.charAt(i), 16) >= 0 && text.charAt(i) < 128; i++) {
+            digits++;
+        }
+        if (i < end && text.charAt(i) == '.') {
+            for (i++; i < end && Character.digit(text.charAt(i), 16) >= 0 && text.charAt(i) < 128; i++) {
+                digits++;
+            }
+        }
+        if (digits == 0 || i == end || (text.charAt(i) != 'p' && text.charAt(i) != 'P')) {
+            return Status.INVALID;
+        }
+        i++;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            i++;
+        }
+        int exponentDigits = 0;
+        for (; i < end && isDigit(text.charAt(i)); i++) {
+            exponentDigits++;
+        }
+        if (exponentDigits == 0) {
+            return Status.INVALID;
+        }
+        if (i < end && isSuffix(text.charAt(i))) {
+            i++;
+        }
+        if (i != end) {
+            return Status.INVALID;
+        }
+        doubleValue = Double.parseDouble(text.subSequence(start, end).toString());
+        return Status.OK;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSuffix(char c) {
+        return c == 'f' || c == 'F' || c == 'd' || c == 'D';
+    }
+
+    private static boolean matches(CharSequence text, int from, int end, String literal) {
+        if (end - from != literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (text.charAt(from + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
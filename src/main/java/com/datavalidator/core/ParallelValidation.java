@@ -0,0 +1,157 @@
+package com.datavalidator.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Drives {@link ValidationEngine#validate} over a record stream on an executor.
+ * Records are grouped into fixed-size batches and at most a few batches per
+ * worker are in flight, so memory stays bounded however long the stream is.
+ * Records are pulled and results delivered on the calling thread only.
+ */
+class ParallelValidation {
+    static final int BATCH_SIZE = 256;
+    private static final int BATCHES_PER_WORKER = 4;
+
+    private final ValidationEngine engine;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+
+    ParallelValidation(ValidationEngine engine, ExecutorService executor, int parallelism) {
+        this.engine = engine;
+        this.executor = executor;
+        this.maxInFlight = Math.max(1, parallelism) * BATCHES_PER_WORKER;
+    }
+
+    void run(Iterator<? extends Map<String, Object>> records,
+             ValidationEngine.ResultOrder order,
+             ValidationEngine.ResultHandler handler) {
+        if (order == ValidationEngine.ResultOrder.ORDERED) {
+            runOrdered(records, handler);
+        } else {
+            runUnordered(records, handler);
+        }
+    }
+
+    private void runOrdered(Iterator<? extends Map<String, Object>> records,
+                            ValidationEngine.ResultHandler handler) {
+        ArrayDeque<Future<Batch>> pending = new ArrayDeque<>();
+        long index = 0;
+        try {
+            while (records.hasNext()) {
+                Batch batch = nextBatch(records, index);
+                index += batch.records.size();
+                pending.add(executor.submit(batch));
+                if (pending.size() >= maxInFlight) {
+                    await(pending.poll()).deliver(handler);
+                }
+            }
+            while (!pending.isEmpty()) {
+                await(pending.poll()).deliver(handler);
+            }
+        } finally {
+            pending.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private void runUnordered(Iterator<? extends Map<String, Object>> records,
+                              ValidationEngine.ResultHandler handler) {
+        CompletionService<Batch> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Batch>> submitted = new ArrayList<>();
+        int inFlight = 0;
+        long index = 0;
+        try {
+            while (records.hasNext()) {
+                Batch batch = nextBatch(records, index);
+                index += batch.records.size();
+                submitted.add(completion.submit(batch));
+                inFlight++;
+                if (inFlight >= maxInFlight) {
+                    takeCompleted(completion).deliver(handler);
+                    inFlight--;
+                }
+                if (submitted.size() > maxInFlight * 2) {
+                    submitted.removeIf(Future::isDone);
+                }
+            }
+            while (inFlight > 0) {
+                takeCompleted(completion).deliver(handler);
+                inFlight--;
+            }
+        } finally {
+            submitted.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private Batch nextBatch(Iterator<? extends Map<String, Object>> records, long firstIndex) {
+        List<Map<String, Object>> batch = new ArrayList<>(BATCH_SIZE);
+        while (batch.size() < BATCH_SIZE && records.hasNext()) {
+            batch.add(records.next());
+        }
+        return new Batch(engine, firstIndex, batch);
+    }
+
+    private static Batch takeCompleted(CompletionService<Batch> completion) {
+        try {
+            return await(completion.take());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for validation results", e);
+        }
+    }
+
+    private static Batch await(Future<Batch> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for validation results", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Validation failed", cause);
+        }
+    }
+
+    private static final class Batch implements Callable<Batch> {
+        private final ValidationEngine engine;
+        private final long firstIndex;
+        private final List<Map<String, Object>> records;
+        private final ValidationResult[] results;
+
+        Batch(ValidationEngine engine, long firstIndex, List<Map<String, Object>> records) {
+            this.engine = engine;
+            this.firstIndex = firstIndex;
+            this.records = records;
+            this.results = new ValidationResult[records.size()];
+        }
+
+        @Override
+        public Batch call() {
+            for (int i = 0; i < results.length; i++) {
+                results[i] = engine.validate(records.get(i));
+            }
+            return this;
+        }
+
+        void deliver(ValidationEngine.ResultHandler handler) {
+            for (int i = 0; i < results.length; i++) {
+                handler.onResult(firstIndex + i, records.get(i), results[i]);
+            }
+        }
+    }
+}
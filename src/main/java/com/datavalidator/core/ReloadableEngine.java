@@ -0,0 +1,160 @@
+package com.datavalidator.core;
+
+import com.datavalidator.config.ValidationConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * An engine built from a rules file that can be rebuilt while in use. The
+ * current engine sits in an {@link AtomicReference}: each validation reads it
+ * once, so a record in flight during a reload finishes on the engine it
+ * started with and the validation path takes no lock. A reload only swaps in
+ * a new engine if the file parses, passes {@link ValidatorCLI#checkConfig}
+ * and builds; otherwise the working engine stays and listeners are told why.
+ * Use {@link ConfigWatcher} to reload when the file changes.
+ */
+public class ReloadableEngine {
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory());
+
+    private final Path configPath;
+    private final UnaryOperator<ValidationEngine> customizer;
+    private final AtomicReference<ValidationEngine> current = new AtomicReference<>();
+    private final List<ReloadListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private byte[] loadedContent; // guarded by this
+
+    /**
+     * Told about every reload attempt, on the reloading thread.
+     */
+    public interface ReloadListener {
+        default void onReloaded(ValidationEngine engine) {
+        }
+
+        default void onReloadFailed(Path configPath, Exception cause) {
+        }
+    }
+
+    public ReloadableEngine(Path configPath) throws IOException {
+        this(configPath, UnaryOperator.identity());
+    }
+
+    /**
+     * @param customizer applied to every engine built, e.g. to instrument it
+     *        with {@link com.datavalidator.metrics.ValidationMetrics}
+     * @throws IOException if the initial config cannot be loaded; there is no
+     *         working engine to fall back to
+     */
+    public ReloadableEngine(Path configPath, UnaryOperator<ValidationEngine> customizer) throws IOException {
+        this.configPath = configPath;
+        this.customizer = customizer;
+        byte[] content = Files.readAllBytes(configPath);
+        current.set(build(content));
+        loadedContent = content;
+    }
+
+    /**
+     * The engine new work should use. Callers validating a batch can hold on
+     * to it so the whole batch sees one config.
+     */
+    public ValidationEngine current() {
+        return current.get();
+    }
+
+    public ValidationResult validate(Map<String, Object> record) {
+        return current.get().validate(record);
+    }
+
+    /**
+     * Rebuild from the file if its content changed since the last successful
+     * load. Returns true if a new engine was swapped in. Failures keep the
+     * current engine and are reported to listeners, not thrown.
+     */
+    public synchronized boolean reload() {
+        byte[] content;
+        ValidationEngine engine;
+        try {
+            content = Files.readAllBytes(configPath);
+            if (Arrays.equals(content, loadedContent)) {
+                return false;
+            }
+            engine = build(content);
+        } catch (IOException | RuntimeException e) {
+            reloadFailed(e);
+            return false;
+        } catch (StackOverflowError e) {
+            // e.g. a pathological pattern; the old engine is still good
+            reloadFailed(new IllegalArgumentException("Config build failed: " + e, e));
+            return false;
+        }
+
+        current.set(engine);
+        loadedContent = content;
+        reloads.incrementAndGet();
+        for (ReloadListener listener : listeners) {
+            try {
+                listener.onReloaded(engine);
+            } catch (RuntimeException e) {
+                System.err.println("Warning: reload listener failed for " + configPath + ": " + e);
+            }
+        }
+        return true;
+    }
+
+    private void reloadFailed(Exception cause) {
+        failures.incrementAndGet();
+        for (ReloadListener listener : listeners) {
+            try {
+                listener.onReloadFailed(configPath, cause);
+            } catch (RuntimeException e) {
+                System.err.println("Warning: reload listener failed for " + configPath + ": " + e);
+            }
+        }
+    }
+
+    private ValidationEngine build(byte[] content) throws IOException {
+        ValidationConfig config = YAML.readValue(content, ValidationConfig.class);
+        if (config == null) {
+            throw new IOException("Config file is empty: " + configPath);
+        }
+        ValidatorCLI.checkConfig(config);
+        ValidatorCLI.warnUniqueRulesIgnored(config, "Reloadable engine for " + configPath);
+        return customizer.apply(ValidatorCLI.createEngine(config));
+    }
+
+    public void addListener(ReloadListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ReloadListener listener) {
+        listeners.remove(listener);
+    }
+
+    public Path getConfigPath() {
+        return configPath;
+    }
+
+    /**
+     * Successful reloads since construction.
+     */
+    public long getReloadCount() {
+        return reloads.get();
+    }
+
+    /**
+     * Reload attempts rejected because the file could not be read, parsed or built.
+     */
+    public long getFailedReloadCount() {
+        return failures.get();
+    }
+}
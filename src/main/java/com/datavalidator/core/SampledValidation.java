@@ -0,0 +1,207 @@
+package com.datavalidator.core;
+
+import com.datavalidator.io.RecordReader;
+import com.datavalidator.scoring.QualityEstimate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Estimates a dataset's pass rate and mean score from a random sample of its
+ * records instead of validating all of them. Records outside the sample are
+ * passed over with {@link RecordReader#skip()}, so they are never built into
+ * maps. Both methods draw the gap to the next sampled record directly
+ * (geometric gaps for Bernoulli, Li's Algorithm L for the reservoir), so
+ * randomness costs nothing per skipped record.
+ * <ul>
+ *   <li>{@link Method#BERNOULLI} samples each record independently at a
+ *       fixed rate and stops as soon as both confidence intervals are within
+ *       the requested margin. Stopping early estimates the part of the input
+ *       read so far, which represents the whole only if record order is
+ *       unrelated to quality.</li>
+ *   <li>{@link Method#RESERVOIR} keeps a uniform sample of fixed size over the
+ *       whole input. It always reads to the end, since a reservoir is only
+ *       uniform once the stream is exhausted.</li>
+ * </ul>
+ */
+public class SampledValidation {
+    public static final double DEFAULT_CONFIDENCE = 0.95;
+    public static final int MIN_SAMPLE = 100; // never stop on fewer samples than this
+    private static final int CHECK_EVERY = 64;  // samples between margin checks
+
+    public enum Method {
+        BERNOULLI,
+        RESERVOIR
+    }
+
+    private final ValidationEngine engine;
+    private final Method method;
+    private final double rate;
+    private final int reservoirSize;
+    private final double margin;
+    private final double confidence;
+    private final Random random;
+
+    private long scanned;
+    private boolean stoppedEarly;
+
+    private SampledValidation(ValidationEngine engine, Method method, double rate, int reservoirSize,
+                              double margin, double confidence, long seed) {
+        if (!(confidence > 0.0 && confidence < 1.0)) {
+            throw new IllegalArgumentException("confidence must be between 0 and 1, got " + confidence);
+        }
+        this.engine = engine;
+        this.method = method;
+        this.rate = rate;
+        this.reservoirSize = reservoirSize;
+        this.margin = margin;
+        this.confidence = confidence;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Sample each record with probability {@code rate}, stopping once both
+     * intervals are within {@code margin}; a margin of 0 never stops early.
+     */
+    public static SampledValidation bernoulli(ValidationEngine engine, double rate, double margin,
+                                              double confidence, long seed) {
+        if (!(rate > 0.0 && rate <= 1.0)) {
+            throw new IllegalArgumentException("sample rate must be in (0, 1], got " + rate);
+        }
+        return new SampledValidation(engine, Method.BERNOULLI, rate, 0, margin, confidence, seed);
+    }
+
+    /**
+     * Validate a uniform sample of {@code size} records from the whole input.
+     */
+    public static SampledValidation reservoir(ValidationEngine engine, int size, double confidence, long seed) {
+        if (size < 1) {
+            throw new IllegalArgumentException("reservoir size must be at least 1, got " + size);
+        }
+        return new SampledValidation(engine, Method.RESERVOIR, 0.0, size, 0.0, confidence, seed);
+    }
+
+    public QualityEstimate run(RecordReader reader) {
+        scanned = 0;
+        stoppedEarly = false;
+        return method == Method.BERNOULLI ? runBernoulli(reader) : runReservoir(reader);
+    }
+
+    private QualityEstimate runBernoulli(RecordReader reader) {
+        QualityEstimate estimate = new QualityEstimate(confidence);
+        double logKeep = Math.log1p(-rate); // -infinity at rate 1, which gives gaps of 0
+        while (true) {
+            if (!skip(reader, rate >= 1.0 ? 0 : gap(logKeep)) || !reader.hasNext()) {
+                return estimate;
+            }
+            ValidationResult result = engine.validate(reader.next());
+            scanned++;
+            estimate.add(result.isValid(), result.getQualityScore());
+
+            long samples = estimate.getSampleSize();
+            if (margin > 0 && samples >= MIN_SAMPLE && samples % CHECK_EVERY == 0
+                && estimate.isWithinMargin(margin)) {
+                stoppedEarly = true;
+                return estimate;
+            }
+        }
+    }
+
+    private QualityEstimate runReservoir(RecordReader reader) {
+        boolean[] valid = new boolean[reservoirSize];
+        double[] scores = new double[reservoirSize];
+        int filled = 0;
+        while (filled < reservoirSize && reader.hasNext()) {
+            ValidationResult result = engine.validate(reader.next());
+            scanned++;
+            valid[filled] = result.isValid();
+            scores[filled] = result.getQualityScore();
+            filled++;
+        }
+
+        if (filled == reservoirSize) {
+            // Algorithm L: w is the running maximum of the reservoir's random keys
+            double w = Math.exp(Math.log(uniform()) / reservoirSize);
+            while (skip(reader, gap(Math.log1p(-w))) && reader.hasNext()) {
+                ValidationResult result = engine.validate(reader.next());
+                scanned++;
+                int slot = random.nextInt(reservoirSize);
+                valid[slot] = result.isValid();
+                scores[slot] = result.getQualityScore();
+                w *= Math.exp(Math.log(uniform()) / reservoirSize);
+            }
+        }
+
+        QualityEstimate estimate = new QualityEstimate(confidence);
+        for (int i = 0; i < filled; i++) {
+            estimate.add(valid[i], scores[i]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Number of records to pass over before the next sampled one, for a
+     * per-record keep probability p with {@code logKeep = log(1 - p)}.
+     */
+    private long gap(double logKeep) {
+        double gap = Math.floor(Math.log(uniform()) / logKeep);
+        return gap >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) gap;
+    }
+
+    /**
+     * Uniform in (0, 1], so its logarithm is finite.
+     */
+    private double uniform() {
+        return 1.0 - random.nextDouble();
+    }
+
+    /**
+     * Skip up to {@code count} records; false if the input ended first.
+     */
+    private boolean skip(RecordReader reader, long count) {
+        for (long i = 0; i < count; i++) {
+            if (!reader.skip()) {
+                return false;
+            }
+            scanned++;
+        }
+        return true;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Records read or skipped by the last run.
+     */
+    public long getRecordsScanned() {
+        return scanned;
+    }
+
+    /**
+     * Whether the last run stopped before the end of the input because the margin was reached.
+     */
+    public boolean isStoppedEarly() {
+        return stoppedEarly;
+    }
+
+    /**
+     * The estimate as a report section, with the sampling settings and how
+     * much of the input was scanned.
+     */
+    public Map<String, Object> toMap(QualityEstimate estimate) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("method", method.name().toLowerCase());
+        if (method == Method.BERNOULLI) {
+            report.put("sampleRate", rate);
+            report.put("targetMargin", margin);
+        } else {
+            report.put("reservoirSize", reservoirSize);
+        }
+        report.put("recordsScanned", scanned);
+        report.put("stoppedEarly", stoppedEarly);
+        report.putAll(estimate.toMap());
+        return report;
+    }
+}
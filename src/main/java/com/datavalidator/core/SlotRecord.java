@@ -0,0 +1,155 @@
+package com.datavalidator.core;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Record whose fields live in a flat array indexed by {@link FieldLayout} slot.
+ * Instances are mutable and meant to be reused: a reader fills the slots,
+ * a compiled plan validates them, and {@link #clear()} resets for the next
+ * record. The {@link Map} view exists for validators that were not compiled
+ * against the layout; it answers lookups through the layout's name index.
+ */
+public final class SlotRecord extends AbstractMap<String, Object> {
+    private static final Object ABSENT = new Object();
+
+    private final FieldLayout layout;
+    private final Object[] values;
+    private Map<String, Object> extra; // fields without a slot, only kept for open layouts
+
+    public SlotRecord(FieldLayout layout) {
+        this.layout = layout;
+        this.values = new Object[layout.size()];
+        Arrays.fill(values, ABSENT);
+    }
+
+    public FieldLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Value in a slot, or null if the field is absent or explicitly null.
+     */
+    public Object get(int slot) {
+        Object value = values[slot];
+        return value == ABSENT ? null : value;
+    }
+
+    public boolean isPresent(int slot) {
+        return values[slot] != ABSENT;
+    }
+
+    public void set(int slot, Object value) {
+        values[slot] = value;
+    }
+
+    /**
+     * Store a field that has no slot. Dropped unless the layout is open.
+     */
+    public void setExtra(String field, Object value) {
+        if (!layout.isOpen()) {
+            return;
+        }
+        if (extra == null) {
+            extra = new HashMap<>();
+        }
+        extra.put(field, value);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, ABSENT);
+        if (extra != null) {
+            extra.clear();
+        }
+    }
+
+    @Override
+    public Object get(Object key) {
+        int slot = key instanceof String ? layout.slotOf((String) key) : -1;
+        if (slot >= 0) {
+            return get(slot);
+        }
+        return extra != null ? extra.get(key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int slot = key instanceof String ? layout.slotOf((String) key) : -1;
+        if (slot >= 0) {
+            return isPresent(slot);
+        }
+        return extra != null && extra.containsKey(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int slot = layout.slotOf(key);
+        if (slot < 0) {
+            Object previous = get(key);
+            setExtra(key, value);
+            return previous;
+        }
+        Object previous = get(slot);
+        values[slot] = value;
+        return previous;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                int size = extra != null ? extra.size() : 0;
+                for (Object value : values) {
+                    if (value != ABSENT) {
+                        size++;
+                    }
+                }
+                return size;
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private int slot = advance(0);
+        private final Iterator<Entry<String, Object>> extras =
+            extra != null ? extra.entrySet().iterator() : null;
+
+        private int advance(int from) {
+            while (from < values.length && values[from] == ABSENT) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return slot < values.length || (extras != null && extras.hasNext());
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (slot < values.length) {
+                Entry<String, Object> entry = new SimpleImmutableEntry<>(layout.nameOf(slot), values[slot]);
+                slot = advance(slot + 1);
+                return entry;
+            }
+            if (extras != null) {
+                return extras.next();
+            }
+            throw new NoSuchElementException();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.datavalidator.core;
+
+import java.util.List;
+
+/**
+ * A {@link ValidationResult} that also keeps every validator's score, verdict
+ * and errors, so {@link ValidationEngine#revalidate} can rerun only the
+ * validators an update affects and merge the rest unchanged.
+ */
+public final class TrackedResult extends ValidationResult {
+    final ValidationEngine engine;
+    final double[] scores;
+    final boolean[] verdicts;
+    final List<List<ValidationError>> errorsByValidator;
+    private final int validatorsRun;
+
+    TrackedResult(ValidationEngine engine, boolean valid, List<ValidationError> errors, double qualityScore,
+                  double[] scores, boolean[] verdicts, List<List<ValidationError>> errorsByValidator, int validatorsRun) {
+        super(valid, errors, qualityScore);
+        this.engine = engine;
+        this.scores = scores;
+        this.verdicts = verdicts;
+        this.errorsByValidator = errorsByValidator;
+        this.validatorsRun = validatorsRun;
+    }
+
+    /**
+     * Number of validators that ran to produce this result: all of them for a
+     * full validation, only the affected ones for a revalidation.
+     */
+    public int getValidatorsRun() {
+        return validatorsRun;
+    }
+}
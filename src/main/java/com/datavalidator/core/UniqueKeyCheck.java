@@ -0,0 +1,500 @@
+package com.datavalidator.core;
+
+import com.datavalidator.validators.LookupIndex;
+import com.datavalidator.validators.LookupValidator;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Dataset-wide duplicate detection for a key of one or more fields. Records
+ * are fed in with {@link #add} as they stream past, and {@link #finish}
+ * reports the duplicates once the input ends. It is not a per-record
+ * validator: whether a key repeats is only known for the whole dataset, and
+ * per-record verdicts must not depend on the memory budget or the order in
+ * which threads deliver records.
+ * <p>
+ * Keys are reduced to 64-bit hashes and kept in primitive open-addressing
+ * tables, one per stripe of the hash space, so threads rarely contend. When
+ * a stripe's table reaches its share of the memory budget, the stripe spills:
+ * its hashes are written to partition files chosen by the hash's top bits,
+ * and every later key of the stripe is appended there with its text. After
+ * the input ends, each partition is loaded into a table on its own and
+ * scanned for repeats; a partition too large for the budget is split again
+ * by the next hash bits. Two different keys with the same 64-bit hash count
+ * as a duplicate; over a billion keys that happens about once in 40 runs.
+ */
+public class UniqueKeyCheck {
+    public static final int DEFAULT_MEMORY_MB = 256;
+    public static final int DEFAULT_SAMPLES = 10;
+    private static final int STRIPE_BITS = 3;
+    private static final int PARTITION_BITS = 6; // includes the stripe bits
+    private static final int PARTITIONS = 1 << PARTITION_BITS;
+    private static final int PARTITIONS_PER_STRIPE = PARTITIONS >>> STRIPE_BITS;
+    private static final int MAX_TEXT_BYTES = 256; // key text kept on disk for samples
+    private static final char SEPARATOR = '\u001f';
+    private static final int IO_BUFFER = 64 * 1024;
+
+    private final String name;
+    private final List<String> fields;
+    private final long tableCapacity; // slots per table, from the budget
+    private final Path spillDirectory;
+    private final int sampleLimit;
+    private final Stripe[] stripes = new Stripe[1 << STRIPE_BITS];
+    private final LongAdder keys = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final Set<String> samples = new LinkedHashSet<>(); // guarded by itself
+    private Path spillRoot; // created on first spill, guarded by this
+
+    /**
+     * Outcome of a check.
+     */
+    public static final class Result {
+        private final String name;
+        private final List<String> fields;
+        private final long keys;
+        private final long duplicates;
+        private final List<String> samples;
+        private final long spilledBytes;
+
+        Result(String name, List<String> fields, long keys, long duplicates, List<String> samples, long spilledBytes) {
+            this.name = name;
+            this.fields = fields;
+            this.keys = keys;
+            this.duplicates = duplicates;
+            this.samples = samples;
+            this.spilledBytes = spilledBytes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Records with a complete key.
+         */
+        public long getKeys() {
+            return keys;
+        }
+
+        /**
+         * Records whose key appeared earlier in the input.
+         */
+        public long getDuplicates() {
+            return duplicates;
+        }
+
+        public long getDistinct() {
+            return keys - duplicates;
+        }
+
+        /**
+         * Some repeated keys, composite keys joined with {@code |}.
+         */
+        public List<String> getSamples() {
+            return samples;
+        }
+
+        public long getSpilledBytes() {
+            return spilledBytes;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("fields", fields);
+            map.put("keys", keys);
+            map.put("distinct", getDistinct());
+            map.put("duplicates", duplicates);
+            map.put("sampleDuplicates", samples);
+            map.put("spilledBytes", spilledBytes);
+            return map;
+        }
+    }
+
+    /**
+     * Open-addressing set of non-zero longs with linear probing, indexed by
+     * the low bits. Zero marks an empty slot, so hash 0 is stored as 1.
+     */
+    static final class LongHashSet {
+        private long[] table;
+        private int size;
+        private final int maxCapacity;
+
+        LongHashSet(int initialCapacity, int maxCapacity) {
+            this.table = new long[Math.min(initialCapacity, maxCapacity)];
+            this.maxCapacity = maxCapacity;
+        }
+
+        /**
+         * Whether the set can take another element without exceeding 3/4 load at its maximum size.
+         */
+        boolean isFull() {
+            return table.length == maxCapacity && size >= maxCapacity - (maxCapacity >>> 2);
+        }
+
+        /**
+         * Add a value, returning false if it was already present.
+         */
+        boolean add(long value) {
+            if (value == 0) {
+                value = 1;
+            }
+            if (size >= table.length - (table.length >>> 2) && table.length < maxCapacity) {
+                grow();
+            }
+            int mask = table.length - 1;
+            int slot = (int) value & mask;
+            while (true) {
+                long stored = table[slot];
+                if (stored == 0) {
+                    table[slot] = value;
+                    size++;
+                    return true;
+                }
+                if (stored == value) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private void grow() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            size = 0;
+            for (long value : old) {
+                if (value != 0) {
+                    add(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * One eighth of the hash space: a table until it spills, then the
+     * writers of its partitions.
+     */
+    private final class Stripe {
+        final int index;
+        LongHashSet table = new LongHashSet(1024, (int) tableCapacity);
+        DataOutputStream[] writers; // non-null once spilled
+        final long[] entries = new long[PARTITIONS_PER_STRIPE];
+
+        Stripe(int index) {
+            this.index = index;
+        }
+
+        synchronized void add(long hash, String text) throws IOException {
+            if (writers == null) {
+                if (!table.add(hash)) {
+                    duplicates.increment();
+                    sample(text);
+                    return;
+                }
+                if (table.isFull()) {
+                    spill();
+                }
+                return;
+            }
+            write(hash, text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void spill() throws IOException {
+            Path root = spillRoot();
+            writers = new DataOutputStream[PARTITIONS_PER_STRIPE];
+            for (int i = 0; i < writers.length; i++) {
+                writers[i] = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(partitionFile(root, index * PARTITIONS_PER_STRIPE + i)), IO_BUFFER));
+            }
+            for (long hash : table.table) {
+                if (hash != 0) {
+                    write(hash, null); // already checked against each other
+                }
+            }
+            table = null;
+        }
+
+        private void write(long hash, byte[] text) throws IOException {
+            int partition = (int) (hash >>> (64 - PARTITION_BITS)) & (PARTITIONS_PER_STRIPE - 1);
+            DataOutputStream out = writers[partition];
+            out.writeLong(hash);
+            int length = text == null ? 0 : Math.min(text.length, MAX_TEXT_BYTES);
+            out.writeShort(length);
+            if (length > 0) {
+                out.write(text, 0, length);
+            }
+            entries[partition]++;
+        }
+
+        synchronized void close() throws IOException {
+            if (writers != null) {
+                for (DataOutputStream writer : writers) {
+                    writer.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * @param fields         the key; records missing any of them are not counted
+     * @param memoryMb       heap for hash tables, shared by all stripes; beyond it keys spill
+     * @param spillDirectory where partition files go
+     * @param sampleLimit    repeated keys to report
+     */
+    public UniqueKeyCheck(String name, List<String> fields, int memoryMb, Path spillDirectory, int sampleLimit) {
+        this(name, fields, spillDirectory, sampleLimit, ((long) Math.max(memoryMb, 0) << 20) / Long.BYTES / (1 << STRIPE_BITS));
+        if (memoryMb < 1) {
+            throw new IllegalArgumentException("A unique check needs a positive memory budget");
+        }
+    }
+
+    /**
+     * @param slotsPerStripe table size for each of the eight stripes, rounded down to a power of two
+     */
+    UniqueKeyCheck(String name, List<String> fields, Path spillDirectory, int sampleLimit, long slotsPerStripe) {
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("A unique check needs fields");
+        }
+        this.name = name;
+        this.fields = Collections.unmodifiableList(new ArrayList<>(fields));
+        this.tableCapacity = Math.min(Long.highestOneBit(Math.max(slotsPerStripe, 1024)), 1 << 30);
+        this.spillDirectory = spillDirectory;
+        this.sampleLimit = sampleLimit;
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(i);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Count one record's key. Safe to call from several threads.
+     */
+    public void add(Map<String, Object> record) {
+        String key;
+        if (fields.size() == 1) {
+            key = keyOf(record.get(fields.get(0)));
+        } else {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < fields.size(); i++) {
+                if (!appendKey(text, i, record.get(fields.get(i)))) {
+                    return;
+                }
+            }
+            key = text.toString();
+        }
+        add(key);
+    }
+
+    /**
+     * Add the key of a slot record, whose key fields are at {@code slots}
+     * (from {@code layout.slotsOf(getFields())}).
+     */
+    public void add(SlotRecord record, int[] slots) {
+        String key;
+        if (slots.length == 1) {
+            key = keyOf(record.get(slots[0]));
+        } else {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < slots.length; i++) {
+                if (!appendKey(text, i, record.get(slots[i]))) {
+                    return;
+                }
+            }
+            key = text.toString();
+        }
+        add(key);
+    }
+
+    private void add(String key) {
+        if (key == null) {
+            return;
+        }
+        keys.increment();
+        long hash = LookupIndex.hash(key);
+        try {
+            stripes[(int) (hash >>> (64 - STRIPE_BITS))].add(hash, key);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot spill keys for unique check '" + name + "'", e);
+        }
+    }
+
+    private static String keyOf(Object value) {
+        return value == null ? null : LookupValidator.keyOf(value).toString();
+    }
+
+    /** Append one field of a composite key; false if the value is null. */
+    private static boolean appendKey(StringBuilder key, int index, Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (index > 0) {
+            key.append(SEPARATOR);
+        }
+        key.append(LookupValidator.keyOf(value));
+        return true;
+    }
+
+    private void sample(String text) {
+        if (text == null) {
+            return;
+        }
+        synchronized (samples) {
+            if (samples.size() < sampleLimit) {
+                samples.add(text.replace(SEPARATOR, '|'));
+            }
+        }
+    }
+
+    private synchronized Path spillRoot() throws IOException {
+        if (spillRoot == null) {
+            Files.createDirectories(spillDirectory);
+            spillRoot = Files.createTempDirectory(spillDirectory, "unique-");
+        }
+        return spillRoot;
+    }
+
+    private static Path partitionFile(Path directory, int partition) {
+        return directory.resolve("partition-" + partition + ".bin");
+    }
+
+    /**
+     * Finish the duplicate pass over spilled partitions and delete them. Call
+     * once, after every record has been added.
+     */
+    public Result finish() throws IOException {
+        long spilledBytes = 0;
+        Path root;
+        synchronized (this) {
+            root = spillRoot;
+        }
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.close();
+                if (stripe.writers == null) {
+                    continue;
+                }
+                for (int i = 0; i < PARTITIONS_PER_STRIPE; i++) {
+                    Path file = partitionFile(root, stripe.index * PARTITIONS_PER_STRIPE + i);
+                    spilledBytes += Files.size(file);
+                    scan(file, stripe.entries[i], 1);
+                }
+            }
+        } finally {
+            if (root != null) {
+                delete(root);
+            }
+        }
+        List<String> sampled;
+        synchronized (samples) {
+            sampled = new ArrayList<>(samples);
+        }
+        return new Result(name, fields, keys.sum(), duplicates.sum(), sampled, spilledBytes);
+    }
+
+    /**
+     * Count repeats within one partition, splitting it by the next six hash
+     * bits first if its entries would not fit in one table.
+     */
+    private void scan(Path file, long entries, int depth) throws IOException {
+        if (entries == 0) {
+            return;
+        }
+        long needed = Math.max(entries + entries / 3 + 1, 1024); // at most 3/4 full
+        long capacity = Long.highestOneBit(needed - 1) << 1;
+        if (capacity > tableCapacity * stripes.length && depth * PARTITION_BITS + PARTITION_BITS <= 48) {
+            split(file, depth);
+            return;
+        }
+        capacity = Math.min(capacity, 1 << 30);
+        LongHashSet table = new LongHashSet((int) capacity, (int) capacity);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), IO_BUFFER))) {
+            byte[] text = new byte[MAX_TEXT_BYTES];
+            while (true) {
+                long hash;
+                try {
+                    hash = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                int length = in.readUnsignedShort();
+                in.readFully(text, 0, length);
+                if (!table.add(hash)) {
+                    duplicates.increment();
+                    sample(length > 0 ? new String(text, 0, length, StandardCharsets.UTF_8) : null);
+                }
+            }
+        }
+    }
+
+    private void split(Path file, int depth) throws IOException {
+        int shift = 64 - PARTITION_BITS * (depth + 1);
+        Path[] parts = new Path[PARTITIONS];
+        long[] counts = new long[PARTITIONS];
+        DataOutputStream[] writers = new DataOutputStream[PARTITIONS];
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), IO_BUFFER))) {
+            for (int i = 0; i < PARTITIONS; i++) {
+                parts[i] = file.resolveSibling(file.getFileName() + "." + i);
+                writers[i] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(parts[i]), IO_BUFFER));
+            }
+            byte[] text = new byte[MAX_TEXT_BYTES];
+            while (true) {
+                long hash;
+                try {
+                    hash = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                int length = in.readUnsignedShort();
+                in.readFully(text, 0, length);
+                int part = (int) (hash >>> shift) & (PARTITIONS - 1);
+                writers[part].writeLong(hash);
+                writers[part].writeShort(length);
+                writers[part].write(text, 0, length);
+                counts[part]++;
+            }
+        } finally {
+            for (DataOutputStream writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+        Files.delete(file);
+        for (int i = 0; i < PARTITIONS; i++) {
+            scan(parts[i], counts[i], depth + 1);
+            Files.delete(parts[i]);
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+}
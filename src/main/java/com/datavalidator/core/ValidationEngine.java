@@ -1,20 +1,38 @@
 package com.datavalidator.core;
 
+import com.datavalidator.columnar.Bitmap;
+import com.datavalidator.columnar.ColumnBatch;
+import com.datavalidator.columnar.ColumnBatchResult;
 import com.datavalidator.scoring.QualityScorer;
+import com.datavalidator.validators.ColumnarValidator;
 import com.datavalidator.validators.Validator;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**
  * Main validation engine that orchestrates validators and scoring.
  */
 public class ValidationEngine {
+    private static final ThreadLocal<ErrorCollector> COLLECTORS = ThreadLocal.withInitial(ErrorCollector::new);
+
     private final List<Validator> validators;
+    private final Validator[] ordered; // validators as an array, for iteration without an iterator
     private final QualityScorer scorer;
     private final ValidationMode mode; // Mode behavior not fully documented
+    private final boolean failFast;
+    private final AdaptiveOrdering adaptive; // null unless adaptive ordering is on
+    private final DependencyIndex dependencies;
+    private final Rules<Map<String, Object>> mapRules;
 
     public enum ValidationMode {
         STRICT,    // All validators must pass
@@ -22,44 +40,361 @@ public class ValidationEngine {
         THRESHOLD  // Pass if score meets threshold - threshold format ambiguous
     }
 
+    /**
+     * Delivery order for batch validation results.
+     */
+    public enum ResultOrder {
+        ORDERED,   // Results are delivered in input order
+        UNORDERED  // Results are delivered as soon as their batch completes
+    }
+
+    /**
+     * Receives batch validation results. Always invoked on the thread that
+     * called {@code validateAll}, so implementations need no synchronization.
+     */
+    public interface ResultHandler {
+        void onResult(long index, Map<String, Object> record, ValidationResult result);
+    }
+
     public ValidationEngine(List<Validator> validators, QualityScorer scorer, ValidationMode mode) {
+        this(validators, scorer, mode, false, false);
+    }
+
+    /**
+     * @param failFast stop running validators once the record's verdict is
+     *        decided (STRICT: first failure; RELAXED: majority reached or out
+     *        of reach). Records the mode can decide early then score by
+     *        verdict: a STRICT rejection scores 0.0, and a RELAXED record 1.0 if
+     *        accepted and 0.0 if rejected. STRICT accepted records are scored
+     *        as usual.
+     *        Has no effect in THRESHOLD mode, where the verdict needs every score.
+     * @param adaptiveOrdering with failFast, reorder validators at runtime so the
+     *        ones with the lowest observed cost per rejection run first. Verdicts
+     *        and scores do not depend on the order; errors are listed in
+     *        execution order.
+     */
+    public ValidationEngine(List<Validator> validators, QualityScorer scorer, ValidationMode mode,
+                            boolean failFast, boolean adaptiveOrdering) {
+        this(validators, scorer, mode, failFast, adaptiveOrdering && failFast && mode != ValidationMode.THRESHOLD
+            ? new AdaptiveOrdering(validators.size()) : null);
+    }
+
+    private ValidationEngine(List<Validator> validators, QualityScorer scorer, ValidationMode mode,
+                             boolean failFast, AdaptiveOrdering adaptive) {
         // Sort by priority - but priority interpretation varies (higher number = higher priority?)
         this.validators = validators.stream()
             .sorted(Comparator.comparingInt(Validator::getPriority).reversed())
             .collect(Collectors.toList());
+        this.ordered = this.validators.toArray(new Validator[0]);
+        Validator[] byIndex = this.ordered;
+        this.mapRules = (i, record, errors) -> byIndex[i].validateInto(record, errors);
         this.scorer = scorer;
         this.mode = mode;
+        this.failFast = failFast && mode != ValidationMode.THRESHOLD;
+        this.adaptive = adaptive;
+        this.dependencies = new DependencyIndex(ordered);
+    }
+
+    /**
+     * Copy of this engine with every validator replaced by {@code decorator}'s
+     * wrapper, keeping the scorer, mode and fail-fast settings. Wrappers must
+     * keep the wrapped validator's name and priority.
+     */
+    public ValidationEngine decorate(UnaryOperator<Validator> decorator) {
+        List<Validator> decorated = new ArrayList<>(ordered.length);
+        for (Validator validator : ordered) {
+            decorated.add(decorator.apply(validator));
+        }
+        return new ValidationEngine(decorated, scorer, mode, failFast,
+            adaptive != null ? new AdaptiveOrdering(ordered.length) : null);
     }
 
     /**
      * Validate a single record.
      */
     public ValidationResult validate(Map<String, Object> record) {
-        List<ValidationResult> results = new ArrayList<>();
-        List<ValidationResult.ValidationError> allErrors = new ArrayList<>();
+        return validate(record, COLLECTORS.get());
+    }
+
+    /**
+     * Validate a single record using a caller-owned collector, which is
+     * cleared first. A passing record returns {@link ValidationResult#passed()}
+     * and allocates nothing once the collector has warmed up.
+     */
+    public ValidationResult validate(Map<String, Object> record, ErrorCollector errors) {
+        return evaluate(record, mapRules, errors);
+    }
+
+    /**
+     * Runs validator {@code index} of the engine's priority order against a
+     * record of some representation, so map records and compiled plans share
+     * one evaluation loop.
+     */
+    interface Rules<R> {
+        double validateInto(int index, R record, ErrorCollector errors);
+    }
+
+    /**
+     * Run the rules against a record, applying fail-fast and adaptive
+     * ordering, and score it. With fail-fast, every record the mode can
+     * decide early (STRICT: rejected records; RELAXED: all records) is scored
+     * by its verdict alone, 1.0 if accepted and 0.0 if rejected, whether or not
+     * it actually stopped early, so the score does not depend on which
+     * validators happened to run.
+     */
+    <R> ValidationResult evaluate(R record, Rules<R> rules, ErrorCollector errors) {
+        errors.clear();
+        int count = ordered.length;
+        double[] scores = errors.scores(count);
+        boolean[] verdicts = errors.verdicts(count);
+
+        if (!failFast) {
+            for (int i = 0; i < count; i++) {
+                errors.beginRule();
+                scores[i] = rules.validateInto(i, record, errors);
+                verdicts[i] = !errors.isRejected();
+            }
+            return finish(errors, scores, verdicts, count);
+        }
+
+        boolean timed = false;
+        int[] order = null;
+        if (adaptive != null) {
+            order = adaptive.order();
+            if (--errors.recordsUntilSample <= 0) {
+                errors.recordsUntilSample = AdaptiveOrdering.SAMPLE_EVERY;
+                timed = true;
+            }
+        }
+
+        int passed = 0;
+        int failed = 0;
+        for (int k = 0; k < count; k++) {
+            int i = order != null ? order[k] : k;
+            errors.beginRule();
+            long start = timed ? System.nanoTime() : 0L;
+            scores[i] = rules.validateInto(i, record, errors);
+            verdicts[i] = !errors.isRejected();
+            if (timed) {
+                adaptive.record(i, System.nanoTime() - start, !verdicts[i]);
+            }
+
+            if (verdicts[i]) {
+                passed++;
+            } else {
+                failed++;
+            }
+            if (isDecided(passed, failed, count)) {
+                break;
+            }
+        }
+        if (timed) {
+            adaptive.sampleCompleted();
+        }
+
+        if (mode == ValidationMode.STRICT) {
+            // Accepted records ran every validator; a rejection may have stopped anywhere
+            return failed == 0 ? finish(errors, scores, verdicts, count) : errors.toResult(false, 0.0);
+        }
+        // The majority over the validators that ran is the full-run majority
+        boolean valid = passed > count / 2;
+        return errors.toResult(valid, valid ? 1.0 : 0.0);
+    }
+
+    /**
+     * Validate a record, keeping each validator's outcome so that later
+     * updates can be checked with {@link #revalidate}. Every validator runs,
+     * even with fail-fast on.
+     */
+    public TrackedResult validateTracked(Map<String, Object> record) {
+        int count = ordered.length;
+        double[] scores = new double[count];
+        boolean[] verdicts = new boolean[count];
+        List<List<ValidationResult.ValidationError>> errorsByValidator = new ArrayList<>(Collections.nCopies(count, null));
+
+        ErrorCollector errors = COLLECTORS.get();
+        errors.clear();
+        for (int i = 0; i < count; i++) {
+            runTracked(i, record, errors, scores, verdicts, errorsByValidator);
+        }
+        errors.clear();
+        return track(scores, verdicts, errorsByValidator, count);
+    }
+
+    /**
+     * Revalidate an updated record, rerunning only the validators that read
+     * one of the changed fields (plus any that do not declare their fields)
+     * and reusing the previous outcome of the rest. The result equals a full
+     * {@link #validateTracked} of the updated record as long as
+     * {@code changedFields} lists every field that changed, was added or was
+     * removed. A rule reruns as a whole, so a rule covering many fields costs
+     * its full width whenever one of them changes.
+     *
+     * @param previous result of this engine for the record before the update
+     * @throws IllegalArgumentException if {@code previous} came from another engine
+     */
+    public TrackedResult revalidate(TrackedResult previous, Map<String, Object> record,
+                                    Collection<String> changedFields) {
+        if (previous.engine != this) {
+            throw new IllegalArgumentException("Previous result was produced by a different engine");
+        }
+        int count = ordered.length;
+        double[] scores = previous.scores.clone();
+        boolean[] verdicts = previous.verdicts.clone();
+        List<List<ValidationResult.ValidationError>> errorsByValidator = new ArrayList<>(previous.errorsByValidator);
+
+        boolean[] affected = dependencies.affectedBy(changedFields);
+        ErrorCollector errors = COLLECTORS.get();
+        errors.clear();
+        int ran = 0;
+        for (int i = 0; i < count; i++) {
+            if (affected[i]) {
+                runTracked(i, record, errors, scores, verdicts, errorsByValidator);
+                ran++;
+            }
+        }
+        errors.clear();
+        return track(scores, verdicts, errorsByValidator, ran);
+    }
+
+    private void runTracked(int i, Map<String, Object> record, ErrorCollector errors, double[] scores,
+                            boolean[] verdicts, List<List<ValidationResult.ValidationError>> errorsByValidator) {
+        int before = errors.size();
+        errors.beginRule();
+        scores[i] = ordered[i].validateInto(record, errors);
+        verdicts[i] = !errors.isRejected();
+        errorsByValidator.set(i, errors.errorsSince(before));
+    }
+
+    private TrackedResult track(double[] scores, boolean[] verdicts,
+                                List<List<ValidationResult.ValidationError>> errorsByValidator, int ran) {
+        int count = ordered.length;
+        double overallScore = scorer.calculateScore(scores, count);
+        boolean overallValid = determineValidity(verdicts, count, overallScore);
+        List<ValidationResult.ValidationError> errors = new ArrayList<>();
+        for (List<ValidationResult.ValidationError> validatorErrors : errorsByValidator) {
+            errors.addAll(validatorErrors);
+        }
+        return new TrackedResult(this, overallValid, errors, overallScore, scores, verdicts, errorsByValidator, ran);
+    }
+
+    private boolean isDecided(int passed, int failed, int count) {
+        switch (mode) {
+            case STRICT:
+                return failed > 0;
+            case RELAXED:
+                return passed > count / 2 || count - failed <= count / 2;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Turn per-validator scores and verdicts, in priority order, into the overall result.
+     */
+    private ValidationResult finish(ErrorCollector errors, double[] scores, boolean[] verdicts, int count) {
+        double overallScore = scorer.calculateScore(scores, count);
+        boolean overallValid = determineValidity(verdicts, count, overallScore);
+
+        return errors.toResult(overallValid, overallScore);
+    }
+
+    /**
+     * Validate a column batch. Validators with a columnar kernel run column at
+     * a time; the rest fall back to row maps built once for the batch.
+     */
+    public ColumnBatchResult validateBatch(ColumnBatch batch) {
+        ColumnBatchResult result = new ColumnBatchResult(batch.getRowCount());
+        List<Map<String, Object>> rows = null;
 
         for (Validator validator : validators) {
-            ValidationResult result = validator.validate(record);
-            results.add(result);
-            allErrors.addAll(result.getErrors());
+            long[] failures;
+            if (validator instanceof ColumnarValidator) {
+                failures = ((ColumnarValidator) validator).validateColumns(batch);
+            } else {
+                if (rows == null) {
+                    rows = new ArrayList<>(batch.getRowCount());
+                    for (int row = 0; row < batch.getRowCount(); row++) {
+                        rows.add(batch.row(row));
+                    }
+                }
+                failures = Bitmap.create(batch.getRowCount());
+                for (int row = 0; row < rows.size(); row++) {
+                    if (!validator.validate(rows.get(row)).isValid()) {
+                        Bitmap.set(failures, row);
+                    }
+                }
+            }
+            result.addFailures(validator.getName(), failures);
+        }
+        return result;
+    }
+
+    /**
+     * Compile this engine into a slot-indexed plan. See {@link ValidationPlan}.
+     */
+    public ValidationPlan compile() {
+        return ValidationPlan.compile(this);
+    }
+
+    /**
+     * Validate a collection of records in parallel, returning results in input order.
+     */
+    public List<ValidationResult> validateAll(Collection<? extends Map<String, Object>> records, int parallelism) {
+        List<ValidationResult> results = new ArrayList<>(records.size());
+        validateAll(records.iterator(), parallelism, ResultOrder.ORDERED,
+            (index, record, result) -> results.add(result));
+        return results;
+    }
+
+    /**
+     * Validate a record stream on a dedicated fork-join pool of the given size.
+     * A parallelism of 1 or less validates on the calling thread.
+     */
+    public void validateAll(Iterator<? extends Map<String, Object>> records, int parallelism,
+                            ResultOrder order, ResultHandler handler) {
+        if (parallelism <= 1) {
+            long index = 0;
+            while (records.hasNext()) {
+                Map<String, Object> record = records.next();
+                handler.onResult(index++, record, validate(record));
+            }
+            return;
         }
 
-        double overallScore = scorer.calculateScore(results);
-        boolean overallValid = determineValidity(results, overallScore);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            validateAll(records, pool, parallelism, order, handler);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 
-        return new ValidationResult(overallValid, allErrors, overallScore);
+    /**
+     * Validate a record stream on a caller-supplied executor. The executor is
+     * not shut down; {@code parallelism} bounds how much work is queued on it.
+     */
+    public void validateAll(Iterator<? extends Map<String, Object>> records, ExecutorService executor,
+                            int parallelism, ResultOrder order, ResultHandler handler) {
+        new ParallelValidation(this, executor, parallelism).run(records, order, handler);
     }
 
-    private boolean determineValidity(List<ValidationResult> results, double overallScore) {
+    private boolean determineValidity(boolean[] verdicts, int count, double overallScore) {
+        int validCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (verdicts[i]) {
+                validCount++;
+            }
+        }
+
         switch (mode) {
             case STRICT:
-                return results.stream().allMatch(ValidationResult::isValid);
+                return validCount == count;
 
             case RELAXED:
                 // Relaxed mode - exact behavior not specified
                 // Does it mean: at least one passes? Majority passes? Score-based?
-                long validCount = results.stream().filter(ValidationResult::isValid).count();
-                return validCount > results.size() / 2; // Majority rule - but is this correct?
+                return validCount > count / 2; // Majority rule - but is this correct?
 
             case THRESHOLD:
                 return scorer.passesThreshold(overallScore);
@@ -0,0 +1,87 @@
+package com.datavalidator.core;
+
+import com.datavalidator.validators.SlotValidator;
+import com.datavalidator.validators.Validator;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link ValidationEngine} compiled against a fixed {@link FieldLayout}.
+ * Every field referenced by a rule gets a slot and every validator resolves
+ * its field names once, so validating a {@link SlotRecord} does no per-record
+ * hashing of field names. Validation runs the engine's own loop, including
+ * fail-fast and adaptive ordering, so results are identical to
+ * {@link ValidationEngine#validate}. Plans are immutable and can be shared
+ * between threads; slot records cannot.
+ */
+public final class ValidationPlan {
+    private static final ThreadLocal<ErrorCollector> COLLECTORS = ThreadLocal.withInitial(ErrorCollector::new);
+
+    private final ValidationEngine engine;
+    private final FieldLayout layout;
+    private final ValidationEngine.Rules<SlotRecord> rules;
+
+    private ValidationPlan(ValidationEngine engine, FieldLayout layout, SlotValidator[] validators) {
+        this.engine = engine;
+        this.layout = layout;
+        this.rules = (i, record, errors) -> validators[i].validateInto(record, errors);
+    }
+
+    public static ValidationPlan compile(ValidationEngine engine) {
+        return compile(engine, Collections.emptyList());
+    }
+
+    /**
+     * Compile with slots for {@code extraFields} too, for callers that read
+     * fields no rule references, e.g. the keys of dataset-wide checks.
+     */
+    public static ValidationPlan compile(ValidationEngine engine, Collection<String> extraFields) {
+        List<Validator> engineValidators = engine.getValidators();
+        Set<String> fields = new LinkedHashSet<>();
+        boolean open = false;
+        for (Validator validator : engineValidators) {
+            Set<String> referenced = validator.getReferencedFields();
+            if (referenced == null) {
+                open = true; // keep unknown fields so the map view stays complete
+            } else {
+                fields.addAll(referenced);
+            }
+        }
+
+        fields.addAll(extraFields);
+        FieldLayout layout = FieldLayout.of(fields, open);
+        SlotValidator[] bound = new SlotValidator[engineValidators.size()];
+        for (int i = 0; i < bound.length; i++) {
+            bound[i] = engineValidators.get(i).bind(layout);
+        }
+        return new ValidationPlan(engine, layout, bound);
+    }
+
+    public FieldLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Create an empty record for this plan's layout.
+     */
+    public SlotRecord newRecord() {
+        return new SlotRecord(layout);
+    }
+
+    public ValidationResult validate(SlotRecord record) {
+        return validate(record, COLLECTORS.get());
+    }
+
+    /**
+     * Validate using a caller-owned collector, as {@link ValidationEngine#validate(java.util.Map, ErrorCollector)}.
+     */
+    public ValidationResult validate(SlotRecord record, ErrorCollector errors) {
+        if (record.getLayout() != layout) {
+            throw new IllegalArgumentException("Record was not created for this plan's layout");
+        }
+        return engine.evaluate(record, rules, errors);
+    }
+}
@@ -1,44 +1,80 @@
 package com.datavalidator.core;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
- * Result of validating a single record.
+ * Result of validating a single record. Instances are immutable.
  */
 public class ValidationResult {
+    private static final ValidationResult PASSED = new ValidationResult(true, null, 1.0);
+
     private final boolean valid;
     private final List<ValidationError> errors;
     private final double qualityScore; // 0.0 to 1.0 or 0 to 100? Ambiguous in docs
 
     public ValidationResult(boolean valid, List<ValidationError> errors, double qualityScore) {
         this.valid = valid;
-        this.errors = errors != null ? new ArrayList<>(errors) : new ArrayList<>();
+        this.errors = errors == null || errors.isEmpty()
+            ? Collections.emptyList()
+            : Collections.unmodifiableList(new ArrayList<>(errors));
         this.qualityScore = qualityScore;
     }
 
+    /**
+     * Shared result for a valid record with no errors and a score of 1.0.
+     */
+    public static ValidationResult passed() {
+        return PASSED;
+    }
+
     public boolean isValid() {
         return valid;
     }
 
+    /**
+     * Errors of this result, as an unmodifiable list.
+     */
     public List<ValidationError> getErrors() {
-        return new ArrayList<>(errors);
+        return errors;
+    }
+
+    public int getErrorCount() {
+        return errors.size();
     }
 
     public double getQualityScore() {
         return qualityScore;
     }
 
+    /**
+     * A single validation failure. Errors carry a compact {@link ErrorCode}
+     * plus the raw offending value and the expected value or bound; the
+     * human-readable message is only rendered when {@link #getMessage()} is
+     * called, so counting errors never pays for string formatting.
+     */
     public static class ValidationError {
         private final String ruleName;
         private final String field;
-        private final String message;
+        private final ErrorCode code;
+        private final Object actual;
+        private final Object expected;
         private final Severity severity;
+        private String message; // rendered on first use; a racy re-render yields an equal string
 
         public ValidationError(String ruleName, String field, String message, Severity severity) {
+            this(ruleName, field, ErrorCode.CUSTOM, null, null, severity);
+            this.message = message;
+        }
+
+        public ValidationError(String ruleName, String field, ErrorCode code,
+                               Object actual, Object expected, Severity severity) {
             this.ruleName = ruleName;
             this.field = field;
-            this.message = message;
+            this.code = code;
+            this.actual = actual;
+            this.expected = expected;
             this.severity = severity;
         }
 
@@ -50,8 +86,31 @@ public class ValidationResult {
             return field;
         }
 
+        public ErrorCode getCode() {
+            return code;
+        }
+
+        /**
+         * The offending value, or null if the code does not need one.
+         */
+        public Object getActual() {
+            return actual;
+        }
+
+        /**
+         * The expected type or violated bound, or null if the code does not need one.
+         */
+        public Object getExpected() {
+            return expected;
+        }
+
         public String getMessage() {
-            return message;
+            String rendered = message;
+            if (rendered == null) {
+                rendered = code.render(actual, expected);
+                message = rendered;
+            }
+            return rendered;
         }
 
         public Severity getSeverity() {
@@ -59,8 +118,81 @@ public class ValidationResult {
         }
     }
 
+    /**
+     * Machine-readable error kinds, each knowing how to render its message
+     * from the error's raw arguments.
+     */
+    public enum ErrorCode {
+        CUSTOM {
+            @Override
+            String render(Object actual, Object expected) {
+                return "";
+            }
+        },
+        REQUIRED_MISSING {
+            @Override
+            String render(Object actual, Object expected) {
+                return "Required field is missing or null";
+            }
+        },
+        REQUIRED_EMPTY {
+            @Override
+            String render(Object actual, Object expected) {
+                return "Required field is empty";
+            }
+        },
+        /** actual: the value's class, expected: the configured type name */
+        TYPE_MISMATCH {
+            @Override
+            String render(Object actual, Object expected) {
+                return String.format("Expected type %s but got %s", expected, ((Class<?>) actual).getSimpleName());
+            }
+        },
+        NOT_A_NUMBER {
+            @Override
+            String render(Object actual, Object expected) {
+                return "Value is not a number";
+            }
+        },
+        /** actual: the value, expected: the bound label, e.g. "(0.00" */
+        BELOW_MINIMUM {
+            @Override
+            String render(Object actual, Object expected) {
+                return String.format("Value %.2f is below minimum %s", toDouble(actual), expected);
+            }
+        },
+        /** actual: the value, expected: the bound label, e.g. ")150.00" */
+        ABOVE_MAXIMUM {
+            @Override
+            String render(Object actual, Object expected) {
+                return String.format("Value %.2f is above maximum %s", toDouble(actual), expected);
+            }
+        },
+        /** actual: the value, expected: the reference set, e.g. the key file name */
+        NOT_IN_REFERENCE_SET {
+            @Override
+            String render(Object actual, Object expected) {
+                return String.format("Value %s not found in %s", actual, expected);
+            }
+        },
+        /** actual: the value, expected: the regex */
+        PATTERN_MISMATCH {
+            @Override
+            String render(Object actual, Object expected) {
+                return String.format("Value %s does not match %s", actual, expected);
+            }
+        };
+
+        abstract String render(Object actual, Object expected);
+
+        private static double toDouble(Object value) {
+            return value instanceof Number
+                ? ((Number) value).doubleValue()
+                : Double.parseDouble(value.toString());
+        }
+    }
+
     public enum Severity {
         LOW, MEDIUM, HIGH, CRITICAL
     }
 }
-
@@ -1,16 +1,35 @@
 package com.datavalidator.core;
 
 import com.datavalidator.config.ValidationConfig;
+import com.datavalidator.io.AsyncResultSink;
+import com.datavalidator.io.CsvRecordReader;
+import com.datavalidator.io.JsonRecordReader;
+import com.datavalidator.io.RecordReader;
+import com.datavalidator.metrics.RuleMetrics;
+import com.datavalidator.metrics.ValidationMetrics;
+import com.datavalidator.scoring.DatasetQualityReport;
+import com.datavalidator.scoring.QualityEstimate;
 import com.datavalidator.scoring.QualityScorer;
+import com.datavalidator.server.ValidationServer;
 import com.datavalidator.validators.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Command-line interface for data validation.
@@ -18,44 +37,218 @@ import java.util.Map;
 public class ValidatorCLI {
     public static void main(String[] args) {
         if (args.length < 2) {
-            System.out.println("Usage: ValidatorCLI --config <config.yaml> --input <data.json>");
+            System.out.println("Usage: ValidatorCLI --config <config.yaml> --input <data.json|data.ndjson|data.csv|data.tsv|directory|glob> [--format json|csv|tsv] [--threads <n>] [--metrics] [--report <report.json>] [--output <results.ndjson|results.csv>] [--sample <rate> [--margin <e>] | --reservoir <n>] [--confidence <c>] [--seed <n>] [--checkpoint <file> [--checkpoint-interval <seconds>] [--resume]]");
+            System.out.println("       ValidatorCLI --config <config.yaml> --serve <port> [--threads <n>] [--max-body <bytes>] [--metrics]");
             System.exit(1);
         }
 
         String configPath = null;
         String inputPath = null;
+        int threads = 1;
+        boolean metricsEnabled = false;
+        String reportPath = null;
+        String format = null;
+        String outputPath = null;
+        Double sampleRate = null;
+        Integer reservoirSize = null;
+        double margin = 0.01;
+        double confidence = SampledValidation.DEFAULT_CONFIDENCE;
+        long seed = System.nanoTime();
+        String checkpointPath = null;
+        long checkpointInterval = Checkpointer.DEFAULT_INTERVAL_SECONDS;
+        boolean resume = false;
+        Integer servePort = null;
+        long maxBody = ValidationServer.DEFAULT_MAX_BODY_BYTES;
+        boolean threadsGiven = false;
 
         for (int i = 0; i < args.length; i++) {
             if (args[i].equals("--config") && i + 1 < args.length) {
                 configPath = args[i + 1];
             } else if (args[i].equals("--input") && i + 1 < args.length) {
                 inputPath = args[i + 1];
+            } else if (args[i].equals("--threads") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[i + 1]);
+                threadsGiven = true;
+            } else if (args[i].equals("--format") && i + 1 < args.length) {
+                format = args[i + 1];
+            } else if (args[i].equals("--output") && i + 1 < args.length) {
+                outputPath = args[i + 1];
+            } else if (args[i].equals("--report") && i + 1 < args.length) {
+                reportPath = args[i + 1];
+            } else if (args[i].equals("--metrics")) {
+                metricsEnabled = true;
+            } else if (args[i].equals("--sample") && i + 1 < args.length) {
+                sampleRate = Double.parseDouble(args[i + 1]);
+            } else if (args[i].equals("--reservoir") && i + 1 < args.length) {
+                reservoirSize = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--margin") && i + 1 < args.length) {
+                margin = Double.parseDouble(args[i + 1]);
+            } else if (args[i].equals("--confidence") && i + 1 < args.length) {
+                confidence = Double.parseDouble(args[i + 1]);
+            } else if (args[i].equals("--seed") && i + 1 < args.length) {
+                seed = Long.parseLong(args[i + 1]);
+            } else if (args[i].equals("--checkpoint") && i + 1 < args.length) {
+                checkpointPath = args[i + 1];
+            } else if (args[i].equals("--checkpoint-interval") && i + 1 < args.length) {
+                checkpointInterval = Long.parseLong(args[i + 1]);
+            } else if (args[i].equals("--resume")) {
+                resume = true;
+            } else if (args[i].equals("--serve") && i + 1 < args.length) {
+                servePort = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--max-body") && i + 1 < args.length) {
+                maxBody = Long.parseLong(args[i + 1]);
             }
         }
 
+        if (threads < 1) {
+            System.err.println("Error: --threads must be at least 1, got " + threads);
+            System.exit(1);
+        }
+        if (servePort != null) {
+            if (configPath == null || inputPath != null) {
+                System.err.println("Error: --serve needs --config and takes no --input");
+                System.exit(1);
+            }
+            serve(configPath, servePort, threadsGiven ? threads : Runtime.getRuntime().availableProcessors(),
+                maxBody, metricsEnabled);
+            return;
+        }
+
         if (configPath == null || inputPath == null) {
             System.err.println("Error: --config and --input are required");
             System.exit(1);
         }
+        if (sampleRate != null && reservoirSize != null) {
+            System.err.println("Error: --sample and --reservoir are mutually exclusive");
+            System.exit(1);
+        }
+        if ((sampleRate != null || reservoirSize != null) && outputPath != null) {
+            System.err.println("Error: --output cannot be combined with sampling");
+            System.exit(1);
+        }
+        if (checkpointPath != null && (outputPath != null || sampleRate != null || reservoirSize != null)) {
+            // Results reach --output asynchronously, so its contents would not line up with a checkpoint
+            System.err.println("Error: --checkpoint cannot be combined with --output or sampling");
+            System.exit(1);
+        }
+        if (resume && checkpointPath == null) {
+            System.err.println("Error: --resume requires --checkpoint");
+            System.exit(1);
+        }
+        boolean multiFile = MultiFileValidation.isMultiFile(inputPath);
+        if (multiFile && (outputPath != null || checkpointPath != null || sampleRate != null || reservoirSize != null)) {
+            System.err.println("Error: a directory or glob --input cannot be combined with --output, --checkpoint or sampling");
+            System.exit(1);
+        }
 
         try {
             ValidationConfig config = loadConfig(configPath);
             ValidationEngine engine = createEngine(config);
-            
-            // Load and validate data (simplified - would need proper JSON parsing)
+            List<Validator> validators = engine.getValidators();
+            List<UniqueKeyCheck> uniqueChecks = createUniqueChecks(config);
+            if (checkpointPath != null && !uniqueChecks.isEmpty()) {
+                // Keys seen before a checkpoint are not saved, so a resumed run would miss duplicates across it
+                System.err.println("Error: --checkpoint cannot be combined with unique rules");
+                System.exit(1);
+            }
+            ValidationMetrics metrics = null;
+            if (metricsEnabled) {
+                metrics = new ValidationMetrics();
+                engine = metrics.instrument(engine);
+                metrics.registerMBeans();
+            }
+
             System.out.println("Validating data from: " + inputPath);
             System.out.println("Using config: " + configPath);
-            
-            // Placeholder for actual validation
-            Map<String, Object> sampleRecord = new HashMap<>();
-            sampleRecord.put("id", 1);
-            sampleRecord.put("name", "test");
-            
-            ValidationResult result = engine.validate(sampleRecord);
-            System.out.println("Validation result: " + (result.isValid() ? "PASS" : "FAIL"));
-            System.out.println("Quality score: " + result.getQualityScore());
-            System.out.println("Errors: " + result.getErrors().size());
-            
+
+            if (sampleRate != null || reservoirSize != null) {
+                SampledValidation sampling = sampleRate != null
+                    ? SampledValidation.bernoulli(engine, sampleRate, margin, confidence, seed)
+                    : SampledValidation.reservoir(engine, reservoirSize, confidence, seed);
+                QualityEstimate estimate;
+                try (RecordReader reader = openReader(Paths.get(inputPath), format)) {
+                    estimate = sampling.run(reader);
+                }
+                printEstimate(sampling, estimate);
+                if (!uniqueChecks.isEmpty()) {
+                    System.out.println("Unique rules skipped: a sample cannot show duplicates");
+                }
+                if (reportPath != null) {
+                    new ObjectMapper().writerWithDefaultPrettyPrinter()
+                        .writeValue(new File(reportPath), sampling.toMap(estimate));
+                    System.out.println("Report written to: " + reportPath);
+                }
+                if (metrics != null) {
+                    printMetrics(metrics);
+                }
+                printMemoStats(validators);
+                return;
+            }
+
+            if (multiFile) {
+                List<Path> files = MultiFileValidation.resolve(inputPath);
+                System.out.println("Matched " + files.size() + " files");
+                MultiFileValidation.Summary summary =
+                    new MultiFileValidation(engine, threads, uniqueChecks).run(files);
+                printSummary(summary, threads);
+                List<UniqueKeyCheck.Result> uniqueness = finishUniqueChecks(uniqueChecks);
+                if (reportPath != null) {
+                    new ObjectMapper().writerWithDefaultPrettyPrinter()
+                        .writeValue(new File(reportPath), withUniqueness(summary.getReport().toMap(), uniqueness));
+                    System.out.println("Report written to: " + reportPath);
+                }
+                if (metrics != null) {
+                    printMetrics(metrics);
+                }
+                printMemoStats(validators);
+                return;
+            }
+
+            Path input = Paths.get(inputPath);
+            RunStats stats = new RunStats();
+            DatasetQualityReport report = reportPath != null ? DatasetQualityReport.forEngine(engine) : null;
+            Checkpoint resumed = resume ? resumeFrom(Paths.get(checkpointPath), input) : null;
+            long offset = 0;
+            if (resumed != null) {
+                offset = resumed.getOffset();
+                stats.restore(resumed);
+                if (report != null) {
+                    if (resumed.getReport() == null) {
+                        throw new IllegalStateException("Checkpoint was written without --report; cannot resume a report");
+                    }
+                    report = DatasetQualityReport.fromState(resumed.getReport());
+                }
+                System.out.println("Resuming at byte " + offset + " after " + resumed.getRecords() + " records");
+            }
+
+            try (RecordReader reader = openReader(input, format, offset);
+                 AsyncResultSink sink = outputPath != null ? AsyncResultSink.open(Paths.get(outputPath)) : null) {
+                Checkpointer checkpointer = null;
+                if (checkpointPath != null) {
+                    if (reader instanceof JsonRecordReader && ((JsonRecordReader) reader).isArray()) {
+                        throw new IllegalArgumentException("Checkpoints need NDJSON, CSV or TSV input, not a JSON array");
+                    }
+                    checkpointer = new Checkpointer(Paths.get(checkpointPath), checkpointInterval, input, offset);
+                }
+                validate(engine, reader, threads, stats, report, sink, checkpointer, uniqueChecks);
+                if (checkpointer != null) {
+                    checkpointer.complete();
+                }
+            }
+            List<UniqueKeyCheck.Result> uniqueness = finishUniqueChecks(uniqueChecks);
+            if (outputPath != null) {
+                System.out.println("Results written to: " + outputPath);
+            }
+            if (report != null) {
+                new ObjectMapper().writerWithDefaultPrettyPrinter()
+                    .writeValue(new File(reportPath), withUniqueness(report.toMap(), uniqueness));
+                System.out.println("Report written to: " + reportPath);
+            }
+            if (metrics != null) {
+                printMetrics(metrics);
+            }
+            printMemoStats(validators);
+
         } catch (Exception e) {
             System.err.println("Error: " + e.getMessage());
             e.printStackTrace();
@@ -63,12 +256,358 @@ public class ValidatorCLI {
         }
     }
 
-    private static ValidationConfig loadConfig(String path) throws IOException {
+    /**
+     * Load the config once and serve it over HTTP on the loopback interface
+     * until the process is stopped.
+     */
+    private static void serve(String configPath, int port, int workers, long maxBody, boolean metricsEnabled) {
+        try {
+            ValidationConfig config = loadConfig(configPath);
+            warnUniqueRulesIgnored(config, "--serve");
+            ValidationEngine engine = createEngine(config);
+            if (metricsEnabled) {
+                ValidationMetrics metrics = new ValidationMetrics();
+                engine = metrics.instrument(engine);
+                metrics.registerMBeans();
+            }
+            ValidationServer server = new ValidationServer(engine,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), workers,
+                ValidationServer.DEFAULT_QUEUE_CAPACITY, maxBody);
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close, "validation-server-shutdown"));
+            System.out.println("Using config: " + configPath);
+            System.out.println("Serving on http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":"
+                + server.getPort() + " with " + workers + " workers");
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Open an input by format name, or by file extension when the format is
+     * null: {@code .csv} and {@code .tsv}/{@code .tab} are delimited text with
+     * a header line, anything else is JSON or NDJSON.
+     */
+    public static RecordReader openReader(Path path, String format) throws IOException {
+        return openReader(path, format, 0);
+    }
+
+    /**
+     * Open an input to continue at a record boundary {@code offset} bytes in,
+     * as recorded by a {@link Checkpoint}. JSON input must then be NDJSON.
+     */
+    public static RecordReader openReader(Path path, String format, long offset) throws IOException {
+        String name = path.getFileName().toString().toLowerCase();
+        if (format == null) {
+            format = name.endsWith(".csv") ? "csv"
+                : name.endsWith(".tsv") || name.endsWith(".tab") ? "tsv"
+                : "json";
+        }
+        switch (format.toLowerCase()) {
+            case "csv":
+                return CsvRecordReader.open(path, ',', offset);
+            case "tsv":
+                return CsvRecordReader.open(path, '\t', offset);
+            case "json":
+            case "ndjson":
+                return offset > 0 ? JsonRecordReader.open(path, offset) : JsonRecordReader.open(path);
+            default:
+                throw new IllegalArgumentException("Unknown input format: " + format);
+        }
+    }
+
+    /**
+     * Load the checkpoint to resume from, or null to start from the beginning
+     * if there is none.
+     */
+    private static Checkpoint resumeFrom(Path checkpointPath, Path input) throws IOException {
+        if (!Files.exists(checkpointPath)) {
+            System.out.println("No checkpoint at " + checkpointPath + ", starting from the beginning");
+            return null;
+        }
+        Checkpoint checkpoint = Checkpoint.read(checkpointPath);
+        if (!checkpoint.matches(input)) {
+            throw new IllegalStateException("Input " + input + " changed since checkpoint " + checkpointPath
+                + " was written; delete the checkpoint to start over");
+        }
+        return checkpoint;
+    }
+
+    private static void validate(ValidationEngine engine, RecordReader reader, int threads, RunStats stats,
+                                 DatasetQualityReport report, AsyncResultSink sink, Checkpointer checkpointer,
+                                 List<UniqueKeyCheck> uniqueChecks) {
+        long resumedRecords = stats.records;
+        long start = System.nanoTime();
+
+        // A checkpoint offset is only meaningful if every earlier record has been counted
+        Iterator<Map<String, Object>> records = checkpointer != null ? checkpointer.track(reader) : reader;
+        ValidationEngine.ResultOrder order = checkpointer != null
+            ? ValidationEngine.ResultOrder.ORDERED : ValidationEngine.ResultOrder.UNORDERED;
+        engine.validateAll(records, threads, order,
+            (index, record, result) -> {
+                stats.add(result);
+                if (report != null) {
+                    report.add(record, result);
+                }
+                for (UniqueKeyCheck check : uniqueChecks) {
+                    check.add(record);
+                }
+                if (sink != null) {
+                    sink.onResult(index, record, result);
+                }
+                if (checkpointer != null) {
+                    checkpointer.onResult(stats.records, stats.passed, stats.errors, stats.scoreSum, report);
+                }
+            });
+
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        long bytes = reader.getBytesRead();
+        long validated = stats.records - resumedRecords;
+
+        System.out.println("Records: " + stats.records + " (passed " + stats.passed
+            + ", failed " + (stats.records - stats.passed) + ")");
+        System.out.println("Errors: " + stats.errors);
+        System.out.println("Average quality score: " + (stats.records > 0 ? stats.scoreSum / stats.records : 0.0));
+        System.out.println(String.format("Throughput: %.0f records/sec, %.2f MB/sec (%d bytes in %.3f s, %d threads)",
+            validated / seconds, bytes / 1e6 / seconds, bytes, seconds, threads));
+        if (checkpointer != null) {
+            System.out.println("Checkpoints written: " + checkpointer.getWritten());
+        }
+    }
+
+    /**
+     * Run the duplicate pass of each unique rule and print what it found.
+     */
+    private static List<UniqueKeyCheck.Result> finishUniqueChecks(List<UniqueKeyCheck> checks) throws IOException {
+        List<UniqueKeyCheck.Result> results = new ArrayList<>();
+        for (UniqueKeyCheck check : checks) {
+            UniqueKeyCheck.Result result = check.finish();
+            results.add(result);
+            System.out.println(String.format("Unique %s: %d duplicates among %d keys%s%s",
+                result.getName(), result.getDuplicates(), result.getKeys(),
+                result.getSamples().isEmpty() ? "" : ", e.g. " + String.join(", ", result.getSamples()),
+                result.getSpilledBytes() > 0 ? " (spilled " + result.getSpilledBytes() + " bytes)" : ""));
+        }
+        return results;
+    }
+
+    private static Map<String, Object> withUniqueness(Map<String, Object> report, List<UniqueKeyCheck.Result> results) {
+        if (!results.isEmpty()) {
+            Map<String, Object> uniqueness = new LinkedHashMap<>();
+            for (UniqueKeyCheck.Result result : results) {
+                uniqueness.put(result.getName(), result.toMap());
+            }
+            report.put("uniqueness", uniqueness);
+        }
+        return report;
+    }
+
+    private static void printSummary(MultiFileValidation.Summary summary, int threads) {
+        DatasetQualityReport report = summary.getReport();
+        double seconds = Math.max(summary.getElapsedNanos(), 1) / 1e9;
+        System.out.println("Records: " + report.getRecords() + " (passed " + report.getPassed()
+            + ", failed " + (report.getRecords() - report.getPassed()) + ")");
+        System.out.println("Errors: " + report.getErrors());
+        System.out.println("Average quality score: " + (report.getRecords() > 0 ? report.getScores().getMean() : 0.0));
+        System.out.println(String.format("Throughput: %.0f records/sec, %.2f MB/sec (%d bytes in %.3f s, %d files, %d chunks, %d threads)",
+            report.getRecords() / seconds, summary.getBytes() / 1e6 / seconds, summary.getBytes(), seconds,
+            summary.getFiles(), summary.getChunks(), threads));
+    }
+
+    private static void printEstimate(SampledValidation sampling, QualityEstimate estimate) {
+        System.out.println(String.format("Sampled %d of %d records scanned (%s%s)",
+            estimate.getSampleSize(), sampling.getRecordsScanned(), sampling.getMethod().name().toLowerCase(),
+            sampling.isStoppedEarly() ? ", stopped early at target margin" : ""));
+        int level = (int) Math.round(estimate.getConfidence() * 100);
+        System.out.println(String.format("Estimated pass rate: %.4f (%d%% CI %.4f - %.4f)",
+            estimate.getPassRate(), level, estimate.getPassRateLow(), estimate.getPassRateHigh()));
+        System.out.println(String.format("Estimated mean quality score: %.4f (%d%% CI %.4f - %.4f)",
+            estimate.getMeanScore(), level, estimate.getMeanScoreLow(), estimate.getMeanScoreHigh()));
+    }
+
+    private static void printMetrics(ValidationMetrics metrics) {
+        System.out.println("Rule metrics:");
+        for (RuleMetrics rule : metrics.getRuleMetrics()) {
+            System.out.println(String.format(
+                "  %s: %d runs, %d failed, errors %d/%d/%d/%d (critical/high/medium/low), mean %.2f us, p99 %.2f us",
+                rule.getRuleName(), rule.getInvocations(), rule.getFailures(),
+                rule.getCriticalErrors(), rule.getHighErrors(), rule.getMediumErrors(), rule.getLowErrors(),
+                rule.getMeanLatencyMicros(), rule.getP99LatencyMicros()));
+        }
+    }
+
+    private static void printMemoStats(List<Validator> validators) {
+        boolean header = false;
+        for (Validator validator : validators) {
+            if (!(validator instanceof MemoizingValidator)) {
+                continue;
+            }
+            if (!header) {
+                System.out.println("Memo caches:");
+                header = true;
+            }
+            MemoizingValidator memo = (MemoizingValidator) validator;
+            System.out.println(String.format("  %s: %.1f%% hits (%d/%d), %d entries, %d evictions",
+                memo.getName(), memo.getHitRate() * 100, memo.getHits(), memo.getHits() + memo.getMisses(),
+                memo.getSize(), memo.getEvictions()));
+            if (memo.getFields().size() > 1) {
+                for (String field : memo.getFields()) {
+                    long hits = memo.getHits(field);
+                    long total = hits + memo.getMisses(field);
+                    System.out.println(String.format("    %s: %.1f%% hits (%d/%d), %d entries",
+                        field, total == 0 ? 0.0 : hits * 100.0 / total, hits, total, memo.getSize(field)));
+                }
+            }
+        }
+    }
+
+    private static class RunStats {
+        long records;
+        long passed;
+        long errors;
+        double scoreSum;
+
+        void restore(Checkpoint checkpoint) {
+            records = checkpoint.getRecords();
+            passed = checkpoint.getPassed();
+            errors = checkpoint.getErrors();
+            scoreSum = checkpoint.getScoreSum();
+        }
+
+        void add(ValidationResult result) {
+            records++;
+            if (result.isValid()) {
+                passed++;
+            }
+            errors += result.getErrorCount();
+            scoreSum += result.getQualityScore();
+        }
+    }
+
+    /**
+     * Read a rules YAML file.
+     */
+    public static ValidationConfig loadConfig(String path) throws IOException {
         ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
         return mapper.readValue(new File(path), ValidationConfig.class);
     }
 
-    private static ValidationEngine createEngine(ValidationConfig config) {
+    /**
+     * Reject configs that {@link #createEngine} would build into something
+     * other than what they describe: no rules, unknown rule types, rules
+     * missing the settings their type needs, or no scoring section.
+     *
+     * @throws IllegalArgumentException listing every problem found
+     */
+    public static void checkConfig(ValidationConfig config) {
+        List<String> problems = new ArrayList<>();
+        if (config.getScoring() == null) {
+            problems.add("missing scoring section");
+        } else {
+            try {
+                config.getScoring().getThresholdAsDouble();
+            } catch (NumberFormatException e) {
+                problems.add("scoring threshold is not a number: " + config.getScoring().getThreshold());
+            }
+        }
+        if (config.getRules() == null || config.getRules().isEmpty()) {
+            problems.add("no rules");
+        } else {
+            for (ValidationConfig.RuleConfig rule : config.getRules()) {
+                String label = "rule '" + rule.getName() + "'";
+                if (rule.getType() == null) {
+                    problems.add(label + " has no type");
+                    continue;
+                }
+                switch (rule.getType()) {
+                    case "required":
+                        if (rule.getFields() == null || rule.getFields().isEmpty()) {
+                            problems.add(label + " lists no fields");
+                        }
+                        break;
+                    case "type":
+                        if (rule.getTypes() == null || rule.getTypes().isEmpty()) {
+                            problems.add(label + " lists no types");
+                        }
+                        break;
+                    case "range":
+                        if (rule.getField() == null) {
+                            problems.add(label + " has no field");
+                        }
+                        break;
+                    case "pattern":
+                        if (rule.getField() == null) {
+                            problems.add(label + " has no field");
+                        }
+                        if (rule.getPattern() == null) {
+                            problems.add(label + " has no pattern");
+                        } else {
+                            try {
+                                Pattern.compile(rule.getPattern());
+                            } catch (PatternSyntaxException e) {
+                                problems.add(label + " has an invalid pattern: " + e.getDescription());
+                            }
+                        }
+                        break;
+                    case "unique":
+                        if (rule.getField() == null && (rule.getFields() == null || rule.getFields().isEmpty())) {
+                            problems.add(label + " has no field or fields");
+                        }
+                        if (rule.getMemoryBudgetMb() != null && rule.getMemoryBudgetMb() < 1) {
+                            problems.add(label + " has memoryBudgetMb below 1");
+                        }
+                        break;
+                    case "lookup":
+                        if (rule.getField() == null) {
+                            problems.add(label + " has no field");
+                        }
+                        if (rule.getKeyFile() == null && rule.getIndexFile() == null) {
+                            problems.add(label + " has no keyFile or indexFile");
+                        }
+                        break;
+                    default:
+                        problems.add(label + " has unknown type '" + rule.getType() + "'");
+                }
+                String unmemoizable = rule.getMemoize() ? whyNotMemoizable(rule.getType()) : null;
+                if (unmemoizable != null) {
+                    problems.add(label + " cannot be memoized: " + unmemoizable);
+                }
+                if (rule.getMemoizeCapacity() != null && rule.getMemoizeCapacity() < 1) {
+                    problems.add(label + " has memoizeCapacity below 1");
+                }
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException("Invalid config: " + String.join("; ", problems));
+        }
+    }
+
+    /**
+     * Why rules of a type cannot be memoized, or null if each of their fields
+     * can be cached on its own.
+     */
+    private static String whyNotMemoizable(String type) {
+        switch (type) {
+            case "type":
+            case "range":
+            case "pattern":
+            case "lookup":
+                return null;
+            case "required":
+                return "required rules depend on field presence";
+            case "unique":
+                return "unique rules are checked across the dataset";
+            default:
+                return "its fields are not checked independently";
+        }
+    }
+
+    /**
+     * Build an engine with one validator per supported rule of the config.
+     */
+    public static ValidationEngine createEngine(ValidationConfig config) {
         List<Validator> validators = new ArrayList<>();
         
         for (ValidationConfig.RuleConfig ruleConfig : config.getRules()) {
@@ -85,10 +624,23 @@ public class ValidatorCLI {
 
         ValidationEngine.ValidationMode mode = parseValidationMode(config.getMode());
         
-        return new ValidationEngine(validators, scorer, mode);
+        return new ValidationEngine(validators, scorer, mode, config.getFailFast(), config.getAdaptiveOrdering());
     }
 
-    private static Validator createValidator(ValidationConfig.RuleConfig ruleConfig) {
+    /**
+     * Build the validator for one rule, memoized if the rule asks for it, or
+     * null if the rule type is unknown.
+     */
+    public static Validator createValidator(ValidationConfig.RuleConfig ruleConfig) {
+        Validator validator = createPlainValidator(ruleConfig);
+        if (validator != null && ruleConfig.getMemoize()) {
+            Integer capacity = ruleConfig.getMemoizeCapacity();
+            return MemoizingValidator.wrap(validator, capacity != null ? capacity : MemoizingValidator.DEFAULT_CAPACITY);
+        }
+        return validator;
+    }
+
+    private static Validator createPlainValidator(ValidationConfig.RuleConfig ruleConfig) {
         String type = ruleConfig.getType();
         int priority = ruleConfig.getPriorityAsInt();
 
@@ -119,12 +671,90 @@ public class ValidatorCLI {
                     priority
                 );
 
+            case "pattern":
+                return new PatternValidator(
+                    ruleConfig.getName(),
+                    ruleConfig.getField(),
+                    ruleConfig.getPattern(),
+                    priority
+                );
+
+            case "unique":
+                return null; // checked across the dataset, see createUniqueChecks
+
+            case "lookup":
+                return new LookupValidator(
+                    ruleConfig.getName(),
+                    ruleConfig.getField(),
+                    openLookupIndex(ruleConfig),
+                    ruleConfig.getKeyFile() != null ? ruleConfig.getKeyFile() : ruleConfig.getIndexFile(),
+                    priority
+                );
+
             default:
                 System.err.println("Unknown validator type: " + type);
                 return null;
         }
     }
 
+    /**
+     * One dataset-wide duplicate check per unique rule of the config.
+     */
+    public static List<UniqueKeyCheck> createUniqueChecks(ValidationConfig config) {
+        List<UniqueKeyCheck> checks = new ArrayList<>();
+        for (ValidationConfig.RuleConfig rule : config.getRules()) {
+            if (!"unique".equals(rule.getType())) {
+                continue;
+            }
+            List<String> fields = rule.getFields() != null && !rule.getFields().isEmpty()
+                ? rule.getFields() : Collections.singletonList(rule.getField());
+            checks.add(new UniqueKeyCheck(
+                rule.getName(),
+                fields,
+                rule.getMemoryBudgetMb() != null ? rule.getMemoryBudgetMb() : UniqueKeyCheck.DEFAULT_MEMORY_MB,
+                Paths.get(rule.getSpillDir() != null ? rule.getSpillDir() : System.getProperty("java.io.tmpdir")),
+                rule.getSampleDuplicates() != null ? rule.getSampleDuplicates() : UniqueKeyCheck.DEFAULT_SAMPLES
+            ));
+        }
+        return checks;
+    }
+
+    /**
+     * Warn on stderr that a mode validating records one at a time (the server,
+     * hot reload, the tenant registry) does not enforce the config's unique
+     * rules: {@link #createEngine} leaves them out, as only a whole input can
+     * show a duplicate.
+     */
+    public static void warnUniqueRulesIgnored(ValidationConfig config, String mode) {
+        List<String> names = new ArrayList<>();
+        for (ValidationConfig.RuleConfig rule : config.getRules()) {
+            if ("unique".equals(rule.getType())) {
+                names.add(rule.getName());
+            }
+        }
+        if (!names.isEmpty()) {
+            System.err.println("Warning: " + mode + " ignores unique rules " + String.join(", ", names)
+                + "; they are only checked when validating files");
+        }
+    }
+
+    /**
+     * Map a lookup rule's index, building it from the key file the first time.
+     */
+    private static LookupIndex openLookupIndex(ValidationConfig.RuleConfig ruleConfig) {
+        try {
+            if (ruleConfig.getKeyFile() == null) {
+                return LookupIndex.open(Paths.get(ruleConfig.getIndexFile()));
+            }
+            Path keyFile = Paths.get(ruleConfig.getKeyFile());
+            Path indexFile = ruleConfig.getIndexFile() != null
+                ? Paths.get(ruleConfig.getIndexFile()) : LookupIndex.defaultIndexFile(keyFile);
+            return LookupIndex.openOrBuild(keyFile, indexFile, ruleConfig.getVerify());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open lookup index for rule '" + ruleConfig.getName() + "'", e);
+        }
+    }
+
     private static QualityScorer.ScoringMode parseScoringMode(String mode) {
         if (mode == null) {
             return QualityScorer.ScoringMode.AVERAGE;
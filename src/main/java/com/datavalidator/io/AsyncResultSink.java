@@ -0,0 +1,287 @@
+package com.datavalidator.io;
+
+import com.datavalidator.core.ValidationEngine;
+import com.datavalidator.core.ValidationResult;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes per-record results on a dedicated thread. Producers hand results to
+ * a bounded queue; the writer drains it in batches into a large buffered
+ * stream as NDJSON or CSV. When the writer falls behind, the queue fills and
+ * {@link #onResult} blocks, so a slow disk throttles validation instead of
+ * growing the heap. Messages are rendered on the writer thread.
+ * <p>
+ * Only the result is queued, never the record, so readers may reuse records.
+ * A write failure stops the writer and is rethrown to the next producer call
+ * or from {@link #close()}.
+ */
+public class AsyncResultSink implements ValidationEngine.ResultHandler, Closeable {
+    public static final int DEFAULT_CAPACITY = 8192;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MAX_BATCH = 1024;
+    private static final Entry END = new Entry(-1, null);
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private static final class Entry {
+        final long index;
+        final ValidationResult result;
+
+        Entry(long index, ValidationResult result) {
+            this.index = index;
+            this.result = result;
+        }
+    }
+
+    private final BlockingQueue<Entry> queue;
+    private final OutputStream out;
+    private final Format format;
+    private final Thread writer;
+    private volatile Throwable failure;
+    private volatile long written;
+    private long blockedNanos; // producer side only
+    private boolean closed;
+
+    public AsyncResultSink(OutputStream out, Format format, int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+        this.format = format;
+        this.writer = new Thread(this::drain, "result-sink");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Write to a file, as CSV if its name ends in {@code .csv} and NDJSON otherwise.
+     */
+    public static AsyncResultSink open(Path path) throws IOException {
+        Format format = path.getFileName().toString().toLowerCase().endsWith(".csv") ? Format.CSV : Format.NDJSON;
+        return new AsyncResultSink(Files.newOutputStream(path), format, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Queue a result, blocking while the queue is full.
+     */
+    @Override
+    public void onResult(long index, Map<String, Object> record, ValidationResult result) {
+        checkFailure();
+        Entry entry = new Entry(index, result);
+        if (queue.offer(entry)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            while (!queue.offer(entry, 100, TimeUnit.MILLISECONDS)) {
+                checkFailure(); // the writer may have died while we waited
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while queueing a result"));
+        } finally {
+            blockedNanos += System.nanoTime() - start;
+        }
+    }
+
+    private void checkFailure() {
+        Throwable cause = failure;
+        if (cause != null) {
+            throw cause instanceof IOException
+                ? new UncheckedIOException((IOException) cause)
+                : new IllegalStateException("Result writer failed", cause);
+        }
+    }
+
+    /**
+     * Results written so far.
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    /**
+     * Time producers spent blocked on a full queue. Read from the producer thread.
+     */
+    public long getBlockedNanos() {
+        return blockedNanos;
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH);
+        try (ResultWriter resultWriter = format == Format.CSV ? new CsvWriter(out) : new NdjsonWriter(out)) {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+                for (Entry entry : batch) {
+                    if (entry == END) {
+                        return;
+                    }
+                    resultWriter.write(entry.index, entry.result);
+                    written++;
+                }
+                batch.clear();
+            }
+        } catch (Throwable t) {
+            failure = t;
+            queue.clear(); // unblock producers; they see the failure next
+        }
+    }
+
+    /**
+     * Write everything queued so far, stop the writer and close the stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            while (failure == null && !queue.offer(END, 100, TimeUnit.MILLISECONDS)) {
+                // Writer is still draining a full queue
+            }
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing result sink");
+        }
+        Throwable cause = failure;
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        }
+        if (cause != null) {
+            throw new IOException("Result writer failed", cause);
+        }
+    }
+
+    /**
+     * Write a result as one JSON object: index (omitted when negative), valid,
+     * score and the errors with rule, field, code, severity and message.
+     */
+    public static void writeJson(JsonGenerator generator, long index, ValidationResult result) throws IOException {
+        generator.writeStartObject();
+        if (index >= 0) {
+            generator.writeNumberField("index", index);
+        }
+        generator.writeBooleanField("valid", result.isValid());
+        generator.writeNumberField("score", result.getQualityScore());
+        generator.writeArrayFieldStart("errors");
+        for (ValidationResult.ValidationError error : result.getErrors()) {
+            generator.writeStartObject();
+            generator.writeStringField("rule", error.getRuleName());
+            generator.writeStringField("field", error.getField());
+            generator.writeStringField("code", error.getCode().name());
+            generator.writeStringField("severity", error.getSeverity().name());
+            generator.writeStringField("message", error.getMessage());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private interface ResultWriter extends Closeable {
+        void write(long index, ValidationResult result) throws IOException;
+    }
+
+    /**
+     * One object per line: index, valid, score and the errors with code, severity and message.
+     */
+    private static final class NdjsonWriter implements ResultWriter {
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            this.generator = new JsonFactory().createGenerator(out, JsonEncoding.UTF8);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(long index, ValidationResult result) throws IOException {
+            writeJson(generator, index, result);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close(); // flushes and closes the target stream
+        }
+    }
+
+    /**
+     * One row per record; errors are joined as {@code rule:field:CODE} with {@code ;}.
+     */
+    private static final class CsvWriter implements ResultWriter {
+        private final Writer writer;
+        private final StringBuilder line = new StringBuilder(256);
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            writer.write("index,valid,score,error_count,errors\n");
+        }
+
+        @Override
+        public void write(long index, ValidationResult result) throws IOException {
+            line.setLength(0);
+            line.append(index).append(',')
+                .append(result.isValid()).append(',')
+                .append(result.getQualityScore()).append(',')
+                .append(result.getErrorCount()).append(',');
+
+            List<ValidationResult.ValidationError> errors = result.getErrors();
+            if (!errors.isEmpty()) {
+                line.append('"');
+                for (int i = 0; i < errors.size(); i++) {
+                    ValidationResult.ValidationError error = errors.get(i);
+                    if (i > 0) {
+                        line.append(';');
+                    }
+                    appendQuoted(error.getRuleName());
+                    line.append(':');
+                    appendQuoted(error.getField());
+                    line.append(':').append(error.getCode().name());
+                }
+                line.append('"');
+            }
+            line.append('\n');
+            writer.append(line);
+        }
+
+        private void appendQuoted(String text) {
+            if (text == null) {
+                return;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c == '\n' || c == '\r' ? ' ' : c);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
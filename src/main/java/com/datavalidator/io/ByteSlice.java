@@ -0,0 +1,52 @@
+package com.datavalidator.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A field's bytes inside a mapped buffer, viewed as characters without
+ * copying. {@link #charAt} maps each byte to one char, which is exact for
+ * ASCII; {@link #toString()} decodes UTF-8 properly.
+ */
+final class ByteSlice implements CharSequence {
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int end;
+
+    ByteSlice(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (buffer.get(start + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        if (from < 0 || to > length() || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") of " + length());
+        }
+        return new ByteSlice(buffer, start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+        return decode(buffer, start, end);
+    }
+
+    static String decode(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,265 @@
+package com.datavalidator.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A memory-mapped CSV or TSV file with a header line. Header names become
+ * record field names, so they must match the field names used in the rules.
+ * The data can be read by one {@link CsvRecordReader} or split into
+ * newline-aligned ranges read by several readers in parallel. Quoted fields
+ * may contain delimiters and doubled quotes but not line breaks.
+ */
+public final class CsvFile implements Closeable {
+    static final int DEFAULT_WINDOW = 256 << 20; // bytes mapped at a time by a reader
+
+    private final FileChannel channel;
+    private final byte delimiter;
+    private final long size;
+    private final String[] names;
+    private final Map<String, Integer> columns;
+    private final long dataStart;
+
+    private CsvFile(FileChannel channel, byte delimiter) throws IOException {
+        this.channel = channel;
+        this.delimiter = delimiter;
+        this.size = channel.size();
+
+        long headerEnd = lineEnd(0);
+        if (headerEnd > Integer.MAX_VALUE) {
+            throw new IOException("CSV header line is too long");
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, headerEnd + 1));
+        this.names = parseHeader(header, (int) headerEnd);
+        this.columns = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            columns.putIfAbsent(names[i], i);
+        }
+        this.dataStart = Math.min(size, headerEnd + 1);
+    }
+
+    /**
+     * Open a file, choosing tab as the delimiter for {@code .tsv} and
+     * {@code .tab} files and comma otherwise.
+     */
+    public static CsvFile open(Path path) throws IOException {
+        return open(path, delimiterFor(path));
+    }
+
+    public static CsvFile open(Path path, char delimiter) throws IOException {
+        if (delimiter > 0x7F || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Unsupported CSV delimiter: " + delimiter);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new CsvFile(channel, (byte) delimiter);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static char delimiterFor(Path path) {
+        String name = path.getFileName().toString().toLowerCase();
+        return name.endsWith(".tsv") || name.endsWith(".tab") ? '\t' : ',';
+    }
+
+    public List<String> getHeader() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * A reader over all data lines.
+     */
+    public CsvRecordReader reader() {
+        return new CsvRecordReader(this, dataStart, size, DEFAULT_WINDOW, false);
+    }
+
+    long dataStart() {
+        return dataStart;
+    }
+
+    /**
+     * Readers over up to {@code parts} disjoint byte ranges that together
+     * cover all data lines. Every range starts at the beginning of a line.
+     * The readers share this file, which must stay open while they are used.
+     */
+    public List<CsvRecordReader> split(int parts) throws IOException {
+        List<CsvRecordReader> readers = new ArrayList<>(parts);
+        long length = size - dataStart;
+        long start = dataStart;
+        for (int i = 1; i <= parts && start < size; i++) {
+            long end = i == parts ? size : lineStartAtOrAfter(dataStart + length * i / parts);
+            if (end > start) {
+                readers.add(new CsvRecordReader(this, start, end, DEFAULT_WINDOW, false));
+                start = end;
+            }
+        }
+        return readers;
+    }
+
+    /**
+     * The first line start at or after {@code position}.
+     */
+    long lineStartAtOrAfter(long position) throws IOException {
+        if (position <= dataStart) {
+            return dataStart;
+        }
+        return Math.min(size, lineEnd(position - 1) + 1);
+    }
+
+    /**
+     * Offset of the first newline at or after {@code position}, or the file size.
+     */
+    private long lineEnd(long position) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(8192);
+        long offset = position;
+        while (offset < size) {
+            chunk.clear();
+            int read = channel.read(chunk, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (chunk.get(i) == '\n') {
+                    return offset + i;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    private String[] parseHeader(ByteBuffer buffer, int end) throws IOException {
+        if (size == 0) {
+            return new String[0];
+        }
+        int start = 0;
+        // Skip a UTF-8 byte order mark
+        if (end >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) {
+            start = 3;
+        }
+        LineScanner scanner = new LineScanner(delimiter);
+        int count = scanner.scan(buffer, start, end, 0);
+        int[] bounds = scanner.bounds;
+        byte[] kinds = scanner.kinds;
+
+        String[] header = new String[count];
+        for (int i = 0; i < count; i++) {
+            String name = ByteSlice.decode(buffer, bounds[2 * i], bounds[2 * i + 1]);
+            header[i] = kinds[i] == CsvRecord.QUOTED_ESCAPES ? name.replace("\"\"", "\"") : name.trim();
+        }
+        return header;
+    }
+
+    FileChannel channel() {
+        return channel;
+    }
+
+    byte delimiter() {
+        return delimiter;
+    }
+
+    String[] names() {
+        return names;
+    }
+
+    Map<String, Integer> columns() {
+        return columns;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Splits one line into field bounds. Reused across lines; the arrays are
+     * handed to each record, so a fresh pair is allocated per line.
+     */
+    static final class LineScanner {
+        private final byte delimiter;
+        int[] bounds = new int[16];
+        byte[] kinds = new byte[8];
+        private int expected = 8;
+
+        LineScanner(byte delimiter) {
+            this.delimiter = delimiter;
+        }
+
+        /**
+         * Scan {@code [start, end)} of the buffer, where {@code end} is the
+         * newline or end of input. A trailing carriage return is ignored.
+         * Returns the number of fields.
+         */
+        int scan(ByteBuffer buffer, int start, int end, long lineOffset) throws IOException {
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            bounds = new int[2 * expected];
+            kinds = new byte[expected];
+            int count = 0;
+            int pos = start;
+            while (true) {
+                if (count == kinds.length) {
+                    bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                    kinds = Arrays.copyOf(kinds, kinds.length * 2);
+                }
+                if (pos < end && buffer.get(pos) == '"') {
+                    int fieldStart = pos + 1;
+                    byte kind = CsvRecord.QUOTED;
+                    pos = fieldStart;
+                    while (true) {
+                        if (pos >= end) {
+                            throw new IOException("Unterminated quoted field in line at byte " + lineOffset);
+                        }
+                        if (buffer.get(pos) == '"') {
+                            if (pos + 1 < end && buffer.get(pos + 1) == '"') {
+                                kind = CsvRecord.QUOTED_ESCAPES;
+                                pos += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        pos++;
+                    }
+                    bounds[2 * count] = fieldStart;
+                    bounds[2 * count + 1] = pos;
+                    kinds[count++] = kind;
+                    pos++; // closing quote
+                    if (pos < end && buffer.get(pos) != delimiter) {
+                        throw new IOException("Unexpected character after quoted field in line at byte " + lineOffset);
+                    }
+                } else {
+                    int fieldStart = pos;
+                    while (pos < end && buffer.get(pos) != delimiter) {
+                        pos++;
+                    }
+                    bounds[2 * count] = fieldStart;
+                    bounds[2 * count + 1] = pos;
+                    kinds[count++] = CsvRecord.PLAIN;
+                }
+                if (pos >= end) {
+                    expected = Math.max(expected, count);
+                    return count;
+                }
+                pos++; // delimiter
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.datavalidator.io;
+
+import com.datavalidator.core.NumberParser;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * One CSV line as a read-only map from header names to values. Only field
+ * offsets are recorded while scanning; a value is decoded the first time it
+ * is read, and cached. Values are typed the way the JSON reader would type
+ * them: unquoted integers become Integer, Long or BigInteger, decimals Double,
+ * {@code true}/{@code false} Boolean, and an empty unquoted field is null.
+ * Quoted fields and numbers with leading zeros (zip codes, ids) stay strings.
+ * Columns beyond the end of a short line are absent.
+ */
+public final class CsvRecord extends AbstractMap<String, Object> {
+    static final byte PLAIN = 0;
+    static final byte QUOTED = 1;          // "..." without escaped quotes
+    static final byte QUOTED_ESCAPES = 2;  // "..." containing ""
+
+    private static final Object UNREAD = new Object();
+
+    private final String[] names;
+    private final Map<String, Integer> columns;
+    private final ByteBuffer buffer;
+    private final int[] bounds; // start and end offset per field, excluding quotes
+    private final byte[] kinds;
+    private final int count;
+    private Object[] values; // created on first read
+
+    CsvRecord(String[] names, Map<String, Integer> columns, ByteBuffer buffer, int[] bounds, byte[] kinds, int count) {
+        this.names = names;
+        this.columns = columns;
+        this.buffer = buffer;
+        this.bounds = bounds;
+        this.kinds = kinds;
+        this.count = Math.min(count, names.length);
+    }
+
+    /**
+     * Number of header columns present on this line.
+     */
+    public int getColumnCount() {
+        return count;
+    }
+
+    /**
+     * The column's raw text as a zero-copy view of the mapped input (quotes
+     * removed, escaped quotes left doubled), or null if the column is absent.
+     */
+    public CharSequence getSlice(String name) {
+        Integer column = columns.get(name);
+        return column == null ? null : getSlice(column);
+    }
+
+    public CharSequence getSlice(int column) {
+        if (column >= count) {
+            return null;
+        }
+        return new ByteSlice(buffer, bounds[2 * column], bounds[2 * column + 1]);
+    }
+
+    /**
+     * The typed value of a column, decoding it on first access.
+     */
+    public Object get(int column) {
+        if (column >= count) {
+            return null;
+        }
+        if (values == null) {
+            values = new Object[count];
+            Arrays.fill(values, UNREAD);
+        }
+        Object value = values[column];
+        if (value == UNREAD) {
+            value = decode(column);
+            values[column] = value;
+        }
+        return value;
+    }
+
+    private Object decode(int column) {
+        int start = bounds[2 * column];
+        int end = bounds[2 * column + 1];
+        switch (kinds[column]) {
+            case QUOTED:
+                return ByteSlice.decode(buffer, start, end);
+            case QUOTED_ESCAPES:
+                return ByteSlice.decode(buffer, start, end).replace("\"\"", "\"");
+            default:
+                return start == end ? null : infer(buffer, start, end);
+        }
+    }
+
+    /**
+     * Type an unquoted field from its bytes. Only oversized integers, and
+     * strings themselves, go through a String.
+     */
+    static Object infer(ByteBuffer buffer, int start, int end) {
+        int i = start;
+        boolean negative = buffer.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        int digitsStart = i;
+        // Accumulate negatively, as Long.parseLong does, so Long.MIN_VALUE fits too
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long value = 0;
+        boolean overflow = false;
+        while (i < end && isDigit(buffer.get(i))) {
+            int digit = buffer.get(i) - '0';
+            if (!overflow && (value < limit / 10 || value * 10 < limit + digit)) {
+                overflow = true;
+            }
+            value = value * 10 - digit;
+            i++;
+        }
+        int digits = i - digitsStart;
+
+        if (digits == 0) {
+            if (!negative) {
+                if (matches(buffer, start, end, "true")) {
+                    return Boolean.TRUE;
+                }
+                if (matches(buffer, start, end, "false")) {
+                    return Boolean.FALSE;
+                }
+            }
+            return ByteSlice.decode(buffer, start, end);
+        }
+        if (digits > 1 && buffer.get(digitsStart) == '0' && (i == end || buffer.get(i) != '.')) {
+            return ByteSlice.decode(buffer, start, end); // leading zeros: an identifier, not a number
+        }
+        if (i == end) {
+            if (overflow) {
+                return new BigInteger(ByteSlice.decode(buffer, start, end));
+            }
+            long signed = negative ? value : -value;
+            return signed == (int) signed ? (Object) (int) signed : (Object) signed;
+        }
+        if (isDecimalTail(buffer, i, end)) {
+            // Already a valid JSON-style number, which NumberParser always accepts
+            NumberParser parser = NumberParser.local();
+            parser.parseDouble(new ByteSlice(buffer, start, end));
+            return parser.doubleValue();
+        }
+        return ByteSlice.decode(buffer, start, end);
+    }
+
+    /**
+     * {@code .digits} and/or {@code e[+-]digits}, as in a JSON number.
+     */
+    private static boolean isDecimalTail(ByteBuffer buffer, int i, int end) {
+        if (buffer.get(i) == '.') {
+            int from = ++i;
+            while (i < end && isDigit(buffer.get(i))) {
+                i++;
+            }
+            if (i == from) {
+                return false;
+            }
+        }
+        if (i < end && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+            i++;
+            if (i < end && (buffer.get(i) == '+' || buffer.get(i) == '-')) {
+                i++;
+            }
+            int from = i;
+            while (i < end && isDigit(buffer.get(i))) {
+                i++;
+            }
+            if (i == from) {
+                return false;
+            }
+        }
+        return i == end;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean matches(ByteBuffer buffer, int start, int end, String literal) {
+        if (end - start != literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (buffer.get(start + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Integer column = columns.get(key);
+        return column == null ? null : get(column.intValue());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Integer column = columns.get(key);
+        return column != null && column < count;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Object>>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new Iterator<Map.Entry<String, Object>>() {
+                    private int column;
+
+                    @Override
+                    public boolean hasNext() {
+                        return column < count;
+                    }
+
+                    @Override
+                    public Map.Entry<String, Object> next() {
+                        if (column >= count) {
+                            throw new NoSuchElementException();
+                        }
+                        int current = column++;
+                        return new SimpleImmutableEntry<>(names[current], get(current));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+}
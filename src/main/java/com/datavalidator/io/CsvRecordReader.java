@@ -0,0 +1,229 @@
+package com.datavalidator.io;
+
+import com.datavalidator.core.FieldLayout;
+import com.datavalidator.core.SlotRecord;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the lines of one byte range of a {@link CsvFile} as {@link CsvRecord}s.
+ * The range is mapped a window at a time, each window ending at a newline,
+ * and delimiters are scanned directly in the mapped buffer. Blank lines are
+ * skipped.
+ */
+public class CsvRecordReader implements RecordReader {
+    private final CsvFile file;
+    private final long start;
+    private final long end;
+    private final int windowSize;
+    private final boolean ownsFile;
+    private final CsvFile.LineScanner scanner;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long unmapped; // start of the part of the range not mapped yet
+    private int windowLimit;
+    private int pos;
+    private CsvRecord next;
+
+    // Column-to-slot cache for readInto
+    private FieldLayout cachedLayout;
+    private int[] cachedSlots;
+
+    CsvRecordReader(CsvFile file, long start, long end, int windowSize, boolean ownsFile) {
+        this.file = file;
+        this.start = start;
+        this.end = end;
+        this.windowSize = windowSize;
+        this.ownsFile = ownsFile;
+        this.scanner = new CsvFile.LineScanner(file.delimiter());
+        this.windowStart = start;
+        this.unmapped = start;
+    }
+
+    /**
+     * Read a whole file; closing the reader closes the file.
+     */
+    public static CsvRecordReader open(Path path) throws IOException {
+        return open(path, CsvFile.delimiterFor(path));
+    }
+
+    public static CsvRecordReader open(Path path, char delimiter) throws IOException {
+        return owning(CsvFile.open(path, delimiter), CsvFile.DEFAULT_WINDOW);
+    }
+
+    /**
+     * Read a file starting {@code offset} bytes past its header, which must be
+     * the start of a line such as a {@link #getBytesRead()} value of an
+     * earlier reader. Offsets count from the new start.
+     */
+    public static CsvRecordReader open(Path path, char delimiter, long offset) throws IOException {
+        CsvFile file = CsvFile.open(path, delimiter);
+        long from = Math.min(file.dataStart() + offset, file.size());
+        return new CsvRecordReader(file, from, file.size(), CsvFile.DEFAULT_WINDOW, true);
+    }
+
+    static CsvRecordReader owning(CsvFile file, int windowSize) {
+        return new CsvRecordReader(file, file.dataStart(), file.size(), windowSize, true);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        CsvRecord record = next;
+        next = null;
+        return record;
+    }
+
+    /**
+     * Read the next line into a reusable slot record, decoding only the
+     * columns the layout has slots for. Returns false at end of range.
+     * Do not mix with {@link #next()} on the same reader.
+     */
+    public boolean readInto(SlotRecord record) throws IOException {
+        if (next != null) {
+            throw new IllegalStateException("readInto cannot be mixed with hasNext/next");
+        }
+        CsvRecord line = readRecord();
+        if (line == null) {
+            return false;
+        }
+
+        record.clear();
+        FieldLayout layout = record.getLayout();
+        if (layout != cachedLayout) {
+            String[] names = file.names();
+            cachedLayout = layout;
+            cachedSlots = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                cachedSlots[i] = layout.slotOf(names[i]);
+            }
+        }
+        String[] names = file.names();
+        for (int column = 0; column < line.getColumnCount(); column++) {
+            int slot = cachedSlots[column];
+            if (slot >= 0) {
+                record.set(slot, line.get(column));
+            } else if (layout.isOpen()) {
+                record.setExtra(names[column], line.get(column));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skip the next line by finding its newline, without scanning its fields.
+     */
+    @Override
+    public boolean skip() {
+        if (next != null) {
+            next = null;
+            return true;
+        }
+        try {
+            return nextLine() >= 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CsvRecord readRecord() throws IOException {
+        int lineStart = nextLine();
+        if (lineStart < 0) {
+            return null;
+        }
+        int count = scanner.scan(window, lineStart, pos - 1, windowStart + lineStart);
+        return new CsvRecord(file.names(), file.columns(), window, scanner.bounds, scanner.kinds, count);
+    }
+
+    /**
+     * Move past the next non-blank line and return its start in the current
+     * window, or -1 at end of range. The line ends at {@code pos - 1}.
+     */
+    private int nextLine() throws IOException {
+        while (true) {
+            if (window == null || pos >= windowLimit) {
+                if (!mapNextWindow()) {
+                    return -1;
+                }
+            }
+            int lineEnd = pos;
+            while (lineEnd < windowLimit && window.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int lineStart = pos;
+            pos = lineEnd + 1;
+            if (lineEnd == lineStart || (lineEnd == lineStart + 1 && window.get(lineStart) == '\r')) {
+                continue; // blank line
+            }
+            return lineStart;
+        }
+    }
+
+    /**
+     * Map the next window of the range, trimmed back to its last newline
+     * unless it reaches the end of the range.
+     */
+    private boolean mapNextWindow() throws IOException {
+        long from = unmapped;
+        if (from >= end) {
+            window = null;
+            return false;
+        }
+        long length = Math.min(end - from, windowSize);
+        MappedByteBuffer mapped = file.channel().map(FileChannel.MapMode.READ_ONLY, from, length);
+        int limit = (int) length;
+        if (from + length < end) {
+            while (limit > 0 && mapped.get(limit - 1) != '\n') {
+                limit--;
+            }
+            if (limit == 0) {
+                throw new IOException("Line at byte " + from + " is longer than the " + windowSize + " byte window");
+            }
+        }
+        window = mapped;
+        windowStart = from;
+        unmapped = from + limit;
+        windowLimit = limit;
+        pos = 0;
+        return true;
+    }
+
+    /**
+     * Bytes of this reader's range consumed so far.
+     */
+    @Override
+    public long getBytesRead() {
+        if (window == null) {
+            return unmapped - start;
+        }
+        return Math.min(windowStart + pos, end) - start;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        if (ownsFile) {
+            file.close();
+        }
+    }
+}
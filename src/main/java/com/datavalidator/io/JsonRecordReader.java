@@ -0,0 +1,296 @@
+package com.datavalidator.io;
+
+import com.datavalidator.core.FieldLayout;
+import com.datavalidator.core.SlotRecord;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams records from a top-level JSON array or from newline-delimited JSON.
+ * Only the record currently being returned is materialized; the rest of the
+ * input stays on disk. {@link #readInto(SlotRecord)} fills a reusable slot
+ * record instead of building a map per record.
+ */
+public class JsonRecordReader implements RecordReader {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE =
+        new TypeReference<Map<String, Object>>() {};
+
+    private final JsonParser parser;
+    private final boolean arrayMode; // true for [ {...}, ... ], false for NDJSON
+    private Map<String, Object> next;
+    private boolean positioned; // parser already sits on the next record's START_OBJECT
+    private boolean finished;
+
+    // Field-position cache for readInto, see slotFor
+    private FieldLayout cachedLayout;
+    private String[] cachedNames;
+    private int[] cachedSlots;
+
+    public JsonRecordReader(InputStream in) throws IOException {
+        this.parser = MAPPER.getFactory().createParser(in);
+        JsonToken first = parser.nextToken();
+        if (first == null) {
+            this.arrayMode = false;
+            this.finished = true;
+        } else if (first == JsonToken.START_ARRAY) {
+            this.arrayMode = true;
+        } else if (first == JsonToken.START_OBJECT) {
+            this.arrayMode = false;
+            this.positioned = true;
+        } else {
+            parser.close();
+            throw new IOException("Expected a JSON array or object at start of input but found " + first);
+        }
+    }
+
+    public static JsonRecordReader open(Path path) throws IOException {
+        return new JsonRecordReader(Files.newInputStream(path));
+    }
+
+    /**
+     * Read newline-delimited JSON starting {@code offset} bytes into the file,
+     * which must be a record boundary such as a {@link #getBytesRead()} value
+     * of an earlier reader. Offsets count from the new start.
+     */
+    public static JsonRecordReader open(Path path, long offset) throws IOException {
+        return open(path, offset, Long.MAX_VALUE);
+    }
+
+    /**
+     * Read the newline-delimited records in bytes {@code [start, end)} of a
+     * file. Both bounds must be record boundaries, such as line starts.
+     */
+    public static JsonRecordReader open(Path path, long start, long end) throws IOException {
+        SeekableByteChannel channel = Files.newByteChannel(path);
+        try {
+            channel.position(start);
+            InputStream in = Channels.newInputStream(channel);
+            return new JsonRecordReader(end == Long.MAX_VALUE ? in : new RangeInputStream(in, end - start));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Stream that ends after a fixed number of bytes of the underlying one.
+     */
+    private static final class RangeInputStream extends FilterInputStream {
+        private long remaining;
+
+        RangeInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long skipped = in.skip(Math.min(count, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    /**
+     * Whether the input is a top-level JSON array rather than newline-delimited JSON.
+     */
+    public boolean isArray() {
+        return arrayMode;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map<String, Object> record = next;
+        next = null;
+        return record;
+    }
+
+    /**
+     * Skip the next record by tokenizing past it, without binding a map or
+     * decoding its strings.
+     */
+    @Override
+    public boolean skip() {
+        if (next != null) {
+            next = null;
+            return true;
+        }
+        try {
+            if (finished || !advanceToRecord()) {
+                return false;
+            }
+            parser.skipChildren();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Read the next record straight into the slots of a reusable record,
+     * skipping fields the layout has no slot for. Returns false at end of input.
+     * Do not mix with {@link #next()} on the same reader.
+     */
+    public boolean readInto(SlotRecord record) throws IOException {
+        if (next != null) {
+            throw new IllegalStateException("readInto cannot be mixed with hasNext/next");
+        }
+        if (finished || !advanceToRecord()) {
+            return false;
+        }
+
+        record.clear();
+        FieldLayout layout = record.getLayout();
+        if (layout != cachedLayout) {
+            cachedLayout = layout;
+            cachedNames = new String[layout.size()];
+            cachedSlots = new int[layout.size()];
+        }
+
+        int position = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            int slot = slotFor(layout, fieldName, position++);
+            if (slot >= 0) {
+                record.set(slot, readValue());
+            } else if (layout.isOpen()) {
+                record.setExtra(fieldName, readValue());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolve a field name to its slot. Records in a file almost always list
+     * their fields in the same order, and the parser canonicalizes field names,
+     * so the name seen at the same position last time usually matches by identity.
+     */
+    private int slotFor(FieldLayout layout, String fieldName, int position) {
+        if (position < cachedNames.length && cachedNames[position] == fieldName) {
+            return cachedSlots[position];
+        }
+        int slot = layout.slotOf(fieldName);
+        if (position < cachedNames.length) {
+            cachedNames[position] = fieldName;
+            cachedSlots[position] = slot;
+        }
+        return slot;
+    }
+
+    private Object readValue() throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue(); // Integer, Long or BigInteger, as databind would bind it
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                return MAPPER.readValue(parser, Object.class);
+        }
+    }
+
+    private Map<String, Object> readRecord() throws IOException {
+        return advanceToRecord() ? MAPPER.readValue(parser, RECORD_TYPE) : null;
+    }
+
+    /**
+     * Move the parser onto the next record's START_OBJECT, or mark the input finished.
+     */
+    private boolean advanceToRecord() throws IOException {
+        JsonToken token = positioned ? parser.currentToken() : parser.nextToken();
+        positioned = false;
+
+        if (token == null || (arrayMode && token == JsonToken.END_ARRAY)) {
+            finished = true;
+            return false;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object but found " + token
+                + " at byte " + parser.getCurrentLocation().getByteOffset());
+        }
+        return true;
+    }
+
+    @Override
+    public long getBytesRead() {
+        return parser.getCurrentLocation().getByteOffset();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // AUTO_CLOSE_SOURCE is on by default, so this also closes the stream
+        parser.close();
+    }
+}
@@ -0,0 +1,28 @@
+package com.datavalidator.io;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Pull-based source of records. Implementations read one record at a time so
+ * inputs of any size can be validated with constant memory.
+ */
+public interface RecordReader extends Iterator<Map<String, Object>>, Closeable {
+    /**
+     * Number of input bytes consumed so far.
+     */
+    long getBytesRead();
+
+    /**
+     * Advance past the next record without building it. Returns false at end
+     * of input. Readers override this to skip more cheaply than {@link #next()}.
+     */
+    default boolean skip() {
+        if (!hasNext()) {
+            return false;
+        }
+        next();
+        return true;
+    }
+}
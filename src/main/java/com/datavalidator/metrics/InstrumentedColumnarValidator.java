@@ -0,0 +1,25 @@
+package com.datavalidator.metrics;
+
+import com.datavalidator.columnar.Bitmap;
+import com.datavalidator.columnar.ColumnBatch;
+import com.datavalidator.validators.ColumnarValidator;
+import java.util.List;
+
+/**
+ * {@link InstrumentedValidator} for validators with a columnar kernel, so
+ * instrumenting an engine keeps its column-at-a-time path. A batch counts as
+ * one invocation per row; batch latency is not recorded.
+ */
+class InstrumentedColumnarValidator extends InstrumentedValidator implements ColumnarValidator {
+    InstrumentedColumnarValidator(ColumnarValidator delegate, RuleMetrics metrics, int sampleEvery,
+                                  List<MetricsListener> listeners) {
+        super(delegate, metrics, sampleEvery, listeners);
+    }
+
+    @Override
+    public long[] validateColumns(ColumnBatch batch) {
+        long[] failures = ((ColumnarValidator) delegate).validateColumns(batch);
+        metrics.recordBatch(batch.getRowCount(), Bitmap.cardinality(failures));
+        return failures;
+    }
+}
@@ -0,0 +1,95 @@
+package com.datavalidator.metrics;
+
+import com.datavalidator.core.ErrorCollector;
+import com.datavalidator.core.FieldLayout;
+import com.datavalidator.core.ValidationResult;
+import com.datavalidator.validators.SlotValidator;
+import com.datavalidator.validators.Validator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decorator that records a rule's invocations, verdicts, errors by severity
+ * and latency into {@link RuleMetrics}. Bound plans are instrumented too.
+ * Created through {@link ValidationMetrics#instrument}.
+ */
+public class InstrumentedValidator implements Validator {
+    final Validator delegate;
+    final RuleMetrics metrics;
+    private final int sampleEvery;
+    private final List<MetricsListener> listeners;
+
+    InstrumentedValidator(Validator delegate, RuleMetrics metrics, int sampleEvery, List<MetricsListener> listeners) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.sampleEvery = sampleEvery;
+        this.listeners = listeners;
+    }
+
+    public Validator getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public ValidationResult validate(Map<String, Object> record) {
+        ErrorCollector errors = new ErrorCollector();
+        double score = validateInto(record, errors);
+        return errors.toResult(!errors.isRejected(), score);
+    }
+
+    @Override
+    public double validateInto(Map<String, Object> record, ErrorCollector errors) {
+        int before = errors.size();
+        boolean timed = isTimed();
+        long start = timed ? System.nanoTime() : 0L;
+        double score = delegate.validateInto(record, errors);
+        complete(errors, before, timed ? System.nanoTime() - start : -1L);
+        return score;
+    }
+
+    @Override
+    public SlotValidator bind(FieldLayout layout) {
+        SlotValidator bound = delegate.bind(layout);
+        return (record, errors) -> {
+            int before = errors.size();
+            boolean timed = isTimed();
+            long start = timed ? System.nanoTime() : 0L;
+            double score = bound.validateInto(record, errors);
+            complete(errors, before, timed ? System.nanoTime() - start : -1L);
+            return score;
+        };
+    }
+
+    private boolean isTimed() {
+        return sampleEvery <= 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
+    }
+
+    private void complete(ErrorCollector errors, int before, long nanos) {
+        // The engine starts every rule with beginRule(), so the flag belongs to this rule
+        boolean passed = !errors.isRejected();
+        metrics.record(passed, errors, before, nanos);
+        if (!listeners.isEmpty()) {
+            int errorCount = errors.size() - before;
+            for (MetricsListener listener : listeners) {
+                listener.onRuleEvaluated(metrics.getRuleName(), passed, errorCount, nanos);
+            }
+        }
+    }
+
+    @Override
+    public Set<String> getReferencedFields() {
+        return delegate.getReferencedFields();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public int getPriority() {
+        return delegate.getPriority();
+    }
+}
@@ -0,0 +1,12 @@
+package com.datavalidator.metrics;
+
+/**
+ * Receives every instrumented rule invocation, on the thread that ran it.
+ * Implementations must be thread-safe and cheap: they sit on the hot path.
+ */
+public interface MetricsListener {
+    /**
+     * @param latencyNanos time spent in the rule, or -1 if this invocation was not timed
+     */
+    void onRuleEvaluated(String ruleName, boolean passed, int errorCount, long latencyNanos);
+}
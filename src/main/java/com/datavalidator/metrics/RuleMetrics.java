@@ -0,0 +1,134 @@
+package com.datavalidator.metrics;
+
+import com.datavalidator.core.ErrorCollector;
+import com.datavalidator.core.ValidationResult;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency for one rule, shared by every thread that runs it.
+ * Counts are exact; latency only covers timed invocations.
+ */
+public final class RuleMetrics implements RuleMetricsMXBean {
+    private final String ruleName;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder passes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder[] errorsBySeverity;
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    RuleMetrics(String ruleName) {
+        this.ruleName = ruleName;
+        this.errorsBySeverity = new LongAdder[ValidationResult.Severity.values().length];
+        for (int i = 0; i < errorsBySeverity.length; i++) {
+            errorsBySeverity[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record one invocation whose errors are {@code errors[from..size)}.
+     * A negative latency means the invocation was not timed.
+     */
+    void record(boolean passed, ErrorCollector errors, int from, long nanos) {
+        invocations.increment();
+        (passed ? passes : failures).increment();
+        for (int i = from; i < errors.size(); i++) {
+            errorsBySeverity[errors.get(i).getSeverity().ordinal()].increment();
+        }
+        if (nanos >= 0) {
+            latency.record(nanos);
+        }
+    }
+
+    /**
+     * Record a column batch: {@code rows} invocations of which {@code failed} failed.
+     */
+    void recordBatch(int rows, int failed) {
+        invocations.add(rows);
+        passes.add(rows - failed);
+        failures.add(failed);
+    }
+
+    public long getErrors(ValidationResult.Severity severity) {
+        return errorsBySeverity[severity.ordinal()].sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    @Override
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    @Override
+    public long getPasses() {
+        return passes.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public long getLowErrors() {
+        return getErrors(ValidationResult.Severity.LOW);
+    }
+
+    @Override
+    public long getMediumErrors() {
+        return getErrors(ValidationResult.Severity.MEDIUM);
+    }
+
+    @Override
+    public long getHighErrors() {
+        return getErrors(ValidationResult.Severity.HIGH);
+    }
+
+    @Override
+    public long getCriticalErrors() {
+        return getErrors(ValidationResult.Severity.CRITICAL);
+    }
+
+    @Override
+    public long getTimedInvocations() {
+        return latency.getCount();
+    }
+
+    @Override
+    public double getMeanLatencyMicros() {
+        return latency.getMeanNanos() / 1e3;
+    }
+
+    @Override
+    public double getP50LatencyMicros() {
+        return latency.getPercentileNanos(0.50) / 1e3;
+    }
+
+    @Override
+    public double getP99LatencyMicros() {
+        return latency.getPercentileNanos(0.99) / 1e3;
+    }
+
+    @Override
+    public double getMaxLatencyMicros() {
+        return latency.getMaxNanos() / 1e3;
+    }
+
+    @Override
+    public void reset() {
+        invocations.reset();
+        passes.reset();
+        failures.reset();
+        for (LongAdder adder : errorsBySeverity) {
+            adder.reset();
+        }
+        latency.reset();
+    }
+}
@@ -0,0 +1,39 @@
+package com.datavalidator.metrics;
+
+/**
+ * JMX view of one rule's metrics. Registered by
+ * {@link ValidationMetrics#registerMBeans} as
+ * {@code com.datavalidator:type=RuleMetrics,name=<rule>}.
+ */
+public interface RuleMetricsMXBean {
+    String getRuleName();
+
+    long getInvocations();
+
+    long getPasses();
+
+    long getFailures();
+
+    long getLowErrors();
+
+    long getMediumErrors();
+
+    long getHighErrors();
+
+    long getCriticalErrors();
+
+    /**
+     * Invocations that were timed; see {@link ValidationMetrics#getSampleEvery()}.
+     */
+    long getTimedInvocations();
+
+    double getMeanLatencyMicros();
+
+    double getP50LatencyMicros();
+
+    double getP99LatencyMicros();
+
+    double getMaxLatencyMicros();
+
+    void reset();
+}
@@ -0,0 +1,149 @@
+package com.datavalidator.metrics;
+
+import com.datavalidator.core.ValidationEngine;
+import com.datavalidator.validators.ColumnarValidator;
+import com.datavalidator.validators.Validator;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Per-rule metrics for instrumented engines, keyed by {@link Validator#getName()}.
+ * Counters use {@link java.util.concurrent.atomic.LongAdder}, so threads
+ * validating in parallel do not contend. Timing every invocation costs two
+ * {@code System.nanoTime()} calls per rule; with {@code sampleEvery > 1} only
+ * about one invocation in {@code sampleEvery} is timed, while counts stay exact.
+ * See {@code MetricsBenchmark} for the overhead of each setting.
+ */
+public class ValidationMetrics {
+    public static final String JMX_DOMAIN = "com.datavalidator";
+    public static final int DEFAULT_SAMPLE_EVERY = 64; // keeps overhead within benchmark noise
+
+    private final int sampleEvery;
+    private final Map<String, RuleMetrics> rules = new ConcurrentHashMap<>();
+    private final List<String> ruleOrder = new CopyOnWriteArrayList<>();
+    private final List<MetricsListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<ObjectName> registered = new ArrayList<>();
+    private MBeanServer server;
+
+    public ValidationMetrics() {
+        this(DEFAULT_SAMPLE_EVERY);
+    }
+
+    /**
+     * @param sampleEvery time about one invocation in this many; 1 times all of them
+     */
+    public ValidationMetrics(int sampleEvery) {
+        if (sampleEvery < 1) {
+            throw new IllegalArgumentException("sampleEvery must be at least 1, got " + sampleEvery);
+        }
+        this.sampleEvery = sampleEvery;
+    }
+
+    /**
+     * Copy of the engine with every validator instrumented. The original
+     * engine is unchanged and unmetered.
+     */
+    public ValidationEngine instrument(ValidationEngine engine) {
+        return engine.decorate(this::instrument);
+    }
+
+    /**
+     * Instrument a single validator. Validators sharing a name share metrics.
+     */
+    public Validator instrument(Validator validator) {
+        if (validator instanceof InstrumentedValidator) {
+            return validator;
+        }
+        RuleMetrics metrics = rules.computeIfAbsent(validator.getName(), name -> {
+            ruleOrder.add(name);
+            return new RuleMetrics(name);
+        });
+        if (validator instanceof ColumnarValidator) {
+            return new InstrumentedColumnarValidator((ColumnarValidator) validator, metrics, sampleEvery, listeners);
+        }
+        return new InstrumentedValidator(validator, metrics, sampleEvery, listeners);
+    }
+
+    public void addListener(MetricsListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(MetricsListener listener) {
+        listeners.remove(listener);
+    }
+
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+
+    /**
+     * Metrics for a rule, or null if no validator of that name was instrumented.
+     */
+    public RuleMetrics get(String ruleName) {
+        return rules.get(ruleName);
+    }
+
+    /**
+     * All rule metrics, in the order the rules were first instrumented.
+     */
+    public List<RuleMetrics> getRuleMetrics() {
+        List<RuleMetrics> result = new ArrayList<>(ruleOrder.size());
+        for (String name : ruleOrder) {
+            result.add(rules.get(name));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public void reset() {
+        for (RuleMetrics metrics : rules.values()) {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * Register one MXBean per rule with the platform MBean server.
+     */
+    public void registerMBeans() throws JMException {
+        registerMBeans(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Register one MXBean per rule known so far. Rules instrumented later need
+     * another call; rules already registered are skipped.
+     */
+    public synchronized void registerMBeans(MBeanServer mbeanServer) throws JMException {
+        if (server != null && server != mbeanServer) {
+            throw new IllegalStateException("Already registered with another MBean server");
+        }
+        server = mbeanServer;
+        for (RuleMetrics metrics : getRuleMetrics()) {
+            ObjectName name = objectName(metrics.getRuleName());
+            if (!mbeanServer.isRegistered(name)) {
+                mbeanServer.registerMBean(metrics, name);
+                registered.add(name);
+            }
+        }
+    }
+
+    public synchronized void unregisterMBeans() throws JMException {
+        for (ObjectName name : registered) {
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        }
+        registered.clear();
+        server = null;
+    }
+
+    public static ObjectName objectName(String ruleName) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=RuleMetrics,name=" + ObjectName.quote(ruleName));
+    }
+}
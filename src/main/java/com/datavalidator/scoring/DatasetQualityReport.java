@@ -0,0 +1,318 @@
+package com.datavalidator.scoring;
+
+import com.datavalidator.core.ValidationEngine;
+import com.datavalidator.core.ValidationResult;
+import com.datavalidator.validators.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dataset-level quality, aggregated one record at a time. Memory is bounded
+ * by the number of rules and fields, not records: per-rule and per-field
+ * failure counts, null and empty counts for the tracked fields, and a
+ * {@link ScoreHistogram} of record scores. Not thread-safe; aggregate per
+ * thread and {@link #merge} the partial reports.
+ */
+public class DatasetQualityReport {
+    private final String[] fields; // fields whose null and empty rates are tracked
+    private final Map<String, Counter> rules = new LinkedHashMap<>();
+    private final Map<String, Counter> fieldFailures = new HashMap<>();
+    private final long[] nulls;
+    private final long[] empties;
+    private ScoreHistogram scores = new ScoreHistogram();
+    private long records;
+    private long passed;
+    private long errors;
+
+    /**
+     * Failure counts for one rule or field. A record counts once however many
+     * errors it has; {@code lastRecord} dedupes within a record.
+     */
+    private static final class Counter {
+        long failedRecords;
+        long errors;
+        long lastRecord = -1;
+
+        void count(long record) {
+            errors++;
+            if (lastRecord != record) {
+                lastRecord = record;
+                failedRecords++;
+            }
+        }
+    }
+
+    public DatasetQualityReport(Collection<String> trackedFields) {
+        this.fields = new LinkedHashSet<>(trackedFields).toArray(new String[0]);
+        this.nulls = new long[fields.length];
+        this.empties = new long[fields.length];
+    }
+
+    /**
+     * A report tracking every field the engine's validators reference, with
+     * a row for each rule even if it never fails.
+     */
+    public static DatasetQualityReport forEngine(ValidationEngine engine) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (Validator validator : engine.getValidators()) {
+            Set<String> referenced = validator.getReferencedFields();
+            if (referenced != null) {
+                fields.addAll(referenced);
+            }
+        }
+        DatasetQualityReport report = new DatasetQualityReport(fields);
+        for (Validator validator : engine.getValidators()) {
+            report.rules.putIfAbsent(validator.getName(), new Counter());
+        }
+        return report;
+    }
+
+    public void add(Map<String, Object> record, ValidationResult result) {
+        long index = records++;
+        if (result.isValid()) {
+            passed++;
+        }
+        scores.add(result.getQualityScore());
+
+        for (int i = 0; i < fields.length; i++) {
+            Object value = record.get(fields[i]);
+            if (value == null) {
+                nulls[i]++;
+            } else if (value instanceof String && ((String) value).trim().isEmpty()) {
+                empties[i]++;
+            }
+        }
+
+        int errorCount = result.getErrorCount();
+        if (errorCount == 0) {
+            return;
+        }
+        errors += errorCount;
+        for (ValidationResult.ValidationError error : result.getErrors()) {
+            rules.computeIfAbsent(error.getRuleName(), name -> new Counter()).count(index);
+            if (error.getField() != null) {
+                fieldFailures.computeIfAbsent(error.getField(), name -> new Counter()).count(index);
+            }
+        }
+    }
+
+    /**
+     * Add another report's counts to this one. Both must track the same fields.
+     */
+    public void merge(DatasetQualityReport other) {
+        if (!Arrays.equals(fields, other.fields)) {
+            throw new IllegalArgumentException("Cannot merge reports tracking different fields");
+        }
+        records += other.records;
+        passed += other.passed;
+        errors += other.errors;
+        scores.merge(other.scores);
+        for (int i = 0; i < fields.length; i++) {
+            nulls[i] += other.nulls[i];
+            empties[i] += other.empties[i];
+        }
+        mergeCounters(rules, other.rules);
+        mergeCounters(fieldFailures, other.fieldFailures);
+    }
+
+    private static void mergeCounters(Map<String, Counter> into, Map<String, Counter> from) {
+        for (Map.Entry<String, Counter> entry : from.entrySet()) {
+            Counter counter = into.computeIfAbsent(entry.getKey(), name -> new Counter());
+            counter.failedRecords += entry.getValue().failedRecords;
+            counter.errors += entry.getValue().errors;
+        }
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getPassed() {
+        return passed;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public ScoreHistogram getScores() {
+        return scores;
+    }
+
+    /**
+     * Fraction of records with at least one error from the rule.
+     */
+    public double getRuleFailureRate(String rule) {
+        Counter counter = rules.get(rule);
+        return counter == null ? 0.0 : rate(counter.failedRecords);
+    }
+
+    /**
+     * Fraction of records with at least one error on the field.
+     */
+    public double getFieldFailureRate(String field) {
+        Counter counter = fieldFailures.get(field);
+        return counter == null ? 0.0 : rate(counter.failedRecords);
+    }
+
+    public double getNullRate(String field) {
+        int i = indexOf(field);
+        return i < 0 ? Double.NaN : rate(nulls[i]);
+    }
+
+    public double getEmptyRate(String field) {
+        int i = indexOf(field);
+        return i < 0 ? Double.NaN : rate(empties[i]);
+    }
+
+    private int indexOf(String field) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].equals(field)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private double rate(long count) {
+        return records == 0 ? 0.0 : (double) count / records;
+    }
+
+    /**
+     * Exact counts as plain maps, lists and numbers, for checkpoints. Unlike
+     * {@link #toMap()} nothing is turned into rates, so {@link #fromState}
+     * restores a report that keeps counting where this one stopped.
+     */
+    public Map<String, Object> toState() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("fields", Arrays.asList(fields));
+        state.put("records", records);
+        state.put("passed", passed);
+        state.put("errors", errors);
+        state.put("nulls", nulls.clone());
+        state.put("empties", empties.clone());
+        state.put("scores", scores.toState());
+        state.put("rules", counterState(rules));
+        state.put("fieldFailures", counterState(fieldFailures));
+        return state;
+    }
+
+    /**
+     * Rebuild a report from {@link #toState()}, including after a JSON round trip.
+     */
+    @SuppressWarnings("unchecked")
+    public static DatasetQualityReport fromState(Map<String, Object> state) {
+        DatasetQualityReport report = new DatasetQualityReport((List<String>) state.get("fields"));
+        report.records = ((Number) state.get("records")).longValue();
+        report.passed = ((Number) state.get("passed")).longValue();
+        report.errors = ((Number) state.get("errors")).longValue();
+        restoreCounts(report.nulls, state.get("nulls"));
+        restoreCounts(report.empties, state.get("empties"));
+        report.scores = ScoreHistogram.fromState((Map<String, Object>) state.get("scores"));
+        restoreCounters(report.rules, (Map<String, Object>) state.get("rules"));
+        restoreCounters(report.fieldFailures, (Map<String, Object>) state.get("fieldFailures"));
+        return report;
+    }
+
+    private static Map<String, Object> counterState(Map<String, Counter> counters) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            state.put(entry.getKey(), new long[] {entry.getValue().failedRecords, entry.getValue().errors});
+        }
+        return state;
+    }
+
+    private static void restoreCounts(long[] into, Object values) {
+        List<?> list = values instanceof long[] ? toList((long[]) values) : (List<?>) values;
+        for (int i = 0; i < into.length; i++) {
+            into[i] = ((Number) list.get(i)).longValue();
+        }
+    }
+
+    private static void restoreCounters(Map<String, Counter> into, Map<String, Object> state) {
+        for (Map.Entry<String, Object> entry : state.entrySet()) {
+            long[] values = new long[2];
+            restoreCounts(values, entry.getValue());
+            Counter counter = new Counter();
+            counter.failedRecords = values[0];
+            counter.errors = values[1];
+            into.put(entry.getKey(), counter);
+        }
+    }
+
+    private static List<Long> toList(long[] values) {
+        List<Long> list = new ArrayList<>(values.length);
+        for (long value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    /**
+     * The report as nested maps, ready to serialize as JSON.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("records", records);
+        report.put("passed", passed);
+        report.put("failed", records - passed);
+        report.put("passRate", rate(passed));
+        report.put("errors", errors);
+
+        Map<String, Object> score = new LinkedHashMap<>();
+        score.put("mean", finite(scores.getMean()));
+        score.put("min", finite(scores.getMin()));
+        score.put("p10", finite(scores.quantile(0.10)));
+        score.put("p50", finite(scores.quantile(0.50)));
+        score.put("p90", finite(scores.quantile(0.90)));
+        score.put("p99", finite(scores.quantile(0.99)));
+        score.put("max", finite(scores.getMax()));
+        report.put("score", score);
+
+        Map<String, Object> ruleRows = new LinkedHashMap<>();
+        for (Map.Entry<String, Counter> entry : rules.entrySet()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("failedRecords", entry.getValue().failedRecords);
+            row.put("failureRate", rate(entry.getValue().failedRecords));
+            row.put("errors", entry.getValue().errors);
+            ruleRows.put(entry.getKey(), row);
+        }
+        report.put("rules", ruleRows);
+
+        Map<String, Object> fieldRows = new LinkedHashMap<>();
+        for (int i = 0; i < fields.length; i++) {
+            fieldRows.put(fields[i], fieldRow(fields[i], nulls[i], empties[i]));
+        }
+        for (String field : fieldFailures.keySet()) {
+            if (!fieldRows.containsKey(field)) {
+                fieldRows.put(field, fieldRow(field, -1, -1));
+            }
+        }
+        report.put("fields", fieldRows);
+        return report;
+    }
+
+    private static Double finite(double value) {
+        return Double.isNaN(value) ? null : value; // empty report: no scores
+    }
+
+    private Map<String, Object> fieldRow(String field, long nullCount, long emptyCount) {
+        Counter failures = fieldFailures.get(field);
+        long failed = failures == null ? 0 : failures.failedRecords;
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("failedRecords", failed);
+        row.put("failureRate", rate(failed));
+        if (nullCount >= 0) {
+            row.put("nullRate", rate(nullCount));
+            row.put("emptyRate", rate(emptyCount));
+        }
+        return row;
+    }
+}
@@ -0,0 +1,166 @@
+package com.datavalidator.scoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Running estimate of a dataset's pass rate and mean quality score from a
+ * random sample of its records, with confidence intervals: Wilson score for
+ * the pass rate, which stays sensible near 0 and 1, and the normal
+ * approximation for the mean score. Intervals assume a sample that is small
+ * next to the dataset; no finite-population correction is applied.
+ * Not thread-safe.
+ */
+public class QualityEstimate {
+    private final double confidence;
+    private final double z;
+    private long samples;
+    private long passed;
+    private double mean;   // Welford running mean and sum of squared deviations
+    private double squares;
+
+    /**
+     * @param confidence two-sided confidence level of the intervals, e.g. 0.95
+     */
+    public QualityEstimate(double confidence) {
+        if (!(confidence > 0.0 && confidence < 1.0)) {
+            throw new IllegalArgumentException("confidence must be between 0 and 1, got " + confidence);
+        }
+        this.confidence = confidence;
+        this.z = normalQuantile(0.5 + confidence / 2);
+    }
+
+    public void add(boolean valid, double score) {
+        samples++;
+        if (valid) {
+            passed++;
+        }
+        double delta = score - mean;
+        mean += delta / samples;
+        squares += delta * (score - mean);
+    }
+
+    public long getSampleSize() {
+        return samples;
+    }
+
+    public double getConfidence() {
+        return confidence;
+    }
+
+    public double getPassRate() {
+        return samples == 0 ? Double.NaN : (double) passed / samples;
+    }
+
+    public double getPassRateLow() {
+        return wilsonCenter() - wilsonHalfWidth();
+    }
+
+    public double getPassRateHigh() {
+        return wilsonCenter() + wilsonHalfWidth();
+    }
+
+    /**
+     * Half-width of the pass rate interval.
+     */
+    public double getPassRateMargin() {
+        return wilsonHalfWidth();
+    }
+
+    public double getMeanScore() {
+        return samples == 0 ? Double.NaN : mean;
+    }
+
+    public double getMeanScoreLow() {
+        return Math.max(0.0, mean - getMeanScoreMargin());
+    }
+
+    public double getMeanScoreHigh() {
+        return Math.min(1.0, mean + getMeanScoreMargin());
+    }
+
+    /**
+     * Half-width of the mean score interval.
+     */
+    public double getMeanScoreMargin() {
+        if (samples < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double variance = squares / (samples - 1);
+        return z * Math.sqrt(variance / samples);
+    }
+
+    /**
+     * Whether both intervals are within {@code margin} of their estimate.
+     */
+    public boolean isWithinMargin(double margin) {
+        return samples > 0 && getPassRateMargin() <= margin && getMeanScoreMargin() <= margin;
+    }
+
+    private double wilsonCenter() {
+        if (samples == 0) {
+            return 0.5;
+        }
+        double n = samples;
+        return (getPassRate() + z * z / (2 * n)) / (1 + z * z / n);
+    }
+
+    private double wilsonHalfWidth() {
+        if (samples == 0) {
+            return 0.5;
+        }
+        double n = samples;
+        double p = getPassRate();
+        return z * Math.sqrt(p * (1 - p) / n + z * z / (4 * n * n)) / (1 + z * z / n);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> estimate = new LinkedHashMap<>();
+        estimate.put("sampleSize", samples);
+        estimate.put("confidence", confidence);
+        estimate.put("passRate", interval(getPassRate(), getPassRateLow(), getPassRateHigh()));
+        estimate.put("meanScore", interval(getMeanScore(), getMeanScoreLow(), getMeanScoreHigh()));
+        return estimate;
+    }
+
+    private static Map<String, Object> interval(double estimate, double low, double high) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("estimate", finite(estimate));
+        row.put("low", finite(low));
+        row.put("high", finite(high));
+        return row;
+    }
+
+    private static Double finite(double value) {
+        return Double.isFinite(value) ? value : null;
+    }
+
+    /**
+     * Inverse of the standard normal CDF (Acklam's rational approximation,
+     * relative error below 1.2e-9).
+     */
+    static double normalQuantile(double p) {
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+            1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+            6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+            -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+            3.754408661907416e+00};
+        final double low = 0.02425;
+
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            return -normalQuantile(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+            / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
@@ -28,40 +28,47 @@ public class QualityScorer {
      * Calculation method varies by mode and isn't fully specified.
      */
     public double calculateScore(List<ValidationResult> results) {
-        if (results.isEmpty()) {
+        double[] scores = new double[results.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = results.get(i).getQualityScore();
+        }
+        return calculateScore(scores, scores.length);
+    }
+
+    /**
+     * Same as {@link #calculateScore(List)} for the first {@code count} scores
+     * of an array, ordered by validator priority. Does not allocate.
+     */
+    public double calculateScore(double[] scores, int count) {
+        if (count == 0) {
             return 1.0; // Default for empty - ambiguous behavior
         }
 
         switch (mode) {
             case AVERAGE:
-                return results.stream()
-                    .mapToDouble(ValidationResult::getQualityScore)
-                    .average()
-                    .orElse(0.0);
+                return average(scores, count);
 
             case MINIMUM:
-                return results.stream()
-                    .mapToDouble(ValidationResult::getQualityScore)
-                    .min()
-                    .orElse(0.0);
+                double min = scores[0];
+                for (int i = 1; i < count; i++) {
+                    min = Math.min(min, scores[i]);
+                }
+                return min;
 
             case WEIGHTED:
                 // Weighted calculation - exact formula not specified
                 // Assumes results are ordered by priority (higher priority = more weight)
                 double totalWeight = 0.0;
                 double weightedSum = 0.0;
-                for (int i = 0; i < results.size(); i++) {
+                for (int i = 0; i < count; i++) {
                     double weight = Math.pow(2, i); // Exponential weighting - but is this correct?
-                    weightedSum += results.get(i).getQualityScore() * weight;
+                    weightedSum += scores[i] * weight;
                     totalWeight += weight;
                 }
                 return totalWeight > 0 ? weightedSum / totalWeight : 0.0;
 
             case THRESHOLD:
-                double avg = results.stream()
-                    .mapToDouble(ValidationResult::getQualityScore)
-                    .average()
-                    .orElse(0.0);
+                double avg = average(scores, count);
                 // Threshold comparison - but is threshold 0-1 or 0-100?
                 double normalizedThreshold = threshold > 1.0 ? threshold / 100.0 : threshold;
                 return avg >= normalizedThreshold ? 1.0 : 0.0;
@@ -71,6 +78,14 @@ public class QualityScorer {
         }
     }
 
+    private static double average(double[] scores, int count) {
+        double sum = 0.0;
+        for (int i = 0; i < count; i++) {
+            sum += scores[i];
+        }
+        return sum / count;
+    }
+
     public boolean passesThreshold(double score) {
         // Threshold format ambiguity: is it 0-1 or 0-100?
         double normalizedThreshold = threshold > 1.0 ? threshold / 100.0 : threshold;
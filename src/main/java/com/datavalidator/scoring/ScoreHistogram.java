@@ -0,0 +1,142 @@
+package com.datavalidator.scoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed-size histogram of quality scores over [0, 1]. Memory does not grow
+ * with the number of scores, two histograms merge exactly by adding bucket
+ * counts, and quantiles are accurate to one bucket width (0.001 by default).
+ * Scores outside [0, 1] land in the edge buckets; min and max stay exact.
+ * Not thread-safe: keep one per thread and {@link #merge} them.
+ */
+public class ScoreHistogram {
+    public static final int DEFAULT_BUCKETS = 1000;
+
+    private final long[] counts;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public ScoreHistogram() {
+        this(DEFAULT_BUCKETS);
+    }
+
+    public ScoreHistogram(int buckets) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("buckets must be at least 1, got " + buckets);
+        }
+        this.counts = new long[buckets];
+    }
+
+    public void add(double score) {
+        if (Double.isNaN(score)) {
+            return;
+        }
+        int bucket = (int) (score * counts.length);
+        counts[Math.max(0, Math.min(counts.length - 1, bucket))]++;
+        count++;
+        sum += score;
+        min = Math.min(min, score);
+        max = Math.max(max, score);
+    }
+
+    /**
+     * Add another histogram's scores to this one. Both must have the same bucket count.
+     */
+    public void merge(ScoreHistogram other) {
+        if (other.counts.length != counts.length) {
+            throw new IllegalArgumentException("Cannot merge histograms with "
+                + other.counts.length + " and " + counts.length + " buckets");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * Approximate score at the given quantile (0.0 to 1.0), interpolated
+     * within its bucket. NaN when empty.
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double rank = Math.max(1.0, Math.ceil(q * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            if (seen + counts[i] >= rank) {
+                double width = 1.0 / counts.length;
+                double value = (i + (rank - seen) / counts[i]) * width;
+                return Math.max(min, Math.min(max, value));
+            }
+            seen += counts[i];
+        }
+        return max;
+    }
+
+    /**
+     * Exact state as plain maps and numbers, for checkpoints. Only non-empty
+     * buckets are listed.
+     */
+    public Map<String, Object> toState() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("buckets", counts.length);
+        state.put("count", count);
+        state.put("sum", sum);
+        if (count > 0) {
+            state.put("min", min);
+            state.put("max", max);
+        }
+        Map<String, Object> nonEmpty = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                nonEmpty.put(Integer.toString(i), counts[i]);
+            }
+        }
+        state.put("counts", nonEmpty);
+        return state;
+    }
+
+    /**
+     * Rebuild a histogram from {@link #toState()}, including after a JSON round trip.
+     */
+    @SuppressWarnings("unchecked")
+    public static ScoreHistogram fromState(Map<String, Object> state) {
+        ScoreHistogram histogram = new ScoreHistogram(((Number) state.get("buckets")).intValue());
+        histogram.count = ((Number) state.get("count")).longValue();
+        histogram.sum = ((Number) state.get("sum")).doubleValue();
+        if (histogram.count > 0) {
+            histogram.min = ((Number) state.get("min")).doubleValue();
+            histogram.max = ((Number) state.get("max")).doubleValue();
+        }
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) state.get("counts")).entrySet()) {
+            histogram.counts[Integer.parseInt(entry.getKey())] = ((Number) entry.getValue()).longValue();
+        }
+        return histogram;
+    }
+}
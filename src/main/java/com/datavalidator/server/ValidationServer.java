@@ -0,0 +1,397 @@
+package com.datavalidator.server;
+
+import com.datavalidator.core.ValidationEngine;
+import com.datavalidator.core.ValidationResult;
+import com.datavalidator.io.AsyncResultSink;
+import com.datavalidator.io.JsonRecordReader;
+import com.datavalidator.metrics.LatencyHistogram;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves one {@link ValidationEngine} over HTTP with the JDK's built-in
+ * server, so callers share a warmed-up engine instead of embedding their own.
+ * <ul>
+ *   <li>{@code POST /validate}: one JSON object in, one result object out.</li>
+ *   <li>{@code POST /validate/batch}: a JSON array or NDJSON body in, one NDJSON
+ *       result line per record out. Records are parsed, validated and written
+ *       one at a time, so results stream back while the body is still being read.</li>
+ *   <li>{@code GET /stats}: counters and latency percentiles as JSON.</li>
+ *   <li>{@code GET /health}: {@code {"status":"ok"}}.</li>
+ * </ul>
+ * Requests run on a fixed pool of workers with a bounded queue. When the
+ * queue is full, the connection is handed to a single shedding thread that
+ * answers 503 without reading the body; when that thread's own bounded queue
+ * is full too, the accepting thread answers 503 itself. Bodies larger than the limit get 413,
+ * up front when they declare a Content-Length. Connections are kept alive
+ * between requests as long as the body was read in full.
+ */
+public class ValidationServer implements Closeable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+    public static final long DEFAULT_MAX_BODY_BYTES = 16L << 20;
+    private static final int RESPONSE_BUFFER = 64 * 1024;
+    private static final String JSON = "application/json";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE =
+        new TypeReference<Map<String, Object>>() {};
+    private static final ThreadLocal<Boolean> SHEDDING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final ValidationEngine engine;
+    private final long maxBodyBytes;
+    private final HttpServer server;
+    private final ThreadPoolExecutor workers;
+    private final ThreadPoolExecutor shedder;
+
+    private final LatencyHistogram singleLatency = new LatencyHistogram();
+    private final LatencyHistogram batchLatency = new LatencyHistogram();
+    private final LongAdder records = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder tooLarge = new LongAdder();
+    private final LongAdder badRequests = new LongAdder();
+
+    /**
+     * Handles one request on a worker thread; the caller closes the exchange.
+     */
+    private interface Endpoint {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    /**
+     * The body exceeded the size limit while being read.
+     */
+    private static final class BodyTooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        BodyTooLargeException(long limit) {
+            super("Request body exceeds " + limit + " bytes");
+        }
+    }
+
+    /**
+     * The body could not be read as records.
+     */
+    private static final class BadRequestException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        BadRequestException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Fails once more than {@code limit} bytes have been read.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long read;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = in.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws BodyTooLargeException {
+            read += n;
+            if (read > limit) {
+                throw new BodyTooLargeException(limit);
+            }
+        }
+    }
+
+    /**
+     * @param address       where to listen; port 0 picks a free port
+     * @param workers       threads validating requests
+     * @param queueCapacity requests waiting for a worker before new ones get 503
+     * @param maxBodyBytes  largest request body accepted
+     */
+    public ValidationServer(ValidationEngine engine, InetSocketAddress address, int workers,
+                            int queueCapacity, long maxBodyBytes) throws IOException {
+        if (workers < 1 || queueCapacity < 1 || maxBodyBytes < 1) {
+            throw new IllegalArgumentException("workers, queueCapacity and maxBodyBytes must be positive");
+        }
+        this.engine = engine;
+        this.maxBodyBytes = maxBodyBytes;
+        // Bounded too: when even the shedder is backed up, or shut down, the caller answers 503 itself
+        this.shedder = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            task -> {
+                Thread thread = new Thread(() -> {
+                    SHEDDING.set(Boolean.TRUE);
+                    task.run();
+                }, "validation-server-shed");
+                thread.setDaemon(true);
+                return thread;
+            },
+            (task, pool) -> shedInline(task));
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            task -> {
+                Thread thread = new Thread(task, "validation-server-" + threadIds.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            (task, pool) -> shedder.execute(task));
+
+        this.server = HttpServer.create(address, 0);
+        server.createContext("/validate", handler("/validate", "POST", singleLatency, this::validateOne));
+        server.createContext("/validate/batch", handler("/validate/batch", "POST", batchLatency, this::validateBatch));
+        server.createContext("/stats", handler("/stats", "GET", null,
+            exchange -> sendJson(exchange, 200, getStats())));
+        server.createContext("/health", handler("/health", "GET", null,
+            exchange -> sendJson(exchange, 200, Collections.singletonMap("status", "ok"))));
+        server.setExecutor(this.workers);
+    }
+
+    /**
+     * Run an exchange on the calling thread in shedding mode, so it is
+     * answered with 503 and closed rather than dropped.
+     */
+    private static void shedInline(Runnable task) {
+        SHEDDING.set(Boolean.TRUE);
+        try {
+            task.run();
+        } finally {
+            SHEDDING.set(Boolean.FALSE);
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stop accepting connections and release the workers. Requests in
+     * progress are cut off.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        shedder.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Request counts and latencies per endpoint (microseconds), records
+     * validated, and requests turned away as overloaded (503), too large
+     * (413) or malformed (400).
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("single", latencyStats(singleLatency));
+        stats.put("batch", latencyStats(batchLatency));
+        stats.put("records", records.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("tooLarge", tooLarge.sum());
+        stats.put("badRequests", badRequests.sum());
+        stats.put("workers", workers.getCorePoolSize());
+        stats.put("active", workers.getActiveCount());
+        stats.put("queued", workers.getQueue().size());
+        return stats;
+    }
+
+    private static Map<String, Object> latencyStats(LatencyHistogram latency) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", latency.getCount());
+        stats.put("meanMicros", latency.getMeanNanos() / 1e3);
+        stats.put("p50Micros", latency.getPercentileNanos(0.50) / 1e3);
+        stats.put("p90Micros", latency.getPercentileNanos(0.90) / 1e3);
+        stats.put("p99Micros", latency.getPercentileNanos(0.99) / 1e3);
+        stats.put("maxMicros", latency.getMaxNanos() / 1e3);
+        return stats;
+    }
+
+    /**
+     * Wrap an endpoint with shedding, routing, the size limit, error
+     * responses and latency recording.
+     */
+    private HttpHandler handler(String path, String method, LatencyHistogram latency, Endpoint endpoint) {
+        return exchange -> {
+            long start = System.nanoTime();
+            try {
+                if (SHEDDING.get()) {
+                    rejected.increment();
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    sendError(exchange, 503, "Server is at capacity");
+                    return;
+                }
+                if (!exchange.getRequestURI().getPath().equals(path)) {
+                    sendError(exchange, 404, "No endpoint " + exchange.getRequestURI().getPath());
+                    return;
+                }
+                if (!exchange.getRequestMethod().equalsIgnoreCase(method)) {
+                    exchange.getResponseHeaders().set("Allow", method);
+                    sendError(exchange, 405, "Use " + method);
+                    return;
+                }
+                String length = exchange.getRequestHeaders().getFirst("Content-Length");
+                if (length != null && Long.parseLong(length.trim()) > maxBodyBytes) {
+                    tooLarge.increment();
+                    sendError(exchange, 413, "Request body exceeds " + maxBodyBytes + " bytes");
+                    return;
+                }
+                endpoint.handle(exchange);
+                if (latency != null) {
+                    latency.record(System.nanoTime() - start);
+                }
+            } catch (BodyTooLargeException e) {
+                tooLarge.increment();
+                sendErrorIfPossible(exchange, 413, e.getMessage());
+            } catch (BadRequestException | JsonProcessingException | NumberFormatException e) {
+                badRequests.increment();
+                sendErrorIfPossible(exchange, 400, e.getMessage());
+            } catch (RuntimeException e) {
+                sendErrorIfPossible(exchange, 500, String.valueOf(e.getMessage()));
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private InputStream body(HttpExchange exchange) {
+        return new LimitedInputStream(exchange.getRequestBody(), maxBodyBytes);
+    }
+
+    private void validateOne(HttpExchange exchange) throws IOException {
+        Map<String, Object> record;
+        try (InputStream in = body(exchange)) {
+            record = MAPPER.readValue(in, RECORD_TYPE);
+        }
+        if (record == null) {
+            throw new BadRequestException("Expected a JSON object");
+        }
+        ValidationResult result = engine.validate(record);
+        records.increment();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            AsyncResultSink.writeJson(generator, -1, result);
+        }
+        send(exchange, 200, JSON, out.toByteArray());
+    }
+
+    /**
+     * Once the response has started, a body that turns out to be malformed
+     * or too large ends the stream with an {@code error} line instead of a
+     * status code.
+     */
+    private void validateBatch(HttpExchange exchange) throws IOException {
+        InputStream in = body(exchange);
+        JsonRecordReader reader;
+        try {
+            reader = new JsonRecordReader(in);
+        } catch (BodyTooLargeException | JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", NDJSON);
+        exchange.sendResponseHeaders(200, 0);
+        long index = 0;
+        try (JsonRecordReader input = reader;
+             JsonGenerator generator = FACTORY.createGenerator(
+                 new BufferedOutputStream(exchange.getResponseBody(), RESPONSE_BUFFER), JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+            try {
+                while (input.hasNext()) {
+                    AsyncResultSink.writeJson(generator, index, engine.validate(input.next()));
+                    generator.writeRaw('\n');
+                    index++;
+                }
+            } catch (UncheckedIOException e) {
+                if (e.getCause() instanceof BodyTooLargeException) {
+                    tooLarge.increment();
+                } else {
+                    badRequests.increment();
+                }
+                writeError(generator, index, e.getCause().getMessage());
+            } catch (RuntimeException e) {
+                badRequests.increment();
+                writeError(generator, index, String.valueOf(e.getMessage()));
+            }
+        } finally {
+            records.add(index);
+        }
+    }
+
+    private static void writeError(JsonGenerator generator, long index, String message) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("index", index);
+        generator.writeStringField("error", message);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, JSON, MAPPER.writeValueAsBytes(body));
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        sendJson(exchange, status, Collections.singletonMap("error", message));
+    }
+
+    private static void sendErrorIfPossible(HttpExchange exchange, int status, String message) {
+        if (exchange.getResponseCode() != -1) {
+            return; // headers already sent
+        }
+        try {
+            sendError(exchange, status, message);
+        } catch (IOException e) {
+            // client went away
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+}
@@ -0,0 +1,15 @@
+package com.datavalidator.validators;
+
+import com.datavalidator.columnar.ColumnBatch;
+
+/**
+ * Optional extension for validators with a column-at-a-time kernel.
+ */
+public interface ColumnarValidator extends Validator {
+    /**
+     * Validate every row of a batch. Returns a failure bitmap in which bit
+     * {@code i} is set exactly when {@code validate(batch.row(i))} would be
+     * invalid.
+     */
+    long[] validateColumns(ColumnBatch batch);
+}
@@ -0,0 +1,34 @@
+package com.datavalidator.validators;
+
+import com.datavalidator.core.ErrorCollector;
+import java.util.List;
+
+/**
+ * A validator over several fields whose outcome combines independent checks
+ * of each field, so each field's check can be memoized on its own.
+ * <p>
+ * {@link #validateInto} must be equivalent to calling {@link #checkField} for
+ * every present field, in order, summing the penalties, and passing the sum
+ * to {@link #finish}. Missing fields are skipped.
+ */
+public interface FieldwiseValidator extends Validator {
+
+    /**
+     * The fields checked, in the order their indexes refer to.
+     */
+    List<String> getCheckedFields();
+
+    /**
+     * Check the value of one present field, which may be null, adding its
+     * errors, and return the score penalty for it.
+     */
+    double checkField(int index, Object value, ErrorCollector errors);
+
+    /**
+     * The rule's score from the summed penalties, rejecting the record if
+     * the field checks call for it.
+     *
+     * @param before the collector's size before the first field was checked
+     */
+    double finish(ErrorCollector errors, int before, double penalty, int checkedFields);
+}
@@ -0,0 +1,344 @@
+package com.datavalidator.validators;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only set of string keys in a memory-mapped file, for reference sets
+ * too large for a {@code HashSet<String>}. The file is an open-addressing,
+ * linear-probing table of 64-bit key hashes, so a lookup costs one or two
+ * cache misses and no heap. Without verification, two different keys with
+ * the same 64-bit hash are indistinguishable: a missing key is reported
+ * present with probability about {@code size / 2^64}. A verified index also
+ * stores each key's UTF-8 bytes and compares them on a hash match.
+ * <p>
+ * Layout, little-endian: a 64-byte header (magic, version, flags, capacity,
+ * size, the key file's size and modification time, blob start), then
+ * {@code capacity} slots. A slot is the key's hash, followed in verified
+ * indexes by the offset of the key in the blob of length-prefixed keys that
+ * ends the file; keeping the offset beside the hash saves a cache miss.
+ * Files over 1 GB are mapped in 1 GB segments; slots are 8-byte aligned and
+ * never straddle one.
+ */
+public final class LookupIndex {
+    static final long MAGIC = 0x3158444b4c56444cL; // "LDVLKDX1" little-endian
+    private static final int VERSION = 1;
+    private static final int FLAG_VERIFIED = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final double MAX_LOAD = 0.7;
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+    private static final long EMPTY = 0L;
+
+    private final ByteBuffer[] segments;
+    private final long capacity;
+    private final long size;
+    private final boolean verified;
+    private final long sourceSize;
+    private final long sourceModified;
+    private final int slotBytes;
+
+    private LookupIndex(ByteBuffer[] segments) throws IOException {
+        this.segments = segments;
+        if (segments.length == 0 || segments[0].capacity() < HEADER_BYTES || segments[0].getLong(0) != MAGIC) {
+            throw new IOException("Not a lookup index");
+        }
+        ByteBuffer header = segments[0];
+        if (header.getInt(8) != VERSION) {
+            throw new IOException("Unsupported lookup index version " + header.getInt(8));
+        }
+        this.verified = (header.getInt(12) & FLAG_VERIFIED) != 0;
+        this.capacity = header.getLong(16);
+        this.size = header.getLong(24);
+        this.sourceSize = header.getLong(32);
+        this.sourceModified = header.getLong(40);
+        this.slotBytes = verified ? 16 : 8;
+    }
+
+    /**
+     * Map an index written by {@link #build}.
+     */
+    public static LookupIndex open(Path indexFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            return new LookupIndex(map(channel, FileChannel.MapMode.READ_ONLY, channel.size()));
+        }
+    }
+
+    /**
+     * Map the index for a key file, building it first if it is missing, was
+     * built from a different version of the key file, or was built with a
+     * different verification setting. An index whose key file is absent is
+     * used as is, so an index can be shipped without its source.
+     */
+    public static LookupIndex openOrBuild(Path keyFile, Path indexFile, boolean verified) throws IOException {
+        if (Files.exists(indexFile)) {
+            LookupIndex index = open(indexFile);
+            if (!Files.exists(keyFile) || (index.verified == verified
+                    && index.sourceSize == Files.size(keyFile)
+                    && index.sourceModified == Files.getLastModifiedTime(keyFile).toMillis())) {
+                return index;
+            }
+        }
+        return build(keyFile, indexFile, verified);
+    }
+
+    /**
+     * The index file used for a key file when none is configured.
+     */
+    public static Path defaultIndexFile(Path keyFile) {
+        return Paths.get(keyFile + ".idx");
+    }
+
+    /**
+     * Build an index from a file of one key per line (surrounding whitespace
+     * and blank lines are ignored; duplicates are stored once) and map it.
+     * The table is filled through a writable mapping, so building does not
+     * need heap proportional to the key count. The file is written under a
+     * temporary name and renamed into place once complete.
+     */
+    public static LookupIndex build(Path keyFile, Path indexFile, boolean verified) throws IOException {
+        long sourceSize = Files.size(keyFile);
+        long sourceModified = Files.getLastModifiedTime(keyFile).toMillis();
+
+        long keys = 0;
+        long blobBytes = 0;
+        try (BufferedReader reader = Files.newBufferedReader(keyFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String key = line.trim();
+                if (!key.isEmpty()) {
+                    keys++;
+                    blobBytes += 4 + utf8Length(key);
+                }
+            }
+        }
+
+        long capacity = Math.max(16, (long) Math.ceil(keys / MAX_LOAD));
+        long blobStart = verified ? HEADER_BYTES + capacity * 16 : 0;
+        long fileBytes = verified ? blobStart + blobBytes : HEADER_BYTES + capacity * 8;
+
+        Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (RandomAccessFile file = new RandomAccessFile(temp.toFile(), "rw")) {
+            file.setLength(0);
+            file.setLength(fileBytes); // zero-filled, so every slot starts EMPTY
+            ByteBuffer[] segments = map(file.getChannel(), FileChannel.MapMode.READ_WRITE, fileBytes);
+            ByteBuffer header = segments[0];
+            header.putInt(8, VERSION);
+            header.putInt(12, verified ? FLAG_VERIFIED : 0);
+            header.putLong(16, capacity);
+            header.putLong(32, sourceSize);
+            header.putLong(40, sourceModified);
+            header.putLong(48, blobStart);
+            header.putLong(0, MAGIC);
+            LookupIndex index = new LookupIndex(segments);
+
+            long size = 0;
+            long blobEnd = blobStart;
+            try (BufferedReader reader = Files.newBufferedReader(keyFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String key = line.trim();
+                    if (key.isEmpty()) {
+                        continue;
+                    }
+                    long hash = hash(key);
+                    long slot = index.find(key, hash);
+                    if (slot >= 0) {
+                        continue; // duplicate
+                    }
+                    slot = -slot - 1;
+                    long position = HEADER_BYTES + slot * index.slotBytes;
+                    index.putLong(position, hash);
+                    if (verified) {
+                        index.putLong(position + 8, blobEnd);
+                        blobEnd = index.writeKey(blobEnd, key);
+                    }
+                    size++;
+                }
+            }
+            header.putLong(24, size);
+            for (ByteBuffer segment : segments) {
+                ((MappedByteBuffer) segment).force();
+            }
+        }
+        Files.move(temp, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return open(indexFile);
+    }
+
+    private static ByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long bytes) throws IOException {
+        int count = (int) ((bytes + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        ByteBuffer[] segments = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << SEGMENT_SHIFT;
+            segments[i] = channel.map(mode, start, Math.min(SEGMENT_MASK + 1, bytes - start))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return segments;
+    }
+
+    public boolean contains(CharSequence key) {
+        return find(key, hash(key)) >= 0;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isVerified() {
+        return verified;
+    }
+
+    /**
+     * Slot holding the key, or {@code -(empty slot) - 1} where it would go.
+     */
+    private long find(CharSequence key, long hash) {
+        long slot = slotOf(hash);
+        while (true) {
+            long position = HEADER_BYTES + slot * slotBytes;
+            long stored = getLong(position);
+            if (stored == EMPTY) {
+                return -slot - 1;
+            }
+            if (stored == hash && (!verified || keyEquals(getLong(position + 8), key))) {
+                return slot;
+            }
+            slot = slot + 1 == capacity ? 0 : slot + 1;
+        }
+    }
+
+    /**
+     * Map a hash onto {@code [0, capacity)} by taking the high word of the
+     * unsigned 128-bit product, which avoids a division.
+     */
+    private long slotOf(long hash) {
+        return Math.multiplyHigh(hash, capacity) + ((hash >> 63) & capacity);
+    }
+
+    /**
+     * Murmur3-style 64-bit hash over UTF-16 code units, four per round. Never
+     * returns {@link #EMPTY}.
+     */
+    public static long hash(CharSequence key) {
+        int length = key.length();
+        long h = 0x9E3779B97F4A7C15L ^ length;
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long block = key.charAt(i)
+                | (long) key.charAt(i + 1) << 16
+                | (long) key.charAt(i + 2) << 32
+                | (long) key.charAt(i + 3) << 48;
+            h ^= mixBlock(block);
+            h = Long.rotateLeft(h, 27) * 5 + 0x52dce729;
+        }
+        long tail = 0;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            tail |= (long) key.charAt(i) << shift;
+        }
+        h ^= mixBlock(tail);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == EMPTY ? 1L : h;
+    }
+
+    private static long mixBlock(long block) {
+        block *= 0x87c37b91114253d5L;
+        block = Long.rotateLeft(block, 31);
+        return block * 0x4cf5ad432745937fL;
+    }
+
+    private static long utf8Length(CharSequence key) {
+        long length = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < key.length()) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private long writeKey(long position, String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        putByte(position, (byte) bytes.length);
+        putByte(position + 1, (byte) (bytes.length >>> 8));
+        putByte(position + 2, (byte) (bytes.length >>> 16));
+        putByte(position + 3, (byte) (bytes.length >>> 24));
+        for (int i = 0; i < bytes.length; i++) {
+            putByte(position + 4 + i, bytes[i]);
+        }
+        return position + 4 + bytes.length;
+    }
+
+    /**
+     * Compare a stored key with a lookup key. ASCII is compared in place;
+     * anything else is encoded first.
+     */
+    private boolean keyEquals(long position, CharSequence key) {
+        int length = (getByte(position) & 0xFF)
+            | (getByte(position + 1) & 0xFF) << 8
+            | (getByte(position + 2) & 0xFF) << 16
+            | (getByte(position + 3) & 0xFF) << 24;
+        long start = position + 4;
+        int n = key.length();
+        if (length < n) {
+            return false; // UTF-8 never takes fewer bytes than UTF-16 code units
+        }
+        int i = 0;
+        while (i < n && key.charAt(i) < 0x80) {
+            if (i >= length || getByte(start + i) != key.charAt(i)) {
+                return false;
+            }
+            i++;
+        }
+        if (i == n) {
+            return i == length;
+        }
+        byte[] bytes = key.toString().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length != length) {
+            return false;
+        }
+        for (int j = i; j < length; j++) {
+            if (getByte(start + j) != bytes[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long getLong(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].getLong((int) (position & SEGMENT_MASK));
+    }
+
+    private void putLong(long position, long value) {
+        segments[(int) (position >>> SEGMENT_SHIFT)].putLong((int) (position & SEGMENT_MASK), value);
+    }
+
+    private byte getByte(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+    }
+
+    private void putByte(long position, byte value) {
+        segments[(int) (position >>> SEGMENT_SHIFT)].put((int) (position & SEGMENT_MASK), value);
+    }
+}
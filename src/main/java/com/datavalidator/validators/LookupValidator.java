@@ -0,0 +1,108 @@
+package com.datavalidator.validators;
+
+import com.datavalidator.core.ErrorCollector;
+import com.datavalidator.core.FieldLayout;
+import com.datavalidator.core.ValidationResult;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates that a field's value is one of the keys of a {@link LookupIndex},
+ * e.g. that a foreign key exists in its reference set. Numbers are looked up
+ * by their integer or decimal text, so {@code 42}, {@code 42.0} and
+ * {@code "42"} all match the key {@code 42}.
+ */
+public class LookupValidator implements Validator {
+    private final String name;
+    private final String field;
+    private final LookupIndex index;
+    private final String source; // names the reference set in error messages
+    private final int priority;
+
+    public LookupValidator(String name, String field, LookupIndex index, String source, int priority) {
+        this.name = name;
+        this.field = field;
+        this.index = index;
+        this.source = source;
+        this.priority = priority;
+    }
+
+    @Override
+    public ValidationResult validate(Map<String, Object> record) {
+        ErrorCollector errors = new ErrorCollector();
+        double score = validateInto(record, errors);
+        return errors.toResult(!errors.isRejected(), score);
+    }
+
+    @Override
+    public double validateInto(Map<String, Object> record, ErrorCollector errors) {
+        return validateValue(record.get(field), errors);
+    }
+
+    @Override
+    public SlotValidator bind(FieldLayout layout) {
+        int slot = layout.slotOf(field);
+        return (record, errors) -> validateValue(record.get(slot), errors);
+    }
+
+    private double validateValue(Object value, ErrorCollector errors) {
+        if (value == null) {
+            return 1.0; // Missing handled elsewhere
+        }
+        if (index.contains(keyOf(value))) {
+            return 1.0;
+        }
+        errors.add(new ValidationResult.ValidationError(
+            name, field, ValidationResult.ErrorCode.NOT_IN_REFERENCE_SET, value, source,
+            ValidationResult.Severity.HIGH
+        ));
+        errors.reject();
+        return 0.0;
+    }
+
+    /**
+     * The text a value is looked up by. Zero-copy character views from the
+     * readers map bytes to chars one to one, so they are decoded first when
+     * they hold anything beyond ASCII.
+     */
+    public static CharSequence keyOf(Object value) {
+        if (value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof CharSequence) {
+            CharSequence text = (CharSequence) value;
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) >= 0x80) {
+                    return text.toString();
+                }
+            }
+            return text;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return Long.toString(((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            if (number == Math.rint(number) && Math.abs(number) < 0x1p63) {
+                return Long.toString((long) number);
+            }
+        }
+        return value.toString();
+    }
+
+    @Override
+    public Set<String> getReferencedFields() {
+        return Collections.singleton(field);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+}
@@ -0,0 +1,318 @@
+package com.datavalidator.validators;
+
+import com.datavalidator.columnar.ColumnBatch;
+import com.datavalidator.core.ErrorCollector;
+import com.datavalidator.core.FieldLayout;
+import com.datavalidator.core.ValidationResult;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decorator that remembers a validator's verdict, score and errors for each
+ * value of a field, so on low-cardinality columns a repeated value costs one
+ * hash lookup instead of a type check or number parse.
+ * <p>
+ * Each field the rule reads gets its own cache. A single-field rule caches
+ * its whole outcome; a {@link FieldwiseValidator} caches each field's check
+ * and combines them, so a unique id next to a country code still hits on the
+ * country. Rules that check several fields together cannot be memoized.
+ * <p>
+ * Only valid for pure validators, whose outcome depends on nothing but the
+ * values of {@link Validator#getReferencedFields()}. Values are cached only
+ * when they are immutable (strings, boxed numbers and booleans) or null;
+ * anything else goes straight to the delegate.
+ */
+public class MemoizingValidator implements Validator {
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private static final Object NULL_KEY = new Object();
+    private static final Object MISSING_KEY = new Object();
+
+    final Validator delegate;
+    private final FieldwiseValidator fieldwise; // null for a single-field rule
+    private final String[] fields;
+    private final List<ValueCache<Memo>> caches; // one per field, each of the full capacity
+
+    /**
+     * A remembered outcome, replayed into the caller's collector on a hit.
+     * For a fieldwise rule the score is the field's penalty.
+     */
+    private static final class Memo {
+        final double score;
+        final boolean rejected;
+        final List<ValidationResult.ValidationError> errors;
+
+        Memo(double score, boolean rejected, List<ValidationResult.ValidationError> errors) {
+            this.score = score;
+            this.rejected = rejected;
+            this.errors = errors;
+        }
+    }
+
+    MemoizingValidator(Validator delegate, int capacity) {
+        Set<String> referenced = delegate.getReferencedFields();
+        if (referenced == null || referenced.isEmpty()) {
+            throw new IllegalArgumentException(
+                "Validator '" + delegate.getName() + "' does not declare its fields and cannot be memoized");
+        }
+        this.delegate = delegate;
+        if (delegate instanceof FieldwiseValidator) {
+            this.fieldwise = (FieldwiseValidator) delegate;
+            this.fields = fieldwise.getCheckedFields().toArray(new String[0]);
+        } else if (referenced.size() == 1) {
+            this.fieldwise = null;
+            this.fields = referenced.toArray(new String[0]);
+        } else {
+            throw new IllegalArgumentException(
+                "Validator '" + delegate.getName() + "' checks its fields together and cannot be memoized per field");
+        }
+        this.caches = new ArrayList<>(fields.length);
+        for (int i = 0; i < fields.length; i++) {
+            caches.add(new ValueCache<>(capacity));
+        }
+    }
+
+    /**
+     * Memoize a validator, keeping its columnar kernel if it has one: kernels
+     * already process a column in one pass and are not cached.
+     *
+     * @throws IllegalArgumentException if the validator does not declare its
+     *     fields, or reads several fields without being a {@link FieldwiseValidator}
+     */
+    public static MemoizingValidator wrap(Validator delegate, int capacity) {
+        if (delegate instanceof ColumnarValidator) {
+            return new Columnar((ColumnarValidator) delegate, capacity);
+        }
+        return new MemoizingValidator(delegate, capacity);
+    }
+
+    public Validator getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public ValidationResult validate(Map<String, Object> record) {
+        ErrorCollector errors = new ErrorCollector();
+        double score = validateInto(record, errors);
+        return errors.toResult(!errors.isRejected(), score);
+    }
+
+    @Override
+    public double validateInto(Map<String, Object> record, ErrorCollector errors) {
+        if (fieldwise == null) {
+            Object key = keyOf(record, fields[0]);
+            if (key == null) {
+                return delegate.validateInto(record, errors);
+            }
+            Memo memo = caches.get(0).get(key);
+            if (memo != null) {
+                return replay(memo, errors);
+            }
+            int before = errors.size();
+            double score = delegate.validateInto(record, errors);
+            remember(caches.get(0), key, score, errors, before, false);
+            return score;
+        }
+        int before = errors.size();
+        double penalty = 0.0;
+        int checked = 0;
+        for (int i = 0; i < fields.length; i++) {
+            Object value = record.get(fields[i]);
+            if (value == null && !record.containsKey(fields[i])) {
+                continue; // fieldwise rules skip missing fields
+            }
+            checked++;
+            penalty += checkField(i, value, errors);
+        }
+        return fieldwise.finish(errors, before, penalty, checked);
+    }
+
+    @Override
+    public SlotValidator bind(FieldLayout layout) {
+        int[] slots = layout.slotsOf(Arrays.asList(fields));
+        if (fieldwise == null) {
+            SlotValidator bound = delegate.bind(layout);
+            int slot = slots[0];
+            return (record, errors) -> {
+                Object key = record.isPresent(slot) ? keyOf(record.get(slot)) : MISSING_KEY;
+                if (key == null) {
+                    return bound.validateInto(record, errors);
+                }
+                Memo memo = caches.get(0).get(key);
+                if (memo != null) {
+                    return replay(memo, errors);
+                }
+                int before = errors.size();
+                double score = bound.validateInto(record, errors);
+                remember(caches.get(0), key, score, errors, before, false);
+                return score;
+            };
+        }
+        return (record, errors) -> {
+            int before = errors.size();
+            double penalty = 0.0;
+            int checked = 0;
+            for (int i = 0; i < slots.length; i++) {
+                if (!record.isPresent(slots[i])) {
+                    continue;
+                }
+                checked++;
+                penalty += checkField(i, record.get(slots[i]), errors);
+            }
+            return fieldwise.finish(errors, before, penalty, checked);
+        };
+    }
+
+    /**
+     * One present field of a fieldwise rule, from its cache when possible.
+     */
+    private double checkField(int index, Object value, ErrorCollector errors) {
+        Object key = keyOf(value);
+        if (key == null) {
+            return fieldwise.checkField(index, value, errors);
+        }
+        Memo memo = caches.get(index).get(key);
+        if (memo != null) {
+            return replay(memo, errors);
+        }
+        boolean wasRejected = errors.isRejected();
+        int before = errors.size();
+        double penalty = fieldwise.checkField(index, value, errors);
+        remember(caches.get(index), key, penalty, errors, before, wasRejected);
+        return penalty;
+    }
+
+    private static void remember(ValueCache<Memo> cache, Object key, double score, ErrorCollector errors,
+                                 int before, boolean wasRejected) {
+        // The engine starts every rule with beginRule(), so the flag belongs to this rule.
+        // If an earlier field already rejected, this field's own verdict is unknown.
+        if (wasRejected) {
+            return;
+        }
+        List<ValidationResult.ValidationError> added = errors.errorsSince(before);
+        cache.put(key, new Memo(score, errors.isRejected(), added.isEmpty() ? List.of() : added));
+    }
+
+    private static double replay(Memo memo, ErrorCollector errors) {
+        errors.addAll(memo.errors);
+        if (memo.rejected) {
+            errors.reject();
+        }
+        return memo.score;
+    }
+
+    private static Object keyOf(Map<String, Object> record, String field) {
+        Object value = record.get(field);
+        return value == null && !record.containsKey(field) ? MISSING_KEY : keyOf(value);
+    }
+
+    /**
+     * Cache key for one present value, or null if the value must not be cached.
+     * Keys keep the value's class, so 1 and 1.0 are remembered separately.
+     */
+    private static Object keyOf(Object value) {
+        if (value == null) {
+            return NULL_KEY;
+        }
+        if (value instanceof String || value instanceof Long || value instanceof Integer
+            || value instanceof Double || value instanceof Boolean) {
+            return value;
+        }
+        return null;
+    }
+
+    /**
+     * The fields with a cache of their own, in order.
+     */
+    public List<String> getFields() {
+        return Arrays.asList(fields);
+    }
+
+    public long getHits(String field) {
+        return caches.get(indexOf(field)).getHits();
+    }
+
+    public long getMisses(String field) {
+        return caches.get(indexOf(field)).getMisses();
+    }
+
+    public int getSize(String field) {
+        return caches.get(indexOf(field)).size();
+    }
+
+    private int indexOf(String field) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].equals(field)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Rule '" + getName() + "' does not memoize field " + field);
+    }
+
+    public long getHits() {
+        long hits = 0;
+        for (ValueCache<Memo> cache : caches) {
+            hits += cache.getHits();
+        }
+        return hits;
+    }
+
+    public long getMisses() {
+        long misses = 0;
+        for (ValueCache<Memo> cache : caches) {
+            misses += cache.getMisses();
+        }
+        return misses;
+    }
+
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public long getEvictions() {
+        long evictions = 0;
+        for (ValueCache<Memo> cache : caches) {
+            evictions += cache.getEvictions();
+        }
+        return evictions;
+    }
+
+    public int getSize() {
+        int size = 0;
+        for (ValueCache<Memo> cache : caches) {
+            size += cache.size();
+        }
+        return size;
+    }
+
+    @Override
+    public Set<String> getReferencedFields() {
+        return delegate.getReferencedFields();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public int getPriority() {
+        return delegate.getPriority();
+    }
+
+    private static final class Columnar extends MemoizingValidator implements ColumnarValidator {
+        Columnar(ColumnarValidator delegate, int capacity) {
+            super(delegate, capacity);
+        }
+
+        @Override
+        public long[] validateColumns(ColumnBatch batch) {
+            return ((ColumnarValidator) delegate).validateColumns(batch);
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package com.datavalidator.validators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A regex reduced to a sequence of repeated ASCII character classes, for the
+ * common shapes that need no regex engine: literal prefixes and suffixes,
+ * fixed lengths and class-only patterns such as {@code [0-9a-f]{8}-...} or
+ * {@code \+?\d{10,15}}.
+ * <p>
+ * {@link #parse} understands literals, {@code \d \w \s} and their negations,
+ * {@code .}, bracket classes with ranges and negation, the quantifiers
+ * {@code ? * + {n} {n,} {n,m}} and leading {@code ^} / trailing {@code $}.
+ * Anything else (groups, alternation, lazy or possessive quantifiers, other
+ * escapes, non-ASCII pattern characters) yields null and the caller keeps to
+ * the regex.
+ * <p>
+ * When the atoms can be matched without backtracking {@link #match} is exact;
+ * otherwise it is only a prefilter that rejects values too short, too long or
+ * missing a required literal, and a pass still has to be confirmed by the regex.
+ */
+final class PatternShape {
+    static final int MATCH = 1;
+    static final int MISMATCH = 0;
+    static final int UNKNOWN = -1; // decide with the regex
+
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    /** One character class repeated between min and max times. */
+    private static final class Atom {
+        long low;  // chars 0-63
+        long high; // chars 64-127
+        boolean wide; // also takes every non-ASCII char, as negated classes do
+        int min = 1;
+        int max = 1;
+
+        void add(char c) {
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << (c - 64);
+            }
+        }
+
+        void addRange(char from, char to) {
+            for (char c = from; c <= to; c++) {
+                add(c);
+            }
+        }
+
+        void invert() {
+            low = ~low;
+            high = ~high;
+            wide = !wide;
+        }
+
+        boolean overlaps(Atom other) {
+            return (low & other.low) != 0 || (high & other.high) != 0 || (wide && other.wide);
+        }
+
+        /** The only char of a single-char class, or -1. */
+        int literal() {
+            int count = Long.bitCount(low) + Long.bitCount(high);
+            if (count != 1 || wide) {
+                return -1;
+            }
+            return low != 0 ? Long.numberOfTrailingZeros(low) : 64 + Long.numberOfTrailingZeros(high);
+        }
+    }
+
+    private enum Mode {
+        GREEDY,   // every variable atom is followed by chars it cannot take
+        ANCHORED, // at most one variable atom, sized by what the fixed atoms leave
+        PREFILTER
+    }
+
+    private final long[] masks; // per atom: the low and high mask, indexed by char >>> 6
+    private final int[] mins;
+    private final int[] maxes;
+    private final Mode mode;
+    private final int minLength;
+    private final int maxLength;
+    private final char[] literals; // mandatory single-char atoms, in order
+    private final int variable;    // ANCHORED: index of the variable atom
+    private final int prefix;      // ANCHORED: chars taken by the atoms before it
+    private final int suffix;      // ANCHORED: chars taken by the atoms after it
+
+    private PatternShape(Atom[] atoms) {
+        this.masks = new long[atoms.length * 2];
+        this.mins = new int[atoms.length];
+        this.maxes = new int[atoms.length];
+        long min = 0;
+        long max = 0;
+        int variables = 0;
+        int lastVariable = -1;
+        List<Character> required = new ArrayList<>();
+        for (int i = 0; i < atoms.length; i++) {
+            Atom atom = atoms[i];
+            masks[2 * i] = atom.low;
+            masks[2 * i + 1] = atom.high;
+            mins[i] = atom.min;
+            maxes[i] = atom.max;
+            min += atom.min;
+            max = atom.max == UNBOUNDED || max == UNBOUNDED ? UNBOUNDED : max + atom.max;
+            if (atom.min != atom.max) {
+                variables++;
+                lastVariable = i;
+            }
+            int literal = atom.literal();
+            if (literal >= 0) {
+                for (int n = 0; n < atom.min; n++) {
+                    required.add((char) literal);
+                }
+            }
+        }
+        this.minLength = (int) Math.min(min, UNBOUNDED);
+        this.maxLength = (int) Math.min(max, UNBOUNDED);
+        this.literals = new char[required.size()];
+        for (int i = 0; i < literals.length; i++) {
+            literals[i] = required.get(i);
+        }
+
+        int before = 0;
+        int after = 0;
+        if (variables <= 1) {
+            for (int i = 0; i < atoms.length; i++) {
+                if (i < lastVariable) {
+                    before += atoms[i].min;
+                } else if (i > lastVariable) {
+                    after += atoms[i].min;
+                }
+            }
+        }
+        this.variable = lastVariable;
+        this.prefix = before;
+        this.suffix = after;
+        if (variables <= 1) {
+            this.mode = Mode.ANCHORED;
+        } else if (greedyIsExact(atoms)) {
+            this.mode = Mode.GREEDY;
+        } else {
+            this.mode = Mode.PREFILTER;
+        }
+    }
+
+    /**
+     * Greedy matching never has to give a char back when each variable atom's
+     * class is disjoint from every atom that may take the next char: the
+     * following optional atoms and the first mandatory one.
+     */
+    private static boolean greedyIsExact(Atom[] atoms) {
+        for (int i = 0; i < atoms.length; i++) {
+            if (atoms[i].min == atoms[i].max) {
+                continue;
+            }
+            for (int j = i + 1; j < atoms.length; j++) {
+                if (atoms[i].overlaps(atoms[j])) {
+                    return false;
+                }
+                if (atoms[j].min > 0) {
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    boolean isExact() {
+        return mode != Mode.PREFILTER;
+    }
+
+    /**
+     * Whether the whole text matches: {@link #MATCH}, {@link #MISMATCH}, or
+     * {@link #UNKNOWN} when only the regex can tell (a prefilter pass, or a
+     * non-ASCII char the ASCII classes cannot judge).
+     */
+    int match(CharSequence text) {
+        int length = text.length();
+        if (length < minLength) {
+            return MISMATCH;
+        }
+        if (length > maxLength) {
+            // The regex counts code points, so surrogate pairs may still fit
+            return length <= 2L * maxLength && !isAscii(text) ? UNKNOWN : MISMATCH;
+        }
+        switch (mode) {
+            case GREEDY:
+                return matchGreedy(text, length);
+            case ANCHORED:
+                return matchAnchored(text, length);
+            default:
+                return prefilter(text, length);
+        }
+    }
+
+    private static boolean isAscii(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int matchGreedy(CharSequence text, int length) {
+        int pos = 0;
+        for (int i = 0; i < mins.length; i++) {
+            int limit = maxes[i] == UNBOUNDED ? length : Math.min(length, pos + maxes[i]);
+            int start = pos;
+            while (pos < limit) {
+                char c = text.charAt(pos);
+                if (c >= 0x80) {
+                    return UNKNOWN;
+                }
+                // Branch-free pick of the mask half; shifts use the low six bits of c
+                if ((masks[2 * i + (c >>> 6)] >>> c & 1) == 0) {
+                    break;
+                }
+                pos++;
+            }
+            if (pos - start < mins[i]) {
+                return MISMATCH;
+            }
+        }
+        return pos == length ? MATCH : MISMATCH;
+    }
+
+    private int matchAnchored(CharSequence text, int length) {
+        int middle = length - prefix - suffix; // within the variable atom's bounds, by the length check
+        int pos = 0;
+        for (int i = 0; i < mins.length; i++) {
+            int end = pos + (i == variable ? middle : mins[i]);
+            for (; pos < end; pos++) {
+                char c = text.charAt(pos);
+                if (c >= 0x80) {
+                    return UNKNOWN;
+                }
+                if ((masks[2 * i + (c >>> 6)] >>> c & 1) == 0) {
+                    // A surrogate pair further on would shift where the variable atom ends
+                    return isAscii(text) ? MISMATCH : UNKNOWN;
+                }
+            }
+        }
+        return MATCH;
+    }
+
+    private int prefilter(CharSequence text, int length) {
+        int pos = 0;
+        for (char literal : literals) {
+            while (pos < length && text.charAt(pos) != literal) {
+                pos++;
+            }
+            if (pos == length) {
+                return MISMATCH;
+            }
+            pos++;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * The shape of a regex, or null if it uses anything beyond the subset.
+     */
+    static PatternShape parse(String regex) {
+        List<Atom> atoms = new ArrayList<>();
+        int end = regex.length();
+        int pos = 0;
+        if (end > 0 && regex.charAt(0) == '^') {
+            pos = 1;
+        }
+        if (end > pos && regex.charAt(end - 1) == '$' && !escaped(regex, end - 1)) {
+            end--;
+        }
+        while (pos < end) {
+            char c = regex.charAt(pos);
+            Atom atom = new Atom();
+            if (c == '\\') {
+                if (pos + 1 >= end || !addEscape(atom, regex.charAt(pos + 1))) {
+                    return null;
+                }
+                pos += 2;
+            } else if (c == '[') {
+                pos = parseClass(regex, pos + 1, end, atom);
+                if (pos < 0) {
+                    return null;
+                }
+            } else if (c == '.') {
+                atom.invert();
+                atom.low &= ~((1L << '\n') | (1L << '\r'));
+                pos++;
+            } else if (c >= 0x80 || "()|*+?{}]^$".indexOf(c) >= 0) {
+                return null;
+            } else {
+                atom.add(c);
+                pos++;
+            }
+            pos = parseQuantifier(regex, pos, end, atom);
+            if (pos < 0) {
+                return null;
+            }
+            atoms.add(atom);
+        }
+        return new PatternShape(atoms.toArray(new Atom[0]));
+    }
+
+    private static boolean escaped(String regex, int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && regex.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    /** Add an escape's chars to the atom; false if the escape is not supported. */
+    private static boolean addEscape(Atom atom, char c) {
+        switch (c) {
+            case 'd':
+            case 'D':
+                atom.addRange('0', '9');
+                break;
+            case 'w':
+            case 'W':
+                atom.addRange('a', 'z');
+                atom.addRange('A', 'Z');
+                atom.addRange('0', '9');
+                atom.add('_');
+                break;
+            case 's':
+            case 'S':
+                atom.add(' ');
+                atom.addRange('\t', '\r'); // \t \n \x0B \f \r
+                break;
+            default:
+                // Escaped punctuation is a literal; letters and digits have other meanings
+                if (c >= 0x80 || Character.isLetterOrDigit(c)) {
+                    return false;
+                }
+                atom.add(c);
+                return true;
+        }
+        if (Character.isUpperCase(c)) {
+            atom.invert();
+        }
+        return true;
+    }
+
+    /** Parse a bracket class after its '[', returning the index past ']' or -1. */
+    private static int parseClass(String regex, int pos, int end, Atom atom) {
+        boolean negated = pos < end && regex.charAt(pos) == '^';
+        if (negated) {
+            pos++;
+        }
+        if (pos < end && regex.charAt(pos) == ']') {
+            return -1; // leading ']' is not portable, leave it to the regex
+        }
+        while (pos < end && regex.charAt(pos) != ']') {
+            char c = regex.charAt(pos);
+            if (c == '[' || c >= 0x80 || regex.startsWith("&&", pos)) {
+                return -1;
+            }
+            if (c == '\\') {
+                if (pos + 1 >= end) {
+                    return -1;
+                }
+                char e = regex.charAt(pos + 1);
+                if ("dDwWsS".indexOf(e) >= 0) {
+                    Atom escape = new Atom();
+                    addEscape(escape, e);
+                    atom.low |= escape.low;
+                    atom.high |= escape.high;
+                    atom.wide |= escape.wide;
+                    pos += 2;
+                    continue;
+                }
+                if (e >= 0x80 || Character.isLetterOrDigit(e)) {
+                    return -1;
+                }
+                c = e;
+                pos++;
+            }
+            pos++;
+            if (pos + 1 < end && regex.charAt(pos) == '-' && regex.charAt(pos + 1) != ']') {
+                char to = regex.charAt(pos + 1);
+                if (to == '\\' || to == '[' || to >= 0x80 || to < c) {
+                    return -1;
+                }
+                atom.addRange(c, to);
+                pos += 2;
+            } else {
+                atom.add(c);
+            }
+        }
+        if (pos >= end) {
+            return -1;
+        }
+        if (negated) {
+            atom.invert();
+        }
+        return pos + 1;
+    }
+
+    /** Apply a quantifier at pos, if any, returning the index past it or -1. */
+    private static int parseQuantifier(String regex, int pos, int end, Atom atom) {
+        if (pos >= end) {
+            return pos;
+        }
+        char c = regex.charAt(pos);
+        if (c == '?') {
+            atom.min = 0;
+            pos++;
+        } else if (c == '*') {
+            atom.min = 0;
+            atom.max = UNBOUNDED;
+            pos++;
+        } else if (c == '+') {
+            atom.max = UNBOUNDED;
+            pos++;
+        } else if (c == '{') {
+            int close = regex.indexOf('}', pos);
+            if (close < 0 || close >= end) {
+                return -1;
+            }
+            String[] bounds = regex.substring(pos + 1, close).split(",", -1);
+            try {
+                if (bounds.length == 1) {
+                    atom.min = atom.max = Integer.parseInt(bounds[0]);
+                } else if (bounds.length == 2) {
+                    atom.min = Integer.parseInt(bounds[0]);
+                    atom.max = bounds[1].isEmpty() ? UNBOUNDED : Integer.parseInt(bounds[1]);
+                } else {
+                    return -1;
+                }
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+            if (atom.min < 0 || atom.max < atom.min) {
+                return -1;
+            }
+            pos = close + 1;
+        } else {
+            return pos;
+        }
+        if (pos < end && "?+*{".indexOf(regex.charAt(pos)) >= 0) {
+            return -1; // lazy, possessive or stacked quantifier
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,113 @@
+package com.datavalidator.validators;
+
+import com.datavalidator.core.ErrorCollector;
+import com.datavalidator.core.FieldLayout;
+import com.datavalidator.core.ValidationResult;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Validates that a field's whole value matches a regular expression.
+ * <p>
+ * The regex is compiled once and each thread reuses one {@link Matcher}, so a
+ * record allocates nothing. Patterns made only of repeated ASCII classes and
+ * literals (see {@link PatternShape}) are checked without the regex engine;
+ * others still get a cheap length and literal prefilter before it runs.
+ * Numbers and other non-text values are matched by their text, as in
+ * {@link LookupValidator#keyOf}.
+ */
+public class PatternValidator implements Validator {
+    private final String name;
+    private final String field;
+    private final Pattern pattern;
+    private final PatternShape shape; // null when the regex is outside the supported subset
+    private final int priority;
+    private final ThreadLocal<Matcher> matchers;
+
+    public PatternValidator(String name, String field, String regex, int priority) {
+        this.name = name;
+        this.field = field;
+        this.pattern = Pattern.compile(regex);
+        this.shape = PatternShape.parse(regex);
+        this.priority = priority;
+        this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+    }
+
+    @Override
+    public ValidationResult validate(Map<String, Object> record) {
+        ErrorCollector errors = new ErrorCollector();
+        double score = validateInto(record, errors);
+        return errors.toResult(!errors.isRejected(), score);
+    }
+
+    @Override
+    public double validateInto(Map<String, Object> record, ErrorCollector errors) {
+        return validateValue(record.get(field), errors);
+    }
+
+    @Override
+    public SlotValidator bind(FieldLayout layout) {
+        int slot = layout.slotOf(field);
+        return (record, errors) -> validateValue(record.get(slot), errors);
+    }
+
+    private double validateValue(Object value, ErrorCollector errors) {
+        if (value == null) {
+            return 1.0; // Missing handled elsewhere
+        }
+        if (matches(LookupValidator.keyOf(value))) {
+            return 1.0;
+        }
+        errors.add(new ValidationResult.ValidationError(
+            name, field, ValidationResult.ErrorCode.PATTERN_MISMATCH, value, pattern.pattern(),
+            ValidationResult.Severity.MEDIUM
+        ));
+        errors.reject();
+        return 0.0;
+    }
+
+    /**
+     * Whether the whole text matches the pattern.
+     */
+    public boolean matches(CharSequence text) {
+        if (shape != null) {
+            int verdict = shape.match(text);
+            if (verdict != PatternShape.UNKNOWN) {
+                return verdict == PatternShape.MATCH;
+            }
+        }
+        Matcher matcher = matchers.get();
+        boolean matches = matcher.reset(text).matches();
+        matcher.reset(""); // don't pin the record's text to the thread
+        return matches;
+    }
+
+    /**
+     * Whether values are checked without running the regex engine at all.
+     */
+    public boolean isRegexFree() {
+        return shape != null && shape.isExact();
+    }
+
+    public String getPattern() {
+        return pattern.pattern();
+    }
+
+    @Override
+    public Set<String> getReferencedFields() {
+        return Collections.singleton(field);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+}
@@ -1,20 +1,32 @@
 package com.datavalidator.validators;
 
+import com.datavalidator.columnar.Bitmap;
+import com.datavalidator.columnar.Column;
+import com.datavalidator.columnar.ColumnBatch;
+import com.datavalidator.columnar.DoubleColumn;
+import com.datavalidator.columnar.Kernels;
+import com.datavalidator.columnar.LongColumn;
+import com.datavalidator.core.ErrorCollector;
+import com.datavalidator.core.FieldLayout;
+import com.datavalidator.core.NumberParser;
 import com.datavalidator.core.ValidationResult;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Validates numeric fields are within specified ranges.
  */
-public class RangeValidator implements Validator {
+public class RangeValidator implements ColumnarValidator {
     private final String name;
     private final String field;
     private final Double min;
     private final Double max;
     private final boolean inclusive; // Inclusive vs exclusive bounds - ambiguous default
     private final int priority;
+    // Bounds as they appear in error messages, formatted once rather than per failing value
+    private final String minLabel;
+    private final String maxLabel;
 
     public RangeValidator(String name, String field, Double min, Double max, boolean inclusive, int priority) {
         this.name = name;
@@ -23,33 +35,79 @@ public class RangeValidator implements Validator {
         this.max = max;
         this.inclusive = inclusive; // Default behavior not specified
         this.priority = priority;
+        this.minLabel = min != null ? String.format("%s%.2f", inclusive ? "(" : "[", min) : null;
+        this.maxLabel = max != null ? String.format("%s%.2f", inclusive ? ")" : "]", max) : null;
     }
 
     @Override
     public ValidationResult validate(Map<String, Object> record) {
-        List<ValidationResult.ValidationError> errors = new ArrayList<>();
-        
-        if (!record.containsKey(field)) {
-            return new ValidationResult(true, errors, 1.0); // Missing handled elsewhere
+        ErrorCollector errors = new ErrorCollector();
+        double score = validateInto(record, errors);
+        return errors.toResult(!errors.isRejected(), score);
+    }
+
+    @Override
+    public double validateInto(Map<String, Object> record, ErrorCollector errors) {
+        // Missing and null values are both handled elsewhere, so a single lookup suffices
+        return validateValue(record.get(field), errors);
+    }
+
+    @Override
+    public SlotValidator bind(FieldLayout layout) {
+        int slot = layout.slotOf(field);
+        return (record, errors) -> validateValue(record.get(slot), errors);
+    }
+
+    @Override
+    public long[] validateColumns(ColumnBatch batch) {
+        Column column = batch.column(field);
+        if (column == null) {
+            return Bitmap.create(batch.getRowCount()); // Missing handled elsewhere
+        }
+
+        // Exclusive bounds become the adjacent representable double, so kernels only compare inclusively
+        double lo = min == null ? Double.NEGATIVE_INFINITY : inclusive ? min : Math.nextUp(min);
+        double hi = max == null ? Double.POSITIVE_INFINITY : inclusive ? max : Math.nextDown(max);
+        boolean bounded = min != null || max != null;
+
+        if (column instanceof DoubleColumn) {
+            return bounded ? Kernels.outsideRange((DoubleColumn) column, lo, hi) : Bitmap.create(batch.getRowCount());
+        }
+        if (column instanceof LongColumn) {
+            return bounded ? Kernels.outsideRange((LongColumn) column, lo, hi) : Bitmap.create(batch.getRowCount());
         }
 
-        Object value = record.get(field);
+        long[] failures = Bitmap.create(batch.getRowCount());
+        for (int row = 0; row < batch.getRowCount(); row++) {
+            if (!isValid(column.getValue(row))) {
+                Bitmap.set(failures, row);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Check one value, append any errors and return the score.
+     */
+    private double validateValue(Object value, ErrorCollector errors) {
         if (value == null) {
-            return new ValidationResult(true, errors, 1.0); // Null handling ambiguous
+            return 1.0; // Missing handled elsewhere, null handling ambiguous
         }
 
         double numValue;
-        try {
-            if (value instanceof Number) {
-                numValue = ((Number) value).doubleValue();
-            } else {
-                numValue = Double.parseDouble(value.toString());
+        if (value instanceof Number) {
+            numValue = ((Number) value).doubleValue();
+        } else {
+            NumberParser parser = NumberParser.local();
+            CharSequence text = value instanceof CharSequence ? (CharSequence) value : value.toString();
+            if (parser.parseDouble(text) != NumberParser.Status.OK) {
+                errors.add(new ValidationResult.ValidationError(
+                    name, field, ValidationResult.ErrorCode.NOT_A_NUMBER, value, null, ValidationResult.Severity.HIGH
+                ));
+                errors.reject();
+                return 0.0;
             }
-        } catch (NumberFormatException e) {
-            errors.add(new ValidationResult.ValidationError(
-                name, field, "Value is not a number", ValidationResult.Severity.HIGH
-            ));
-            return new ValidationResult(false, errors, 0.0);
+            numValue = parser.doubleValue();
         }
 
         boolean inRange = true;
@@ -57,8 +115,7 @@ public class RangeValidator implements Validator {
             inRange = inclusive ? numValue >= min : numValue > min;
             if (!inRange) {
                 errors.add(new ValidationResult.ValidationError(
-                    name, field, 
-                    String.format("Value %.2f is below minimum %s%.2f", numValue, inclusive ? "(" : "[", min),
+                    name, field, ValidationResult.ErrorCode.BELOW_MINIMUM, value, minLabel,
                     ValidationResult.Severity.MEDIUM
                 ));
             }
@@ -67,15 +124,31 @@ public class RangeValidator implements Validator {
             inRange = inclusive ? numValue <= max : numValue < max;
             if (!inRange) {
                 errors.add(new ValidationResult.ValidationError(
-                    name, field,
-                    String.format("Value %.2f is above maximum %s%.2f", numValue, inclusive ? ")" : "]", max),
+                    name, field, ValidationResult.ErrorCode.ABOVE_MAXIMUM, value, maxLabel,
                     ValidationResult.Severity.MEDIUM
                 ));
             }
         }
 
-        double score = inRange ? 1.0 : 0.5; // Score calculation method varies
-        return new ValidationResult(inRange, errors, score);
+        if (!inRange) {
+            errors.reject();
+            return 0.5; // Score calculation method varies
+        }
+        return 1.0;
+    }
+
+    /**
+     * Row-at-a-time verdict for one value, used by the columnar fallback.
+     */
+    private boolean isValid(Object value) {
+        ErrorCollector errors = new ErrorCollector();
+        validateValue(value, errors);
+        return !errors.isRejected();
+    }
+
+    @Override
+    public Set<String> getReferencedFields() {
+        return Collections.singleton(field);
     }
 
     @Override
@@ -88,4 +161,3 @@ public class RangeValidator implements Validator {
         return priority;
     }
 }
-
@@ -1,56 +1,154 @@
 package com.datavalidator.validators;
 
+import com.datavalidator.columnar.Bitmap;
+import com.datavalidator.columnar.Column;
+import com.datavalidator.columnar.ColumnBatch;
+import com.datavalidator.columnar.Kernels;
+import com.datavalidator.columnar.ObjectColumn;
+import com.datavalidator.core.ErrorCollector;
+import com.datavalidator.core.FieldLayout;
 import com.datavalidator.core.ValidationResult;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Validates that required fields are present.
  */
-public class RequiredFieldValidator implements Validator {
+public class RequiredFieldValidator implements ColumnarValidator {
     private final String name;
     private final List<String> requiredFields;
+    private final String[] fields; // requiredFields as an array, for iteration without an iterator
     private final int priority;
     private final boolean strictMode; // Strict mode behavior not fully documented
 
     public RequiredFieldValidator(String name, List<String> requiredFields, int priority, boolean strictMode) {
         this.name = name;
         this.requiredFields = new ArrayList<>(requiredFields);
+        this.fields = requiredFields.toArray(new String[0]);
         this.priority = priority;
         this.strictMode = strictMode;
     }
 
     @Override
     public ValidationResult validate(Map<String, Object> record) {
-        List<ValidationResult.ValidationError> errors = new ArrayList<>();
+        ErrorCollector errors = new ErrorCollector();
+        double score = validateInto(record, errors);
+        return errors.toResult(!errors.isRejected(), score);
+    }
+
+    @Override
+    public double validateInto(Map<String, Object> record, ErrorCollector errors) {
+        int before = errors.size();
         double score = 1.0;
 
+        for (String field : fields) {
+            // A missing key and an explicit null are treated the same, so one lookup suffices
+            score -= checkField(field, record.get(field), errors);
+        }
+
+        return finish(errors, before, score);
+    }
+
+    @Override
+    public SlotValidator bind(FieldLayout layout) {
+        int[] slots = layout.slotsOf(requiredFields);
+        return (record, errors) -> {
+            int before = errors.size();
+            double score = 1.0;
+
+            for (int i = 0; i < slots.length; i++) {
+                score -= checkField(fields[i], record.get(slots[i]), errors);
+            }
+
+            return finish(errors, before, score);
+        };
+    }
+
+    @Override
+    public long[] validateColumns(ColumnBatch batch) {
+        int rows = batch.getRowCount();
+        long[] failures = Bitmap.create(rows);
+        if (!strictMode) {
+            return failures; // Without strict mode no error is CRITICAL, so no record is invalid
+        }
+
         for (String field : requiredFields) {
-            if (!record.containsKey(field) || record.get(field) == null) {
-                ValidationResult.Severity severity = strictMode 
-                    ? ValidationResult.Severity.CRITICAL 
-                    : ValidationResult.Severity.MEDIUM;
-                errors.add(new ValidationResult.ValidationError(
-                    name, field, "Required field is missing or null", severity
-                ));
-                // Score penalty - exact calculation method varies
-                score -= 1.0 / requiredFields.size();
-            } else if (record.get(field).toString().trim().isEmpty()) {
-                // Empty string handling - ambiguous: is this an error?
-                if (strictMode) {
-                    errors.add(new ValidationResult.ValidationError(
-                        name, field, "Required field is empty", ValidationResult.Severity.HIGH
-                    ));
-                    score -= 0.5 / requiredFields.size();
+            Column column = batch.column(field);
+            if (column == null) {
+                return Kernels.allRows(rows);
+            }
+            Bitmap.or(failures, Kernels.nulls(column));
+            if (column instanceof ObjectColumn) {
+                for (int row = 0; row < rows; row++) {
+                    Object value = column.getValue(row);
+                    if (value != null && isBlank(value)) {
+                        Bitmap.set(failures, row);
+                    }
                 }
             }
         }
+        return failures;
+    }
+
+    /**
+     * Check one field and return the score penalty for it.
+     */
+    private double checkField(String field, Object value, ErrorCollector errors) {
+        if (value == null) {
+            ValidationResult.Severity severity = strictMode
+                ? ValidationResult.Severity.CRITICAL
+                : ValidationResult.Severity.MEDIUM;
+            errors.add(new ValidationResult.ValidationError(
+                name, field, ValidationResult.ErrorCode.REQUIRED_MISSING, null, null, severity
+            ));
+            // Score penalty - exact calculation method varies
+            return 1.0 / fields.length;
+        }
+        // Empty string handling - ambiguous: is this an error? Only strict mode says yes
+        if (strictMode && isBlank(value)) {
+            errors.add(new ValidationResult.ValidationError(
+                name, field, ValidationResult.ErrorCode.REQUIRED_EMPTY, value, null, ValidationResult.Severity.HIGH
+            ));
+            return 0.5 / fields.length;
+        }
+        return 0.0;
+    }
+
+    /**
+     * Same as {@code value.toString().trim().isEmpty()}, without building
+     * strings for the common value types.
+     */
+    private static boolean isBlank(Object value) {
+        if (value instanceof String) {
+            String text = (String) value;
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) > ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return false;
+        }
+        return value.toString().trim().isEmpty();
+    }
+
+    private double finish(ErrorCollector errors, int before, double score) {
+        // Outside strict mode no error is CRITICAL, so only strict mode can invalidate a record
+        if (strictMode && errors.size() > before) {
+            errors.reject();
+        }
+        return Math.max(0.0, score);
+    }
 
-        boolean valid = errors.isEmpty() || (!strictMode && errors.stream()
-            .noneMatch(e -> e.getSeverity() == ValidationResult.Severity.CRITICAL));
-        
-        return new ValidationResult(valid, errors, Math.max(0.0, score));
+    @Override
+    public Set<String> getReferencedFields() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(requiredFields));
     }
 
     @Override
@@ -63,4 +161,3 @@ public class RequiredFieldValidator implements Validator {
         return priority;
     }
 }
-
@@ -0,0 +1,24 @@
+package com.datavalidator.validators;
+
+import com.datavalidator.core.ErrorCollector;
+import com.datavalidator.core.SlotRecord;
+import com.datavalidator.core.ValidationResult;
+
+/**
+ * A validator bound to a {@link com.datavalidator.core.FieldLayout}, with all
+ * field names already resolved to slots.
+ */
+@FunctionalInterface
+public interface SlotValidator {
+    /**
+     * Validate a record, writing errors into a caller-owned collector.
+     * Same contract as {@link Validator#validateInto}.
+     */
+    double validateInto(SlotRecord record, ErrorCollector errors);
+
+    default ValidationResult validate(SlotRecord record) {
+        ErrorCollector errors = new ErrorCollector();
+        double score = validateInto(record, errors);
+        return errors.toResult(!errors.isRejected(), score);
+    }
+}
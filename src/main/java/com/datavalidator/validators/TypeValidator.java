@@ -1,100 +1,292 @@
 package com.datavalidator.validators;
 
+import com.datavalidator.columnar.Bitmap;
+import com.datavalidator.columnar.Column;
+import com.datavalidator.columnar.ColumnBatch;
+import com.datavalidator.columnar.Kernels;
+import com.datavalidator.columnar.ObjectColumn;
+import com.datavalidator.core.ErrorCollector;
+import com.datavalidator.core.FieldLayout;
+import com.datavalidator.core.NumberParser;
 import com.datavalidator.core.ValidationResult;
-import java.util.ArrayList;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Validates field types and formats.
  */
-public class TypeValidator implements Validator {
+public class TypeValidator implements ColumnarValidator, FieldwiseValidator {
     private final String name;
     private final Map<String, String> fieldTypes; // Field name -> expected type
     private final int priority;
     private final boolean allowCoercion; // Coercion behavior not fully specified
+    private final String[] fields; // fieldTypes keys and values as parallel arrays, in map order
+    private final String[] types;
+    private final TypeCheck[] checks; // one per field, in map order
 
     public TypeValidator(String name, Map<String, String> fieldTypes, int priority, boolean allowCoercion) {
         this.name = name;
-        this.fieldTypes = fieldTypes;
+        this.fieldTypes = new LinkedHashMap<>(fieldTypes);
         this.priority = priority;
         this.allowCoercion = allowCoercion;
+        this.fields = this.fieldTypes.keySet().toArray(new String[0]);
+        this.types = this.fieldTypes.values().toArray(new String[0]);
+        this.checks = new TypeCheck[types.length];
+        for (int i = 0; i < types.length; i++) {
+            checks[i] = TypeCheck.forType(types[i]);
+        }
     }
 
     @Override
     public ValidationResult validate(Map<String, Object> record) {
-        List<ValidationResult.ValidationError> errors = new ArrayList<>();
-        double score = 1.0;
+        ErrorCollector errors = new ErrorCollector();
+        double score = validateInto(record, errors);
+        return errors.toResult(!errors.isRejected(), score);
+    }
+
+    @Override
+    public double validateInto(Map<String, Object> record, ErrorCollector errors) {
+        int before = errors.size();
+        double penalty = 0.0;
         int checkedFields = 0;
 
-        for (Map.Entry<String, String> entry : fieldTypes.entrySet()) {
-            String field = entry.getKey();
-            String expectedType = entry.getValue();
-            
-            if (!record.containsKey(field)) {
+        for (int i = 0; i < fields.length; i++) {
+            Object value = record.get(fields[i]);
+
+            if (value == null && !record.containsKey(fields[i])) {
                 continue; // Missing fields handled by RequiredFieldValidator
             }
 
             checkedFields++;
-            Object value = record.get(field);
-            
-            if (value == null) {
-                continue; // Null handling ambiguous - depends on nullable config
-            }
+            penalty += checkField(i, value, errors);
+        }
+
+        return finish(errors, before, penalty, checkedFields);
+    }
+
+    @Override
+    public SlotValidator bind(FieldLayout layout) {
+        int[] slots = layout.slotsOf(Arrays.asList(fields));
+
+        return (record, errors) -> {
+            int before = errors.size();
+            double penalty = 0.0;
+            int checkedFields = 0;
 
-            boolean typeMatches = checkType(value, expectedType, allowCoercion);
-            if (!typeMatches) {
-                ValidationResult.Severity severity = allowCoercion 
-                    ? ValidationResult.Severity.LOW 
-                    : ValidationResult.Severity.HIGH;
-                errors.add(new ValidationResult.ValidationError(
-                    name, field, 
-                    String.format("Expected type %s but got %s", expectedType, value.getClass().getSimpleName()),
-                    severity
-                ));
-                score -= 0.3; // Penalty calculation method varies
+            for (int i = 0; i < slots.length; i++) {
+                if (!record.isPresent(slots[i])) {
+                    continue;
+                }
+                checkedFields++;
+                penalty += checkField(i, record.get(slots[i]), errors);
             }
-        }
 
-        if (checkedFields > 0) {
-            score = Math.max(0.0, score / checkedFields * fieldTypes.size());
+            return finish(errors, before, penalty, checkedFields);
+        };
+    }
+
+    @Override
+    public List<String> getCheckedFields() {
+        return Arrays.asList(fields);
+    }
+
+    @Override
+    public double checkField(int index, Object value, ErrorCollector errors) {
+        if (value == null) {
+            return 0.0; // Null handling ambiguous - depends on nullable config
         }
 
-        boolean valid = errors.isEmpty() || (allowCoercion && errors.stream()
-            .noneMatch(e -> e.getSeverity() == ValidationResult.Severity.HIGH));
-        
-        return new ValidationResult(valid, errors, Math.max(0.0, Math.min(1.0, score)));
+        boolean typeMatches = checks[index].check(value, allowCoercion);
+        if (!typeMatches) {
+            ValidationResult.Severity severity = allowCoercion
+                ? ValidationResult.Severity.LOW
+                : ValidationResult.Severity.HIGH;
+            errors.add(new ValidationResult.ValidationError(
+                name, fields[index], ValidationResult.ErrorCode.TYPE_MISMATCH, value.getClass(), types[index], severity
+            ));
+            return 0.3; // Penalty calculation method varies
+        }
+        return 0.0;
     }
 
-    private boolean checkType(Object value, String expectedType, boolean allowCoercion) {
-        String actualType = value.getClass().getSimpleName().toLowerCase();
-        String expected = expectedType.toLowerCase();
+    @Override
+    public double finish(ErrorCollector errors, int before, double penalty, int checkedFields) {
+        double score = 1.0 - penalty;
+        if (checkedFields > 0) {
+            score = Math.max(0.0, score / checkedFields * fields.length);
+        }
 
-        if (actualType.contains(expected) || expected.contains(actualType)) {
-            return true;
+        // With coercion every mismatch is LOW severity, so only coercion-free checks invalidate a record
+        if (!allowCoercion && errors.size() > before) {
+            errors.reject();
         }
 
+        return Math.max(0.0, Math.min(1.0, score));
+    }
+
+    @Override
+    public long[] validateColumns(ColumnBatch batch) {
+        long[] failures = Bitmap.create(batch.getRowCount());
         if (allowCoercion) {
-            // Coercion rules not fully documented
-            if (expected.equals("integer") && (value instanceof Number || value instanceof String)) {
-                try {
-                    Integer.parseInt(value.toString());
-                    return true;
-                } catch (NumberFormatException e) {
-                    return false;
+            return failures; // Coercion mismatches are LOW severity and never invalidate a record
+        }
+
+        for (int i = 0; i < fields.length; i++) {
+            Column column = batch.column(fields[i]);
+            if (column == null) {
+                continue;
+            }
+            if (column instanceof ObjectColumn) {
+                for (int row = 0; row < batch.getRowCount(); row++) {
+                    Object value = column.getValue(row);
+                    if (value != null && !checks[i].check(value, false)) {
+                        Bitmap.set(failures, row);
+                    }
                 }
+            } else if (!checks[i].accepts(column.getValueType())) {
+                // Every value of a primitive column has the same type, so one check covers the column
+                Bitmap.or(failures, Kernels.nonNull(column));
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Type check for one field, resolved from its type name at construction.
+     * Known names map to class identity checks; other names keep the legacy
+     * match on the class's simple name. Verdicts for the value classes the
+     * readers produce are computed up front, so columns mixing them (such as
+     * CSV integers inferred as Integer or Long) never allocate; any other
+     * class is cached as the last one seen.
+     */
+    static final class TypeCheck {
+        private static final Class<?>[] VALUE_CLASSES = {
+            String.class, Integer.class, Long.class, Double.class, Boolean.class,
+            BigInteger.class, BigDecimal.class, Float.class, Short.class, Byte.class
+        };
+
+        private final Predicate<Class<?>> accepts;
+        private final Predicate<Object> coercion; // null when the type cannot be coerced to
+        private final boolean[] valueVerdicts; // parallel to VALUE_CLASSES
+        private ClassVerdict cache; // racy but safe: ClassVerdict is immutable
+
+        private static final class ClassVerdict {
+            final Class<?> type;
+            final boolean accepted;
+
+            ClassVerdict(Class<?> type, boolean accepted) {
+                this.type = type;
+                this.accepted = accepted;
+            }
+        }
+
+        TypeCheck(Predicate<Class<?>> accepts, Predicate<Object> coercion) {
+            this.accepts = accepts;
+            this.coercion = coercion;
+            this.valueVerdicts = new boolean[VALUE_CLASSES.length];
+            for (int i = 0; i < VALUE_CLASSES.length; i++) {
+                valueVerdicts[i] = accepts.test(VALUE_CLASSES[i]);
+            }
+        }
+
+        static TypeCheck forType(String typeName) {
+            switch (typeName.trim().toLowerCase()) {
+                case "integer":
+                case "int":
+                case "long":
+                case "short":
+                case "byte":
+                case "biginteger":
+                    // Widths are not checked: JSON integers bind to whichever class fits
+                    return new TypeCheck(TypeCheck::isIntegral, TypeCheck::parsesAsInteger);
+                case "double":
+                case "float":
+                case "decimal":
+                case "bigdecimal":
+                    return new TypeCheck(TypeCheck::isFloating, TypeCheck::parsesAsDouble);
+                case "number":
+                case "numeric":
+                    return new TypeCheck(Number.class::isAssignableFrom, TypeCheck::parsesAsDouble);
+                case "string":
+                case "str":
+                case "text":
+                    return new TypeCheck(CharSequence.class::isAssignableFrom, null);
+                case "boolean":
+                case "bool":
+                    return new TypeCheck(type -> type == Boolean.class, null);
+                case "list":
+                case "array":
+                    return new TypeCheck(type -> List.class.isAssignableFrom(type) || type.isArray(), null);
+                case "map":
+                case "object":
+                    return new TypeCheck(Map.class::isAssignableFrom, null);
+                default:
+                    String expected = typeName.trim().toLowerCase();
+                    return new TypeCheck(type -> matchesTypeName(type, expected), null);
             }
-            if (expected.equals("double") && (value instanceof Number || value instanceof String)) {
-                try {
-                    Double.parseDouble(value.toString());
-                    return true;
-                } catch (NumberFormatException e) {
-                    return false;
+        }
+
+        boolean accepts(Class<?> type) {
+            for (int i = 0; i < VALUE_CLASSES.length; i++) {
+                if (VALUE_CLASSES[i] == type) {
+                    return valueVerdicts[i];
                 }
             }
+            ClassVerdict verdict = cache;
+            if (verdict == null || verdict.type != type) {
+                verdict = new ClassVerdict(type, accepts.test(type));
+                cache = verdict;
+            }
+            return verdict.accepted;
+        }
+
+        boolean check(Object value, boolean allowCoercion) {
+            if (accepts(value.getClass())) {
+                return true;
+            }
+            return allowCoercion && coercion != null && coercion.test(value);
+        }
+
+        private static boolean isIntegral(Class<?> type) {
+            return type == Integer.class || type == Long.class || type == Short.class
+                || type == Byte.class || type == BigInteger.class;
+        }
+
+        private static boolean isFloating(Class<?> type) {
+            return type == Double.class || type == Float.class || type == BigDecimal.class;
+        }
+
+        // Coercion rules not fully documented: numbers and strings whose text parses
+        private static boolean parsesAsInteger(Object value) {
+            if (!(value instanceof Number || value instanceof String)) {
+                return false;
+            }
+            return NumberParser.local().parseInt(value.toString()) == NumberParser.Status.OK;
+        }
+
+        private static boolean parsesAsDouble(Object value) {
+            if (!(value instanceof Number || value instanceof String)) {
+                return false;
+            }
+            return NumberParser.local().parseDouble(value.toString()) == NumberParser.Status.OK;
         }
 
-        return false;
+        private static boolean matchesTypeName(Class<?> type, String expected) {
+            String actualType = type.getSimpleName().toLowerCase();
+            return actualType.contains(expected) || expected.contains(actualType);
+        }
+    }
+
+    @Override
+    public Set<String> getReferencedFields() {
+        return Collections.unmodifiableSet(fieldTypes.keySet());
     }
 
     @Override
@@ -1,7 +1,10 @@
 package com.datavalidator.validators;
 
+import com.datavalidator.core.ErrorCollector;
+import com.datavalidator.core.FieldLayout;
 import com.datavalidator.core.ValidationResult;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Interface for data validators.
@@ -24,5 +27,36 @@ public interface Validator {
      * Priority can be numeric or named - interpretation varies.
      */
     int getPriority();
-}
 
+    /**
+     * Validate a record without building a {@link ValidationResult}: append any
+     * errors to the caller-owned collector, call {@link ErrorCollector#reject()}
+     * if the record is invalid for this validator, and return the quality score.
+     * Implementations should not allocate when the record passes.
+     */
+    default double validateInto(Map<String, Object> record, ErrorCollector errors) {
+        ValidationResult result = validate(record);
+        errors.addAll(result.getErrors());
+        if (!result.isValid()) {
+            errors.reject();
+        }
+        return result.getQualityScore();
+    }
+
+    /**
+     * Fields this validator reads, or null if it cannot say (for example
+     * because it inspects the whole record).
+     */
+    default Set<String> getReferencedFields() {
+        return null;
+    }
+
+    /**
+     * Bind this validator to a slot layout. The layout contains a slot for
+     * every field returned by {@link #getReferencedFields()}. The default
+     * falls back to the record's map view.
+     */
+    default SlotValidator bind(FieldLayout layout) {
+        return (record, errors) -> validateInto(record, errors);
+    }
+}
@@ -0,0 +1,90 @@
+package com.datavalidator.validators;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded map from field values to memoized verdicts. Lookups are a plain
+ * concurrent hash lookup: no lock, and no write unless the entry has not been
+ * used since the last sweep. When an insert takes the cache over capacity a
+ * clock hand sweeps the entries, giving each recently used one a second
+ * chance and evicting the first that has none, which approximates LRU.
+ */
+final class ValueCache<V> {
+    private final int capacity;
+    private final ConcurrentHashMap<Object, Node<V>> map;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private Iterator<Map.Entry<Object, Node<V>>> hand; // guarded by this; weakly consistent, so it survives updates
+
+    private static final class Node<T> {
+        final T value;
+        volatile boolean referenced;
+
+        Node(T value) {
+            this.value = value;
+            this.referenced = true; // a new entry survives the sweep its own insert may trigger
+        }
+    }
+
+    ValueCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.map = new ConcurrentHashMap<>(Math.min(capacity, 1 << 16) * 4 / 3 + 1);
+    }
+
+    V get(Object key) {
+        Node<V> node = map.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        hits.increment();
+        return node.value;
+    }
+
+    void put(Object key, V value) {
+        if (map.putIfAbsent(key, new Node<>(value)) == null && map.size() > capacity) {
+            evict();
+        }
+    }
+
+    private synchronized void evict() {
+        while (map.size() > capacity) {
+            if (hand == null || !hand.hasNext()) {
+                hand = map.entrySet().iterator();
+            }
+            Map.Entry<Object, Node<V>> entry = hand.next();
+            Node<V> node = entry.getValue();
+            if (node.referenced) {
+                node.referenced = false;
+            } else if (map.remove(entry.getKey(), node)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    long getEvictions() {
+        return evictions.sum();
+    }
+
+    int size() {
+        return map.size();
+    }
+}
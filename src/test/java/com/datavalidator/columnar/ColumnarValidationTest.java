@@ -0,0 +1,103 @@
+package com.datavalidator.columnar;
+
+import com.datavalidator.core.ValidationEngine;
+import com.datavalidator.scoring.QualityScorer;
+import com.datavalidator.validators.ColumnarValidator;
+import com.datavalidator.validators.RangeValidator;
+import com.datavalidator.validators.RequiredFieldValidator;
+import com.datavalidator.validators.TypeValidator;
+import com.datavalidator.validators.Validator;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarValidationTest {
+    private static final int ROWS = 1000; // deliberately not a multiple of 64
+
+    private static ColumnBatch randomBatch() {
+        Random random = new Random(42);
+        double[] ages = new double[ROWS];
+        long[] ids = new long[ROWS];
+        Object[] names = new Object[ROWS];
+        long[] ageNulls = Bitmap.create(ROWS);
+
+        for (int i = 0; i < ROWS; i++) {
+            ages[i] = random.nextInt(10) == 0 ? Double.NaN : random.nextDouble() * 200 - 20;
+            if (i % 50 == 0) {
+                ages[i] = 150.0; // exactly on the bound
+            }
+            if (random.nextInt(8) == 0) {
+                Bitmap.set(ageNulls, i);
+            }
+            ids[i] = random.nextInt(300);
+            names[i] = random.nextInt(6) == 0 ? null : random.nextInt(6) == 0 ? " " : "n" + i;
+        }
+
+        return new ColumnBatch(ROWS)
+            .add(new DoubleColumn("age", ages, ageNulls))
+            .add(new LongColumn("id", ids, null))
+            .add(new ObjectColumn("name", names));
+    }
+
+    private static void assertMatchesRowPath(ColumnarValidator validator, ColumnBatch batch) {
+        long[] failures = validator.validateColumns(batch);
+        for (int row = 0; row < batch.getRowCount(); row++) {
+            boolean rowFails = !validator.validate(batch.row(row)).isValid();
+            assertEquals(rowFails, Bitmap.get(failures, row), validator.getName() + " row " + row);
+        }
+        for (int row = batch.getRowCount(); row < failures.length * 64; row++) {
+            assertFalse(Bitmap.get(failures, row), "padding bit " + row);
+        }
+    }
+
+    @Test
+    void testRangeKernelMatchesRowPath() {
+        ColumnBatch batch = randomBatch();
+        assertMatchesRowPath(new RangeValidator("inclusive", "age", 0.0, 150.0, true, 5), batch);
+        assertMatchesRowPath(new RangeValidator("exclusive", "age", 0.0, 150.0, false, 5), batch);
+        assertMatchesRowPath(new RangeValidator("min_only", "age", 0.0, null, true, 5), batch);
+        assertMatchesRowPath(new RangeValidator("long", "id", 10.0, 250.0, false, 5), batch);
+        assertMatchesRowPath(new RangeValidator("missing", "nope", 0.0, 1.0, true, 5), batch);
+    }
+
+    @Test
+    void testTypeKernelMatchesRowPath() {
+        ColumnBatch batch = randomBatch();
+        Map<String, String> types = new LinkedHashMap<>();
+        types.put("age", "integer");
+        types.put("id", "long");
+        types.put("name", "string");
+
+        assertMatchesRowPath(new TypeValidator("types", types, 5, false), batch);
+        assertMatchesRowPath(new TypeValidator("coerced", types, 5, true), batch);
+    }
+
+    @Test
+    void testRequiredKernelMatchesRowPath() {
+        ColumnBatch batch = randomBatch();
+        assertMatchesRowPath(new RequiredFieldValidator("strict", Arrays.asList("age", "name"), 5, true), batch);
+        assertMatchesRowPath(new RequiredFieldValidator("relaxed", Arrays.asList("age", "name"), 5, false), batch);
+        assertMatchesRowPath(new RequiredFieldValidator("missing", Arrays.asList("id", "nope"), 5, true), batch);
+    }
+
+    @Test
+    void testEngineValidateBatch() {
+        List<Validator> validators = Arrays.asList(
+            new RequiredFieldValidator("required", Arrays.asList("id"), 10, true),
+            new RangeValidator("age_range", "age", 0.0, 150.0, true, 5)
+        );
+        ValidationEngine engine = new ValidationEngine(validators,
+            new QualityScorer(QualityScorer.ScoringMode.AVERAGE, 0.8), ValidationEngine.ValidationMode.STRICT);
+
+        ColumnBatch batch = randomBatch();
+        ColumnBatchResult result = engine.validateBatch(batch);
+
+        assertEquals(0, result.failureCount("required"));
+        assertTrue(result.failureCount("age_range") > 0);
+        long[] any = result.anyFailure();
+        for (int row = 0; row < ROWS; row++) {
+            assertEquals(!engine.validate(batch.row(row)).isValid(), Bitmap.get(any, row));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.datavalidator.core;
+
+import com.datavalidator.io.RecordReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointTest {
+    @TempDir
+    Path dir;
+
+    private Path write(String name, int records) throws IOException {
+        StringBuilder content = new StringBuilder(name.endsWith(".csv") ? "id,name\n" : "");
+        for (int i = 0; i < records; i++) {
+            content.append(name.endsWith(".csv") ? i + ",n" + i + "\n" : "{\"id\": " + i + "}\n");
+        }
+        return Files.write(dir.resolve(name), content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteIsAtomicAndRoundTrips() throws IOException {
+        Path input = write("data.ndjson", 3);
+        Path file = dir.resolve("checkpoint.json");
+        Map<String, Object> report = Collections.singletonMap("records", 2);
+        Checkpoint checkpoint = new Checkpoint(input.toString(), Files.size(input),
+            Files.getLastModifiedTime(input).toMillis(), 42, 2, 1, 3, 1.5, report);
+        checkpoint.write(file);
+        checkpoint.write(file); // replaces the previous one
+
+        Checkpoint read = Checkpoint.read(file);
+        assertEquals(42, read.getOffset());
+        assertEquals(2, read.getRecords());
+        assertEquals(1, read.getPassed());
+        assertEquals(3, read.getErrors());
+        assertEquals(1.5, read.getScoreSum());
+        assertEquals(2, read.getReport().get("records"));
+        assertTrue(read.matches(input));
+        assertFalse(Files.exists(dir.resolve("checkpoint.json.tmp")));
+
+        Files.write(input, "{\"id\": 9}\n".getBytes(StandardCharsets.UTF_8));
+        assertFalse(read.matches(input));
+    }
+
+    @Test
+    void testCheckpointOffsetResumesAtNextRecord() throws IOException {
+        for (String name : Arrays.asList("data.csv", "data.ndjson")) {
+            Path input = write(name, 5000); // more records in flight than the initial offset queue holds
+            Path file = dir.resolve(name + ".checkpoint");
+            Checkpointer checkpointer = new Checkpointer(file, 0, input, 0);
+
+            try (RecordReader reader = ValidatorCLI.openReader(input, null)) {
+                Iterator<Map<String, Object>> records = checkpointer.track(reader);
+                for (int i = 0; i < 4000; i++) {
+                    records.next();
+                }
+                for (int i = 0; i < 2500; i++) {
+                    checkpointer.onResult(i + 1, i + 1, 0, i + 1, null);
+                }
+                checkpointer.write(2500, 2500, 0, 2500, null);
+            }
+
+            Checkpoint checkpoint = Checkpoint.read(file);
+            assertEquals(2500, checkpoint.getRecords());
+            try (RecordReader reader = ValidatorCLI.openReader(input, null, checkpoint.getOffset())) {
+                assertEquals(2500, ((Number) reader.next().get("id")).intValue(), name);
+            }
+            checkpointer.complete();
+            assertFalse(Files.exists(file));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.datavalidator.core;
+
+import com.datavalidator.config.ValidationConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngineRegistryTest {
+    private static final String AGE_RULES =
+        "mode: strict\n"
+        + "scoring:\n  mode: average\n  threshold: 0.8\n"
+        + "rules:\n"
+        + "  - name: age_range\n    type: range\n    field: age\n    min: 0\n    max: %d\n";
+
+    private static byte[] rules(int max) {
+        return String.format(AGE_RULES, max).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testSameContentHitsAndChangedContentReplaces() {
+        EngineRegistry registry = new EngineRegistry(10);
+        ValidationEngine first = registry.get("acme", rules(150));
+        assertSame(first, registry.get("acme", rules(150)));
+
+        ValidationEngine updated = registry.get("acme", rules(300));
+        assertNotSame(first, updated);
+        assertTrue(updated.validate(Collections.singletonMap("age", 200)).isValid());
+
+        EngineRegistry.Stats stats = registry.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(2, stats.getLoads());
+        assertEquals(1, stats.getSize()); // the old config's engine was dropped
+    }
+
+    @Test
+    void testTenantsAreKeptApart() {
+        EngineRegistry registry = new EngineRegistry(10);
+        assertNotSame(registry.get("a", rules(150)), registry.get("b", rules(150)));
+        assertEquals(2, registry.getStats().getSize());
+    }
+
+    @Test
+    void testConcurrentRequestsShareOneBuild() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        EngineRegistry registry = new EngineRegistry(10, config -> {
+            builds.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ValidatorCLI.createEngine(config);
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ValidationEngine>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> registry.get("acme", rules(150))));
+            }
+            Thread.sleep(50);
+            release.countDown();
+            ValidationEngine engine = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ValidationEngine> future : futures) {
+                assertSame(engine, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, builds.get());
+        assertEquals(1, registry.getStats().getLoads());
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        EngineRegistry registry = new EngineRegistry(2);
+        ValidationEngine a = registry.get("a", rules(150));
+        registry.get("b", rules(150));
+        registry.get("a", rules(150)); // a is now more recent than b
+        registry.get("c", rules(150));
+
+        assertSame(a, registry.get("a", rules(150)));
+        EngineRegistry.Stats stats = registry.getStats();
+        assertEquals(1, stats.getEvictions());
+        assertEquals(2, stats.getSize());
+
+        registry.get("b", rules(150));
+        assertEquals(4, registry.getStats().getLoads()); // b was rebuilt
+    }
+
+    @Test
+    void testFailedBuildIsNotCached() {
+        EngineRegistry registry = new EngineRegistry(10);
+        byte[] broken = "scoring:\n  mode: average\n  threshold: 0.8\nrules: []\n".getBytes(StandardCharsets.UTF_8);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> registry.get("acme", broken));
+        assertTrue(e.getMessage().startsWith("Invalid config"));
+        assertThrows(IllegalArgumentException.class, () -> registry.get("acme", broken));
+
+        EngineRegistry.Stats stats = registry.getStats();
+        assertEquals(2, stats.getLoadFailures());
+        assertEquals(0, stats.getSize());
+    }
+
+    @Test
+    void testBuilderErrorReleasesWaitersAndIsNotCached() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        EngineRegistry registry = new EngineRegistry(10, config -> {
+            if (builds.incrementAndGet() == 1) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new StackOverflowError("pathological pattern");
+            }
+            return ValidatorCLI.createEngine(config);
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<ValidationEngine> owner = pool.submit(() -> registry.get("acme", rules(150)));
+            Thread.sleep(50);
+            Future<ValidationEngine> waiter = pool.submit(() -> registry.get("acme", rules(150)));
+            Thread.sleep(50);
+            release.countDown();
+            for (Future<ValidationEngine> future : Arrays.asList(owner, waiter)) {
+                ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertTrue(e.getCause() instanceof StackOverflowError);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertNotNull(registry.get("acme", rules(150))); // the failure was not cached
+        assertEquals(1, registry.getStats().getLoadFailures());
+        assertEquals(1, registry.getStats().getSize());
+    }
+
+    @Test
+    void testParsedConfigsHashByContent() throws Exception {
+        ObjectMapper yaml = new ObjectMapper(new YAMLFactory());
+        EngineRegistry registry = new EngineRegistry(10);
+        ValidationEngine engine = registry.get("acme", yaml.readValue(rules(150), ValidationConfig.class));
+        assertSame(engine, registry.get("acme", yaml.readValue(rules(150), ValidationConfig.class)));
+    }
+
+    @Test
+    void testInvalidateForcesRebuild() {
+        EngineRegistry registry = new EngineRegistry(10);
+        ValidationEngine first = registry.get("acme", rules(150));
+        registry.invalidate("acme");
+        assertNotSame(first, registry.get("acme", rules(150)));
+    }
+}
@@ -0,0 +1,187 @@
+package com.datavalidator.core;
+
+import com.datavalidator.io.JsonRecordReader;
+import com.datavalidator.io.RecordReader;
+import com.datavalidator.scoring.DatasetQualityReport;
+import com.datavalidator.scoring.QualityScorer;
+import com.datavalidator.validators.RangeValidator;
+import com.datavalidator.validators.RequiredFieldValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiFileValidationTest {
+    @TempDir
+    Path dir;
+
+    private static ValidationEngine engine() {
+        return new ValidationEngine(
+            Collections.singletonList(new RangeValidator("age", "age", 0.0, 150.0, true, 5)),
+            new QualityScorer(QualityScorer.ScoringMode.AVERAGE, 0.8),
+            ValidationEngine.ValidationMode.STRICT);
+    }
+
+    /**
+     * Every fifth age is out of range.
+     */
+    private Path write(String name, int records) throws IOException {
+        StringBuilder content = new StringBuilder();
+        if (name.endsWith(".csv")) {
+            content.append("id,age\n");
+        } else if (name.endsWith(".json")) {
+            content.append("[\n");
+        }
+        for (int i = 0; i < records; i++) {
+            int age = i % 5 == 0 ? 200 : 30;
+            if (name.endsWith(".csv")) {
+                content.append(i).append(',').append(age).append('\n');
+            } else {
+                content.append("{\"id\": ").append(i).append(", \"age\": ").append(age).append('}');
+                content.append(name.endsWith(".json") ? (i + 1 < records ? ",\n" : "\n]\n") : "\n");
+            }
+        }
+        Files.createDirectories(dir.resolve(name).getParent());
+        return Files.write(dir.resolve(name), content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testChunksStartAtLineBoundariesAndCoverTheFile() throws IOException {
+        Path file = write("data.ndjson", 1000);
+        List<MultiFileValidation.Chunk> chunks = MultiFileValidation.chunk(file, 500);
+        assertTrue(chunks.size() > 10);
+
+        byte[] bytes = Files.readAllBytes(file);
+        long expectedStart = 0;
+        int ids = 0;
+        for (MultiFileValidation.Chunk chunk : chunks) {
+            assertEquals(expectedStart, chunk.start);
+            assertTrue(chunk.start == 0 || bytes[(int) chunk.start - 1] == '\n');
+            try (JsonRecordReader reader = JsonRecordReader.open(file, chunk.start, chunk.end)) {
+                while (reader.hasNext()) {
+                    assertEquals(ids++, ((Number) reader.next().get("id")).intValue());
+                }
+            }
+            expectedStart = chunk.end;
+        }
+        assertEquals(bytes.length, expectedStart);
+        assertEquals(1000, ids);
+    }
+
+    @Test
+    void testArrayAndCsvFilesAreNotSplit() throws IOException {
+        assertEquals(1, MultiFileValidation.chunk(write("array.json", 1000), 500).size());
+        assertEquals(1, MultiFileValidation.chunk(write("data.csv", 1000), 500).size());
+        assertTrue(MultiFileValidation.chunk(Files.write(dir.resolve("empty.ndjson"), new byte[0]), 500).isEmpty());
+    }
+
+    @Test
+    void testJsonFilesWithMultiLineObjectsAreNotSplit() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("{\n  \"id\": ").append(i).append(",\n  \"age\": ").append(i % 5 == 0 ? 200 : 30)
+                .append("\n}\n");
+        }
+        Path file = Files.write(dir.resolve("pretty.json"), content.toString().getBytes(StandardCharsets.UTF_8));
+        assertEquals(1, MultiFileValidation.chunk(file, 500).size());
+
+        DatasetQualityReport report = new MultiFileValidation(engine(), 4).run(Collections.singletonList(file)).getReport();
+        assertEquals(1000, report.getRecords());
+        assertEquals(800, report.getPassed());
+    }
+
+    @Test
+    void testMergedSummaryMatchesTheSumOfFiles() throws IOException {
+        write("a.ndjson", 3000);
+        write("b.jsonl", 2000);
+        write("nested/c.csv", 1000);
+        write("nested/d.json", 500);
+        Files.write(dir.resolve("notes.txt"), "ignored".getBytes(StandardCharsets.UTF_8));
+
+        List<Path> files = MultiFileValidation.resolve(dir.toString());
+        assertEquals(4, files.size());
+
+        MultiFileValidation.Summary summary = new MultiFileValidation(engine(), 4).run(files);
+        DatasetQualityReport report = summary.getReport();
+        assertEquals(4, summary.getFiles());
+        assertEquals(6500, report.getRecords());
+        assertEquals(5200, report.getPassed());
+        assertEquals(1300, report.getErrors());
+        assertEquals(0.9, report.getScores().getMean(), 1e-9);
+        assertEquals(0.2, report.getRuleFailureRate("age"), 1e-9);
+    }
+
+    @Test
+    void testFailFastDirectoryRunMatchesSingleFileRuns() throws IOException {
+        ValidationEngine engine = new ValidationEngine(
+            Arrays.asList(
+                new RequiredFieldValidator("required", Arrays.asList("id", "age"), 10, true),
+                new RangeValidator("age", "age", 0.0, 150.0, true, 5),
+                new RangeValidator("id", "id", 0.0, 100.0, true, 1)),
+            new QualityScorer(QualityScorer.ScoringMode.AVERAGE, 0.8),
+            ValidationEngine.ValidationMode.STRICT, true, false);
+        write("a.ndjson", 3000);
+        write("b.csv", 1000);
+        List<Path> files = MultiFileValidation.resolve(dir.toString());
+
+        DatasetQualityReport expected = DatasetQualityReport.forEngine(engine);
+        for (Path file : files) {
+            try (RecordReader reader = ValidatorCLI.openReader(file, null)) {
+                while (reader.hasNext()) {
+                    Map<String, Object> record = reader.next();
+                    expected.add(record, engine.validate(record));
+                }
+            }
+        }
+        DatasetQualityReport actual = new MultiFileValidation(engine, 4).run(files).getReport();
+
+        assertEquals(expected.getRecords(), actual.getRecords());
+        assertEquals(expected.getPassed(), actual.getPassed());
+        assertEquals(expected.getErrors(), actual.getErrors());
+        assertEquals(expected.getScores().getMean(), actual.getScores().getMean(), 1e-9);
+        for (String rule : Arrays.asList("required", "age", "id")) {
+            assertEquals(expected.getRuleFailureRate(rule), actual.getRuleFailureRate(rule), 1e-9, rule);
+        }
+    }
+
+    @Test
+    void testUniqueRuleSeesKeysAcrossFiles() throws IOException {
+        write("a.ndjson", 3000);
+        write("b.ndjson", 2000);
+        write("c.csv", 1000);
+        write("d.json", 500);
+        UniqueKeyCheck check = new UniqueKeyCheck("id_unique", Collections.singletonList("id"), 16, dir, 5);
+
+        // No rule reads id, so slot records only carry it if the plan gave the key a slot
+        MultiFileValidation.Summary summary = new MultiFileValidation(engine(), 4, Collections.singletonList(check))
+            .run(MultiFileValidation.resolve(dir.toString()));
+        assertEquals(6500, summary.getReport().getRecords());
+        assertEquals(5200, summary.getReport().getPassed());
+
+        UniqueKeyCheck.Result result = check.finish();
+        assertEquals(6500, result.getKeys());
+        assertEquals(3000, result.getDistinct());
+        assertEquals(3500, result.getDuplicates());
+    }
+
+    @Test
+    void testGlobSelectsMatchingFiles() throws IOException {
+        write("a.ndjson", 10);
+        write("b.ndjson", 10);
+        write("c.csv", 10);
+        write("nested/d.ndjson", 10);
+
+        assertEquals(2, MultiFileValidation.resolve(dir + "/*.ndjson").size());
+        assertEquals(3, MultiFileValidation.resolve(dir + "/**.ndjson").size());
+        assertTrue(MultiFileValidation.isMultiFile(dir + "/*.ndjson"));
+        assertTrue(MultiFileValidation.isMultiFile(dir.toString()));
+        assertFalse(MultiFileValidation.isMultiFile(dir.resolve("a.ndjson").toString()));
+        assertFalse(MultiFileValidation.isMultiFile(write("data[1].ndjson", 10).toString())); // literal name
+        assertTrue(MultiFileValidation.isMultiFile(dir + "/data[0-9].ndjson"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.datavalidator.core;
+
+import org.junit.jupiter.api.Test;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberParserTest {
+    private static final List<String> DOUBLE_SAMPLES = Arrays.asList(
+        "0", "-0", "+0.0", "1", "-1", "42", "3.14", ".5", "5.", "-.5e-3", "1e10", "1E+10", "1e-10",
+        "123456789012345678", "1234567890123456789012", "0.1", "0.30000000000000004", "2.2250738585072014E-308",
+        "4.9e-324", "1e-400", "1.7976931348623157e308", "1e309", "9007199254740993", "00012.50",
+        " 7 ", "\t-8.5\n", "1f", "2.5D", "NaN", "-NaN", "Infinity", "-Infinity", "+Infinity",
+        "0x1p3", "0X1.8P1", "-0x.8p1d", "1e99999999999", "0.000000000000000000000000000001",
+        "", " ", "-", "+", ".", "e5", "1e", "1e+", "abc", "1.2.3", "1,5", "12a", "0x1", "0x1.8",
+        "0xp1", "Inf", "nan", "infinity", "1 2", "--1", "1e5.5", "1ff", "٣", "NaNf"
+    );
+
+    private static final List<String> INT_SAMPLES = Arrays.asList(
+        "0", "-0", "+7", "2147483647", "-2147483648", "2147483648", "-2147483649", "99999999999999999999",
+        "٣٤", "", "-", "+", " 1", "1 ", "1.0", "1e3", "abc", "12a", "99999999999999999999x"
+    );
+
+    @Test
+    void testDoubleMatchesJdk() {
+        NumberParser parser = new NumberParser();
+        for (String text : DOUBLE_SAMPLES) {
+            Double expected;
+            try {
+                expected = Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                expected = null;
+            }
+            NumberParser.Status status = parser.parseDouble(text);
+            if (expected == null) {
+                assertEquals(NumberParser.Status.INVALID, status, text);
+            } else {
+                assertEquals(NumberParser.Status.OK, status, text);
+                assertEquals(expected, (Double) parser.doubleValue(), text); // bitwise, so -0.0 and NaN count
+            }
+        }
+    }
+
+    @Test
+    void testRandomDoublesRoundTrip() {
+        NumberParser parser = new NumberParser();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            double value = i % 2 == 0
+                ? random.nextDouble() * Math.pow(10, random.nextInt(40) - 20)
+                : Math.round(random.nextDouble() * 1_000_000) / 100.0;
+            String text = i % 3 == 0 ? String.format("%.6f", value) : Double.toString(value);
+            assertEquals(NumberParser.Status.OK, parser.parseDouble(text), text);
+            assertEquals(Double.parseDouble(text), parser.doubleValue(), 0.0, text);
+        }
+    }
+
+    @Test
+    void testIntMatchesJdk() {
+        NumberParser parser = new NumberParser();
+        for (String text : INT_SAMPLES) {
+            Integer expected;
+            try {
+                expected = Integer.parseInt(text);
+            } catch (NumberFormatException e) {
+                expected = null;
+            }
+            NumberParser.Status status = parser.parseInt(text);
+            if (expected == null) {
+                assertNotEquals(NumberParser.Status.OK, status, text);
+            } else {
+                assertEquals(NumberParser.Status.OK, status, text);
+                assertEquals(expected.intValue(), parser.intValue(), text);
+            }
+        }
+        assertEquals(NumberParser.Status.OUT_OF_RANGE, parser.parseInt("2147483648"));
+        assertEquals(NumberParser.Status.INVALID, parser.parseInt("99999999999999999999x"));
+    }
+
+    @Test
+    void testLongBounds() {
+        NumberParser parser = new NumberParser();
+        assertEquals(NumberParser.Status.OK, parser.parseLong("-9223372036854775808"));
+        assertEquals(Long.MIN_VALUE, parser.longValue());
+        assertEquals(NumberParser.Status.OK, parser.parseLong("9223372036854775807"));
+        assertEquals(Long.MAX_VALUE, parser.longValue());
+        assertEquals(NumberParser.Status.OUT_OF_RANGE, parser.parseLong("9223372036854775808"));
+    }
+
+    @Test
+    void testParsesAnyCharSequence() {
+        NumberParser parser = new NumberParser();
+        assertEquals(NumberParser.Status.OK, parser.parseDouble(new StringBuilder("12.75")));
+        assertEquals(12.75, parser.doubleValue(), 0.0);
+    }
+}
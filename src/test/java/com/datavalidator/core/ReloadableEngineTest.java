@@ -0,0 +1,167 @@
+package com.datavalidator.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReloadableEngineTest {
+    private static final String AGE_RULES =
+        "mode: strict\n"
+        + "scoring:\n  mode: average\n  threshold: 0.8\n"
+        + "rules:\n"
+        + "  - name: age_range\n    type: range\n    field: age\n    min: 0\n    max: %d\n";
+
+    @TempDir
+    Path dir;
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Object> age(int age) {
+        return Collections.singletonMap("age", age);
+    }
+
+    @Test
+    void testReloadSwapsEngine() throws IOException {
+        Path config = write("rules.yaml", String.format(AGE_RULES, 150));
+        ReloadableEngine engine = new ReloadableEngine(config);
+        ValidationEngine before = engine.current();
+        assertFalse(engine.validate(age(200)).isValid());
+
+        assertFalse(engine.reload()); // unchanged
+        write("rules.yaml", String.format(AGE_RULES, 300));
+        assertTrue(engine.reload());
+
+        assertTrue(engine.validate(age(200)).isValid());
+        assertNotSame(before, engine.current());
+        assertFalse(before.validate(age(200)).isValid()); // holders of the old engine are unaffected
+        assertEquals(1, engine.getReloadCount());
+    }
+
+    @Test
+    void testBrokenConfigNeverReplacesWorkingEngine() throws IOException {
+        Path config = write("rules.yaml", String.format(AGE_RULES, 150));
+        ReloadableEngine engine = new ReloadableEngine(config);
+        ValidationEngine working = engine.current();
+        List<Exception> failures = new ArrayList<>();
+        engine.addListener(new ReloadableEngine.ReloadListener() {
+            @Override
+            public void onReloadFailed(Path path, Exception cause) {
+                failures.add(cause);
+            }
+        });
+
+        for (String broken : Arrays.asList(
+                "rules: [unclosed",
+                "",
+                String.format(AGE_RULES, 150).replace("type: range", "type: regex"),
+                String.format(AGE_RULES, 150).replace("    field: age\n", ""))) {
+            write("rules.yaml", broken);
+            assertFalse(engine.reload(), broken);
+            assertSame(working, engine.current());
+        }
+        assertEquals(4, engine.getFailedReloadCount());
+        assertEquals(4, failures.size());
+        assertTrue(failures.get(2).getMessage().contains("unknown type 'regex'"));
+    }
+
+    @Test
+    void testInitialConfigMustLoad() throws IOException {
+        Path config = write("rules.yaml", "mode: strict\nrules: []\n");
+        assertThrows(IllegalArgumentException.class, () -> new ReloadableEngine(config));
+    }
+
+    @Test
+    void testCustomizerAppliesToEveryBuild() throws IOException {
+        Path config = write("rules.yaml", String.format(AGE_RULES, 150));
+        List<ValidationEngine> built = new ArrayList<>();
+        ReloadableEngine engine = new ReloadableEngine(config, e -> {
+            built.add(e);
+            return e;
+        });
+        write("rules.yaml", String.format(AGE_RULES, 10));
+        engine.reload();
+
+        assertEquals(2, built.size());
+        assertSame(built.get(1), engine.current());
+    }
+
+    @Test
+    void testThrowingListenerDoesNotStopReloadsOrOtherListeners() throws IOException {
+        Path config = write("rules.yaml", String.format(AGE_RULES, 150));
+        AtomicInteger builds = new AtomicInteger();
+        ReloadableEngine engine = new ReloadableEngine(config, e -> {
+            if (builds.incrementAndGet() == 2) {
+                throw new StackOverflowError("pathological pattern");
+            }
+            return e;
+        });
+        List<Object> seen = new ArrayList<>();
+        engine.addListener(new ReloadableEngine.ReloadListener() {
+            @Override
+            public void onReloaded(ValidationEngine e) {
+                throw new IllegalStateException("listener bug");
+            }
+
+            @Override
+            public void onReloadFailed(Path path, Exception cause) {
+                throw new IllegalStateException("listener bug");
+            }
+        });
+        engine.addListener(new ReloadableEngine.ReloadListener() {
+            @Override
+            public void onReloaded(ValidationEngine e) {
+                seen.add(e);
+            }
+
+            @Override
+            public void onReloadFailed(Path path, Exception cause) {
+                seen.add(cause);
+            }
+        });
+
+        write("rules.yaml", String.format(AGE_RULES, 300));
+        assertFalse(engine.reload()); // the build overflowed
+        assertTrue(seen.get(0) instanceof IllegalArgumentException);
+        assertEquals(1, engine.getFailedReloadCount());
+
+        assertTrue(engine.reload());
+        assertSame(engine.current(), seen.get(1));
+        assertTrue(engine.validate(age(200)).isValid());
+    }
+
+    @Test
+    void testWatcherReloadsOnChange() throws Exception {
+        Path config = write("rules.yaml", String.format(AGE_RULES, 150));
+        ReloadableEngine engine = new ReloadableEngine(config);
+        AtomicReference<ValidationEngine> reloaded = new AtomicReference<>();
+        engine.addListener(new ReloadableEngine.ReloadListener() {
+            @Override
+            public void onReloaded(ValidationEngine e) {
+                reloaded.set(e);
+            }
+        });
+
+        ConfigWatcher watcher = new ConfigWatcher(engine, 50, 200);
+        try {
+            write("rules.yaml", String.format(AGE_RULES, 300));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (reloaded.get() == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+        } finally {
+            watcher.close();
+        }
+        assertNotNull(reloaded.get());
+        assertTrue(engine.validate(age(200)).isValid());
+    }
+}
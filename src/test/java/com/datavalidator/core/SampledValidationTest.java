@@ -0,0 +1,120 @@
+package com.datavalidator.core;
+
+import com.datavalidator.io.RecordReader;
+import com.datavalidator.scoring.QualityEstimate;
+import com.datavalidator.scoring.QualityScorer;
+import com.datavalidator.validators.RangeValidator;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledValidationTest {
+    private static final int RECORDS = 200_000;
+
+    /**
+     * Records whose age is out of range for every fifth record, counting how
+     * many were built versus skipped.
+     */
+    private static final class SyntheticReader implements RecordReader {
+        int position;
+        int built;
+
+        @Override
+        public boolean hasNext() {
+            return position < RECORDS;
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            built++;
+            return Collections.singletonMap("age", position++ % 5 == 0 ? 200 : 30);
+        }
+
+        @Override
+        public boolean skip() {
+            if (position >= RECORDS) {
+                return false;
+            }
+            position++;
+            return true;
+        }
+
+        @Override
+        public long getBytesRead() {
+            return position;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static ValidationEngine engine() {
+        return new ValidationEngine(
+            Collections.singletonList(new RangeValidator("age", "age", 0.0, 150.0, true, 5)),
+            new QualityScorer(QualityScorer.ScoringMode.AVERAGE, 0.8),
+            ValidationEngine.ValidationMode.STRICT);
+    }
+
+    @Test
+    void testBernoulliIntervalsCoverTheTrueValues() {
+        SyntheticReader reader = new SyntheticReader();
+        SampledValidation sampling = SampledValidation.bernoulli(engine(), 0.1, 0.0, 0.99, 42);
+        QualityEstimate estimate = sampling.run(reader);
+
+        assertEquals(RECORDS, sampling.getRecordsScanned());
+        assertFalse(sampling.isStoppedEarly());
+        assertEquals(estimate.getSampleSize(), reader.built); // unsampled records were skipped
+        assertEquals(RECORDS * 0.1, estimate.getSampleSize(), RECORDS * 0.01);
+        assertTrue(estimate.getPassRateLow() <= 0.8 && 0.8 <= estimate.getPassRateHigh());
+        assertTrue(estimate.getMeanScoreLow() <= 0.9 && 0.9 <= estimate.getMeanScoreHigh());
+    }
+
+    @Test
+    void testBernoulliStopsAtTargetMargin() {
+        SyntheticReader reader = new SyntheticReader();
+        SampledValidation sampling = SampledValidation.bernoulli(engine(), 0.5, 0.02, 0.95, 7);
+        QualityEstimate estimate = sampling.run(reader);
+
+        assertTrue(sampling.isStoppedEarly());
+        assertTrue(estimate.isWithinMargin(0.02));
+        assertTrue(sampling.getRecordsScanned() < RECORDS);
+        assertEquals(0.8, estimate.getPassRate(), 0.03);
+    }
+
+    @Test
+    void testReservoirKeepsFixedSizeSample() {
+        SyntheticReader reader = new SyntheticReader();
+        SampledValidation sampling = SampledValidation.reservoir(engine(), 2000, 0.99, 3);
+        QualityEstimate estimate = sampling.run(reader);
+
+        assertEquals(2000, estimate.getSampleSize());
+        assertEquals(RECORDS, sampling.getRecordsScanned());
+        assertTrue(reader.built < RECORDS / 10); // only reservoir candidates were built
+        assertTrue(estimate.getPassRateLow() <= 0.8 && 0.8 <= estimate.getPassRateHigh());
+
+        Map<String, Object> report = sampling.toMap(estimate);
+        assertEquals("reservoir", report.get("method"));
+        assertNotNull(report.get("passRate"));
+    }
+
+    @Test
+    void testSmallInputFillsPartOfTheReservoir() {
+        SyntheticReader reader = new SyntheticReader();
+        reader.position = RECORDS - 10;
+        QualityEstimate estimate = SampledValidation.reservoir(engine(), 100, 0.95, 1).run(reader);
+        assertEquals(10, estimate.getSampleSize());
+    }
+
+    @Test
+    void testWilsonIntervalAtCertainty() {
+        QualityEstimate estimate = new QualityEstimate(0.95);
+        for (int i = 0; i < 100; i++) {
+            estimate.add(true, 1.0);
+        }
+        assertEquals(1.0, estimate.getPassRate());
+        assertEquals(1.0, estimate.getPassRateHigh(), 1e-9);
+        assertEquals(0.963, estimate.getPassRateLow(), 0.001); // Wilson bound, not a zero-width interval
+    }
+}
@@ -0,0 +1,108 @@
+package com.datavalidator.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UniqueKeyCheckTest {
+    @TempDir
+    Path dir;
+
+    private static Map<String, Object> record(Object... pairs) {
+        Map<String, Object> record = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            record.put((String) pairs[i], pairs[i + 1]);
+        }
+        return record;
+    }
+
+    @Test
+    void testCountsRepeatsInMemory() throws IOException {
+        UniqueKeyCheck check = new UniqueKeyCheck("id_unique", Collections.singletonList("id"), 16, dir, 10);
+        check.add(record("id", 1L));
+        check.add(record("id", "2"));
+        check.add(record("id", 1.0));   // same key as 1
+        check.add(record("id", "1"));   // and again
+        check.add(record("id", null));  // not counted
+        check.add(record("other", 5));
+
+        UniqueKeyCheck.Result result = check.finish();
+        assertEquals(4, result.getKeys());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(2, result.getDistinct());
+        assertEquals(Collections.singletonList("1"), result.getSamples());
+        assertEquals(0, result.getSpilledBytes());
+    }
+
+    @Test
+    void testCompositeKeys() throws IOException {
+        UniqueKeyCheck check = new UniqueKeyCheck("order_line", Arrays.asList("order", "line"), 16, dir, 10);
+        check.add(record("order", "A", "line", 1));
+        check.add(record("order", "A", "line", 2));
+        check.add(record("order", "A", "line", 1));
+        check.add(record("order", "A1", "line", "")); // no ambiguity from concatenation
+        check.add(record("order", "A", "line", "1"));
+        check.add(record("order", "A"));
+
+        UniqueKeyCheck.Result result = check.finish();
+        assertEquals(5, result.getKeys());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(Collections.singletonList("A|1"), result.getSamples());
+    }
+
+    @Test
+    void testSpillsAndSplitsPartitionsFromSeveralThreads() throws Exception {
+        int records = 600_000;
+        Random random = new Random(3);
+        long[] ids = new long[records];
+        Set<Long> seen = new HashSet<>();
+        long expectedDuplicates = 0;
+        for (int i = 0; i < records; i++) {
+            ids[i] = random.nextInt(records * 4 / 5);
+            if (!seen.add(ids[i])) {
+                expectedDuplicates++;
+            }
+        }
+
+        // Tiny tables: stripes spill early and partitions must be split again
+        UniqueKeyCheck check = new UniqueKeyCheck("id_unique", Collections.singletonList("id"), dir, 5, 1024);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int from = t * records / 4;
+                int to = (t + 1) * records / 4;
+                futures.add(pool.submit(() -> {
+                    for (int i = from; i < to; i++) {
+                        check.add(Collections.singletonMap("id", "K" + ids[i]));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        UniqueKeyCheck.Result result = check.finish();
+        assertEquals(records, result.getKeys());
+        assertEquals(expectedDuplicates, result.getDuplicates());
+        assertEquals(seen.size(), result.getDistinct());
+        assertTrue(result.getSpilledBytes() > 0);
+        assertEquals(5, result.getSamples().size());
+        for (String sample : result.getSamples()) {
+            assertTrue(seen.contains(Long.parseLong(sample.substring(1))));
+        }
+        try (Stream<Path> left = Files.list(dir)) {
+            assertEquals(0, left.count()); // partitions deleted
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.datavalidator.core;
 
 import com.datavalidator.scoring.QualityScorer;
 import com.datavalidator.validators.RequiredFieldValidator;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 import java.util.*;
 
@@ -44,5 +45,310 @@ class ValidationEngineTest {
         ValidationResult result = engine.validate(record);
         assertFalse(result.isValid());
     }
-}
 
+    @Test
+    void testValidateAllPreservesOrder() {
+        List<com.datavalidator.validators.Validator> validators = Arrays.asList(
+            new RequiredFieldValidator("req1", Arrays.asList("id", "name"), 5, true)
+        );
+
+        QualityScorer scorer = new QualityScorer(QualityScorer.ScoringMode.AVERAGE, 0.8);
+        ValidationEngine engine = new ValidationEngine(
+            validators, scorer, ValidationEngine.ValidationMode.STRICT
+        );
+
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("id", i);
+            if (i % 3 != 0) {
+                record.put("name", "n" + i);
+            }
+            records.add(record);
+        }
+
+        List<ValidationResult> results = engine.validateAll(records, 4);
+        assertEquals(records.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i % 3 != 0, results.get(i).isValid());
+        }
+    }
+
+    @Test
+    void testValidateAllUnorderedDeliversEveryRecord() {
+        List<com.datavalidator.validators.Validator> validators = Arrays.asList(
+            new RequiredFieldValidator("req1", Arrays.asList("id"), 5, true)
+        );
+
+        QualityScorer scorer = new QualityScorer(QualityScorer.ScoringMode.AVERAGE, 0.8);
+        ValidationEngine engine = new ValidationEngine(
+            validators, scorer, ValidationEngine.ValidationMode.STRICT
+        );
+
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            records.add(Collections.singletonMap("id", i));
+        }
+
+        BitSet seen = new BitSet();
+        engine.validateAll(records.iterator(), 8, ValidationEngine.ResultOrder.UNORDERED,
+            (index, record, result) -> {
+                assertEquals((int) index, record.get("id"));
+                seen.set((int) index);
+            });
+        assertEquals(records.size(), seen.cardinality());
+    }
+
+    @Test
+    void testPassingRecordSharesResultAndDoesNotAllocate() {
+        java.lang.management.ThreadMXBean threads = java.lang.management.ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        Assumptions.assumeTrue(allocations.isThreadAllocatedMemorySupported());
+
+        List<com.datavalidator.validators.Validator> validators = Arrays.asList(
+            new RequiredFieldValidator("req1", Arrays.asList("id", "name"), 5, true),
+            new com.datavalidator.validators.RangeValidator("age", "age", 0.0, 150.0, true, 3)
+        );
+        QualityScorer scorer = new QualityScorer(QualityScorer.ScoringMode.WEIGHTED, 0.8);
+        ValidationEngine engine = new ValidationEngine(
+            validators, scorer, ValidationEngine.ValidationMode.STRICT
+        );
+
+        Map<String, Object> record = new HashMap<>();
+        record.put("id", 1);
+        record.put("name", "test");
+        record.put("age", 30);
+
+        ErrorCollector errors = new ErrorCollector();
+        for (int i = 0; i < 20_000; i++) {
+            engine.validate(record, errors);
+        }
+
+        int iterations = 100_000;
+        int notShared = 0;
+        long threadId = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            if (engine.validate(record, errors) != ValidationResult.passed()) {
+                notShared++;
+            }
+        }
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(0, notShared);
+        assertTrue(allocated < iterations, "allocated " + allocated + " bytes for " + iterations + " records");
+    }
+
+    /**
+     * Validator with a fixed verdict that counts its invocations.
+     */
+    private static class CountingValidator implements com.datavalidator.validators.Validator {
+        private final String name;
+        private final int priority;
+        private final boolean valid;
+        private final java.util.concurrent.atomic.AtomicInteger calls = new java.util.concurrent.atomic.AtomicInteger();
+
+        CountingValidator(String name, int priority, boolean valid) {
+            this.name = name;
+            this.priority = priority;
+            this.valid = valid;
+        }
+
+        @Override
+        public ValidationResult validate(Map<String, Object> record) {
+            calls.incrementAndGet();
+            return new ValidationResult(valid, Collections.emptyList(), valid ? 1.0 : 0.0);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+    }
+
+    @Test
+    void testFailFastStopsAfterFirstStrictFailure() {
+        CountingValidator first = new CountingValidator("first", 10, false);
+        CountingValidator second = new CountingValidator("second", 5, true);
+
+        QualityScorer scorer = new QualityScorer(QualityScorer.ScoringMode.AVERAGE, 0.8);
+        ValidationEngine engine = new ValidationEngine(
+            Arrays.asList(second, first), scorer, ValidationEngine.ValidationMode.STRICT, true, false
+        );
+
+        ValidationResult result = engine.validate(new HashMap<>());
+        assertFalse(result.isValid());
+        assertEquals(0.0, result.getQualityScore(), 0.01);
+        assertEquals(1, first.calls.get());
+        assertEquals(0, second.calls.get());
+    }
+
+    @Test
+    void testFailFastRelaxedStopsOnceMajorityReached() {
+        CountingValidator a = new CountingValidator("a", 10, true);
+        CountingValidator b = new CountingValidator("b", 9, true);
+        CountingValidator c = new CountingValidator("c", 8, false);
+
+        QualityScorer scorer = new QualityScorer(QualityScorer.ScoringMode.AVERAGE, 0.8);
+        ValidationEngine engine = new ValidationEngine(
+            Arrays.asList(a, b, c), scorer, ValidationEngine.ValidationMode.RELAXED, true, false
+        );
+
+        assertTrue(engine.validate(new HashMap<>()).isValid());
+        assertEquals(0, c.calls.get());
+    }
+
+    @Test
+    void testAdaptiveOrderingRunsRejectingValidatorFirst() {
+        CountingValidator passing = new CountingValidator("passing", 10, true);
+        CountingValidator rejecting = new CountingValidator("rejecting", 1, false);
+
+        QualityScorer scorer = new QualityScorer(QualityScorer.ScoringMode.WEIGHTED, 0.8);
+        ValidationEngine engine = new ValidationEngine(
+            Arrays.asList(passing, rejecting), scorer, ValidationEngine.ValidationMode.STRICT, true, true
+        );
+
+        Map<String, Object> record = new HashMap<>();
+        int warmup = AdaptiveOrdering.SAMPLE_EVERY * AdaptiveOrdering.REORDER_EVERY;
+        for (int i = 0; i < warmup; i++) {
+            assertFalse(engine.validate(record).isValid());
+        }
+
+        int passingCalls = passing.calls.get();
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(engine.validate(record).isValid());
+        }
+        assertEquals(passingCalls, passing.calls.get());
+    }
+
+    @Test
+    void testFailFastScoresRejectionsByVerdictWhereverTheyStop() {
+        CountingValidator passing = new CountingValidator("passing", 10, true);
+        CountingValidator rejecting = new CountingValidator("rejecting", 1, false);
+        QualityScorer scorer = new QualityScorer(QualityScorer.ScoringMode.AVERAGE, 0.8);
+
+        // The rejection is found by the last validator, so nothing was skipped
+        ValidationResult strict = new ValidationEngine(Arrays.asList(passing, rejecting), scorer,
+            ValidationEngine.ValidationMode.STRICT, true, false).validate(new HashMap<>());
+        assertFalse(strict.isValid());
+        assertEquals(0.0, strict.getQualityScore(), 0.0);
+
+        ValidationResult relaxed = new ValidationEngine(Arrays.asList(passing, rejecting, passing), scorer,
+            ValidationEngine.ValidationMode.RELAXED, true, false).validate(new HashMap<>());
+        assertTrue(relaxed.isValid());
+        assertEquals(1.0, relaxed.getQualityScore(), 0.0);
+    }
+
+    @Test
+    void testShortCircuitedScoreDoesNotDependOnAdaptiveHistory() {
+        CountingValidator passing = new CountingValidator("passing", 10, true);
+        CountingValidator rejectsA = new CountingValidator("rejects_a", 5, false);
+        CountingValidator rejectsB = new CountingValidator("rejects_b", 1, false);
+        Map<String, Object> record = new HashMap<>();
+        QualityScorer scorer = new QualityScorer(QualityScorer.ScoringMode.WEIGHTED, 0.8);
+
+        ValidationEngine fresh = new ValidationEngine(
+            Arrays.asList(passing, rejectsA, rejectsB), scorer, ValidationEngine.ValidationMode.STRICT, true, true);
+        ValidationEngine trained = new ValidationEngine(
+            Arrays.asList(passing, rejectsA, rejectsB), scorer, ValidationEngine.ValidationMode.STRICT, true, true);
+        for (int i = 0; i < AdaptiveOrdering.SAMPLE_EVERY * AdaptiveOrdering.REORDER_EVERY; i++) {
+            trained.validate(record);
+        }
+        int passingCalls = passing.calls.get();
+        ValidationResult trainedResult = trained.validate(record);
+        assertEquals(passingCalls, passing.calls.get()); // the trained engine now starts with a rejecting rule
+        ValidationResult freshResult = fresh.validate(record);
+        assertEquals(passingCalls + 1, passing.calls.get()); // the fresh one still starts with the passing rule
+
+        ValidationEngine full = new ValidationEngine(
+            Arrays.asList(passing, rejectsA, rejectsB), scorer, ValidationEngine.ValidationMode.STRICT);
+        assertEquals(freshResult.isValid(), trainedResult.isValid());
+        assertEquals(freshResult.getQualityScore(), trainedResult.getQualityScore(), 0.0);
+        assertEquals(0.0, trainedResult.getQualityScore(), 0.0);
+        assertEquals(full.validate(record).isValid(), trainedResult.isValid());
+    }
+
+    private static ValidationEngine revalidationEngine(ValidationEngine.ValidationMode mode) {
+        Map<String, String> types = new LinkedHashMap<>();
+        types.put("name", "string");
+        types.put("score", "double");
+        List<com.datavalidator.validators.Validator> validators = Arrays.asList(
+            new RequiredFieldValidator("req", Arrays.asList("id", "name"), 10, true),
+            new com.datavalidator.validators.TypeValidator("types", types, 5, false),
+            new com.datavalidator.validators.RangeValidator("age", "age", 0.0, 150.0, true, 3),
+            new com.datavalidator.validators.RangeValidator("score", "score", 0.0, 1.0, true, 1)
+        );
+        return new ValidationEngine(validators, new QualityScorer(QualityScorer.ScoringMode.WEIGHTED, 0.8), mode);
+    }
+
+    @Test
+    void testRevalidateMatchesFullValidation() {
+        Random random = new Random(7);
+        Object[][] choices = {
+            {1, null}, {"Ann", 42, null}, {30, 200, "old"}, {0.5, 3.0, "x"}
+        };
+        String[] fields = {"id", "name", "age", "score"};
+
+        for (ValidationEngine.ValidationMode mode : ValidationEngine.ValidationMode.values()) {
+            ValidationEngine engine = revalidationEngine(mode);
+            Map<String, Object> record = new HashMap<>();
+            record.put("id", 1);
+            record.put("name", "Ann");
+            record.put("age", 30);
+            record.put("score", 0.5);
+            TrackedResult tracked = engine.validateTracked(record);
+
+            for (int update = 0; update < 200; update++) {
+                int field = random.nextInt(fields.length);
+                Object value = choices[field][random.nextInt(choices[field].length)];
+                if (value == null && random.nextBoolean()) {
+                    record.remove(fields[field]);
+                } else {
+                    record.put(fields[field], value);
+                }
+                tracked = engine.revalidate(tracked, record, Collections.singleton(fields[field]));
+
+                ValidationResult full = engine.validate(record);
+                assertEquals(full.isValid(), tracked.isValid());
+                assertEquals(full.getQualityScore(), tracked.getQualityScore(), 1e-9);
+                assertEquals(full.getErrorCount(), tracked.getErrorCount());
+            }
+        }
+    }
+
+    @Test
+    void testRevalidateRunsOnlyAffectedValidators() {
+        ValidationEngine engine = revalidationEngine(ValidationEngine.ValidationMode.STRICT);
+        Map<String, Object> record = new HashMap<>();
+        record.put("id", 1);
+        record.put("name", "Ann");
+        record.put("age", 30);
+        record.put("score", 0.5);
+        TrackedResult tracked = engine.validateTracked(record);
+        assertEquals(4, tracked.getValidatorsRun());
+
+        record.put("age", 200);
+        TrackedResult updated = engine.revalidate(tracked, record, Collections.singleton("age"));
+        assertEquals(1, updated.getValidatorsRun());
+        assertFalse(updated.isValid());
+
+        record.put("comment", "unvalidated");
+        assertEquals(0, engine.revalidate(updated, record, Collections.singleton("comment")).getValidatorsRun());
+        assertEquals(2, engine.revalidate(updated, record, Arrays.asList("name", "id")).getValidatorsRun());
+    }
+
+    @Test
+    void testRevalidateRejectsResultOfAnotherEngine() {
+        TrackedResult tracked = revalidationEngine(ValidationEngine.ValidationMode.STRICT)
+            .validateTracked(new HashMap<>());
+        ValidationEngine other = revalidationEngine(ValidationEngine.ValidationMode.STRICT);
+        assertThrows(IllegalArgumentException.class,
+            () -> other.revalidate(tracked, new HashMap<>(), Collections.singleton("id")));
+    }
+}
@@ -0,0 +1,105 @@
+package com.datavalidator.core;
+
+import com.datavalidator.io.JsonRecordReader;
+import com.datavalidator.scoring.QualityScorer;
+import com.datavalidator.validators.RangeValidator;
+import com.datavalidator.validators.RequiredFieldValidator;
+import com.datavalidator.validators.TypeValidator;
+import com.datavalidator.validators.Validator;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationPlanTest {
+    private static final String RECORDS =
+        "{\"id\": 1, \"name\": \"John\", \"email\": \"john@example.com\", \"age\": 30, \"extra\": [1, 2]}\n"
+        + "{\"id\": 2, \"name\": \"\", \"age\": 200}\n"
+        + "{\"name\": null, \"id\": \"3\", \"age\": \"abc\"}\n"
+        + "{\"extra\": {\"nested\": true}}\n";
+
+    private static ValidationEngine engine() {
+        return engine(false);
+    }
+
+    private static ValidationEngine engine(boolean failFast) {
+        Map<String, String> types = new LinkedHashMap<>();
+        types.put("id", "integer");
+        types.put("name", "string");
+        types.put("email", "string");
+
+        List<Validator> validators = Arrays.asList(
+            new RequiredFieldValidator("required", Arrays.asList("id", "name", "email"), 10, true),
+            new TypeValidator("types", types, 5, false),
+            new RangeValidator("age_range", "age", 0.0, 150.0, true, 5)
+        );
+        QualityScorer scorer = new QualityScorer(QualityScorer.ScoringMode.WEIGHTED, 0.8);
+        return new ValidationEngine(validators, scorer, ValidationEngine.ValidationMode.STRICT, failFast, false);
+    }
+
+    private static JsonRecordReader reader() throws IOException {
+        return new JsonRecordReader(new ByteArrayInputStream(RECORDS.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testLayoutCoversReferencedFields() {
+        ValidationPlan plan = engine().compile();
+        FieldLayout layout = plan.getLayout();
+
+        assertEquals(4, layout.size());
+        assertFalse(layout.isOpen());
+        assertTrue(layout.slotOf("age") >= 0);
+        assertEquals(-1, layout.slotOf("extra"));
+    }
+
+    @Test
+    void testPlanMatchesEngine() throws IOException {
+        assertPlanMatchesEngine(engine());
+    }
+
+    @Test
+    void testPlanKeepsFailFast() throws IOException {
+        assertPlanMatchesEngine(engine(true));
+    }
+
+    private static void assertPlanMatchesEngine(ValidationEngine engine) throws IOException {
+        ValidationPlan plan = engine.compile();
+        SlotRecord slots = plan.newRecord();
+
+        int count = 0;
+        try (JsonRecordReader maps = reader(); JsonRecordReader slotReader = reader()) {
+            while (slotReader.readInto(slots)) {
+                ValidationResult expected = engine.validate(maps.next());
+                ValidationResult actual = plan.validate(slots);
+
+                assertEquals(expected.isValid(), actual.isValid());
+                assertEquals(expected.getQualityScore(), actual.getQualityScore(), 1e-9);
+                assertEquals(expected.getErrors().size(), actual.getErrors().size());
+                count++;
+            }
+            assertFalse(maps.hasNext());
+        }
+        assertEquals(4, count);
+    }
+
+    @Test
+    void testSlotRecordMapView() {
+        ValidationPlan plan = engine().compile();
+        SlotRecord record = plan.newRecord();
+        record.put("id", 7);
+        record.put("name", null);
+        record.put("unknown", "dropped");
+
+        assertEquals(7, record.get("id"));
+        assertTrue(record.containsKey("name"));
+        assertFalse(record.containsKey("email"));
+        assertFalse(record.containsKey("unknown"));
+        assertEquals(2, record.size());
+
+        record.clear();
+        assertTrue(record.isEmpty());
+    }
+}
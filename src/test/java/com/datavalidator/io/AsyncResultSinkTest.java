@@ -0,0 +1,125 @@
+package com.datavalidator.io;
+
+import com.datavalidator.core.ValidationResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncResultSinkTest {
+    private static ValidationResult failed(int i) {
+        return new ValidationResult(false, Collections.singletonList(new ValidationResult.ValidationError(
+            "age_range", "age", ValidationResult.ErrorCode.ABOVE_MAXIMUM, 200 + i, ")150.00",
+            ValidationResult.Severity.MEDIUM)), 0.5);
+    }
+
+    @Test
+    void testNdjsonKeepsQueueOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (AsyncResultSink sink = new AsyncResultSink(out, AsyncResultSink.Format.NDJSON, 16)) {
+            for (int i = 0; i < 10_000; i++) {
+                sink.onResult(i, null, i % 3 == 0 ? failed(i) : ValidationResult.passed());
+            }
+        }
+
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(10_000, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode first = mapper.readTree(lines[0]);
+        assertEquals(0, first.get("index").asInt());
+        assertFalse(first.get("valid").asBoolean());
+        assertEquals("ABOVE_MAXIMUM", first.get("errors").get(0).get("code").asText());
+        assertEquals("Value 200.00 is above maximum )150.00", first.get("errors").get(0).get("message").asText());
+        assertEquals(9_999, mapper.readTree(lines[9_999]).get("index").asInt());
+    }
+
+    @Test
+    void testCsv() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (AsyncResultSink sink = new AsyncResultSink(out, AsyncResultSink.Format.CSV, 4)) {
+            sink.onResult(0, null, ValidationResult.passed());
+            sink.onResult(1, null, failed(1));
+        }
+
+        assertEquals("index,valid,score,error_count,errors\n"
+            + "0,true,1.0,0,\n"
+            + "1,false,0.5,1,\"age_range:age:ABOVE_MAXIMUM\"\n", out.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    void testSlowWriterBlocksProducer() throws IOException {
+        OutputStream slow = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                sleep();
+            }
+
+            @Override
+            public void flush() {
+                sleep();
+            }
+
+            private void sleep() {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        AsyncResultSink sink = new AsyncResultSink(slow, AsyncResultSink.Format.NDJSON, 2);
+        // Large error lists overflow the 1 MB buffer quickly, so the writer hits the slow stream
+        List<ValidationResult.ValidationError> errors = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            errors.add(new ValidationResult.ValidationError("rule", "field", "x".repeat(100), ValidationResult.Severity.LOW));
+        }
+        ValidationResult big = new ValidationResult(false, errors, 0.0);
+        for (int i = 0; i < 200; i++) {
+            sink.onResult(i, null, big);
+        }
+        sink.close();
+
+        assertTrue(sink.getBlockedNanos() > 0);
+        assertEquals(200, sink.getWritten());
+    }
+
+    @Test
+    void testWriteFailureSurfaces() {
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void flush() throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+
+        AsyncResultSink sink = new AsyncResultSink(broken, AsyncResultSink.Format.CSV, 2);
+        try {
+            for (int i = 0; i < 100_000; i++) {
+                sink.onResult(i, null, failed(i));
+            }
+        } catch (UncheckedIOException e) {
+            assertEquals("disk full", e.getCause().getMessage());
+        } finally {
+            // Closing joins the writer thread whether or not a result already saw the failure
+            IOException error = assertThrows(IOException.class, sink::close);
+            assertEquals("disk full", error.getMessage());
+        }
+    }
+}
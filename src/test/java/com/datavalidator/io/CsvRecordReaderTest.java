@@ -0,0 +1,175 @@
+package com.datavalidator.io;
+
+import com.datavalidator.core.SlotRecord;
+import com.datavalidator.core.ValidationEngine;
+import com.datavalidator.core.ValidationPlan;
+import com.datavalidator.scoring.QualityScorer;
+import com.datavalidator.validators.RangeValidator;
+import com.datavalidator.validators.RequiredFieldValidator;
+import com.datavalidator.validators.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordReaderTest {
+    @TempDir
+    Path dir;
+
+    private Path write(String name, String content) throws IOException {
+        Path path = dir.resolve(name);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    private static List<Map<String, Object>> readAll(RecordReader reader) throws IOException {
+        List<Map<String, Object>> records = new ArrayList<>();
+        try (RecordReader r = reader) {
+            while (r.hasNext()) {
+                records.add(new LinkedHashMap<>(r.next()));
+            }
+        }
+        return records;
+    }
+
+    @Test
+    void testValuesAreTypedLikeJson() throws IOException {
+        Path path = write("types.csv",
+            "\uFEFFid,score,flag,zip,name,big,note\n"
+            + "1,2.5,true,00501,John,12345678901234567890,1e3\n"
+            + "-7,,false,0,\"Smith, \"\"J\"\"\",4000000000,\"\"\n");
+        List<Map<String, Object>> records = readAll(CsvRecordReader.open(path));
+
+        assertEquals(2, records.size());
+        Map<String, Object> first = records.get(0);
+        assertEquals(1, first.get("id"));
+        assertEquals(2.5, first.get("score"));
+        assertEquals(Boolean.TRUE, first.get("flag"));
+        assertEquals("00501", first.get("zip"));
+        assertEquals("John", first.get("name"));
+        assertEquals(new BigInteger("12345678901234567890"), first.get("big"));
+        assertEquals(1000.0, first.get("note"));
+
+        Map<String, Object> second = records.get(1);
+        assertEquals(-7, second.get("id"));
+        assertNull(second.get("score"));
+        assertTrue(second.containsKey("score"));
+        assertEquals(0, second.get("zip"));
+        assertEquals("Smith, \"J\"", second.get("name"));
+        assertEquals(4000000000L, second.get("big"));
+        assertEquals("", second.get("note"));
+    }
+
+    @Test
+    void testIntegersStayLongsUpToTheirLimits() {
+        for (long fits : new long[] {Long.MAX_VALUE, Long.MIN_VALUE, 1_000_000_000_000_000_000L}) {
+            assertEquals(fits, infer(Long.toString(fits)));
+        }
+        assertEquals(new BigInteger("9223372036854775808"), infer("9223372036854775808"));
+        assertEquals(new BigInteger("-9223372036854775809"), infer("-9223372036854775809"));
+        assertEquals(new BigInteger("99999999999999999999"), infer("99999999999999999999"));
+    }
+
+    private static Object infer(String field) {
+        byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+        return CsvRecord.infer(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    @Test
+    void testTsvBlankLinesCrlfAndShortLines() throws IOException {
+        Path path = write("data.tsv", "a\tb\tc\r\n1\tx y\t3\r\n\r\n\n2\tz\n");
+        List<Map<String, Object>> records = readAll(CsvRecordReader.open(path));
+
+        assertEquals(2, records.size());
+        assertEquals("x y", records.get(0).get("b"));
+        assertEquals(3, records.get(0).get("c"));
+        assertFalse(records.get(1).containsKey("c"));
+        assertEquals(2, records.get(1).size());
+    }
+
+    @Test
+    void testSlicesAreZeroCopyViews() throws IOException {
+        Path path = write("slices.csv", "id,name\n42,\"Ann\"\n");
+        try (CsvRecordReader reader = CsvRecordReader.open(path)) {
+            CsvRecord record = (CsvRecord) reader.next();
+            assertEquals("42", record.getSlice("id").toString());
+            assertEquals('A', record.getSlice(1).charAt(0));
+            assertEquals("nn", record.getSlice("name").subSequence(1, 3).toString());
+            assertNull(record.getSlice("missing"));
+        }
+    }
+
+    @Test
+    void testUnterminatedQuoteFails() throws IOException {
+        Path path = write("bad.csv", "a,b\n1,\"open\n");
+        try (CsvRecordReader reader = CsvRecordReader.open(path)) {
+            assertThrows(UncheckedIOException.class, reader::hasNext);
+        }
+    }
+
+    @Test
+    void testSmallWindowsAndSplitsSeeEveryLine() throws IOException {
+        StringBuilder csv = new StringBuilder("id,value\n");
+        for (int i = 0; i < 500; i++) {
+            csv.append(i).append(',').append("v").append(i * 7).append('\n');
+        }
+        Path path = write("many.csv", csv.toString());
+        List<Map<String, Object>> expected = readAll(CsvRecordReader.open(path));
+        assertEquals(500, expected.size());
+
+        assertEquals(expected, readAll(CsvRecordReader.owning(CsvFile.open(path), 64)));
+
+        try (CsvFile file = CsvFile.open(path)) {
+            for (int parts : new int[] {1, 2, 3, 7, 64}) {
+                List<Map<String, Object>> combined = new ArrayList<>();
+                long bytes = 0;
+                for (CsvRecordReader reader : file.split(parts)) {
+                    combined.addAll(readAll(reader));
+                    bytes += reader.getBytesRead();
+                }
+                assertEquals(expected, combined, "parts=" + parts);
+                assertEquals(file.size() - "id,value\n".length(), bytes);
+            }
+        }
+    }
+
+    @Test
+    void testReadIntoPlanAndValidate() throws IOException {
+        Path path = write("people.csv", "name,age,id,unused\nJohn,30,1,x\n,200,2,y\n");
+        List<Validator> validators = Arrays.asList(
+            new RequiredFieldValidator("required", Arrays.asList("id", "name"), 10, true),
+            new RangeValidator("age_range", "age", 0.0, 150.0, true, 5)
+        );
+        ValidationEngine engine = new ValidationEngine(validators,
+            new QualityScorer(QualityScorer.ScoringMode.AVERAGE, 0.8), ValidationEngine.ValidationMode.STRICT);
+        ValidationPlan plan = engine.compile();
+        SlotRecord record = plan.newRecord();
+
+        try (CsvRecordReader reader = CsvRecordReader.open(path)) {
+            assertTrue(reader.readInto(record));
+            assertTrue(plan.validate(record).isValid());
+            assertTrue(reader.readInto(record));
+            assertFalse(plan.validate(record).isValid());
+            assertFalse(reader.readInto(record));
+        }
+    }
+
+    @Test
+    void testSkipPassesOverLinesWithoutDecoding() throws IOException {
+        Path path = write("data.csv", "id,name\n1,a\n\n2,\"unterminated\n3,c\n");
+        try (CsvRecordReader reader = CsvRecordReader.open(path)) {
+            assertTrue(reader.skip());
+            assertTrue(reader.skip()); // the malformed line is never scanned
+            assertEquals(3, reader.next().get("id"));
+            assertFalse(reader.skip());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.datavalidator.io;
+
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonRecordReaderTest {
+    private static InputStream input(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Map<String, Object>> readAll(String json) throws IOException {
+        List<Map<String, Object>> records = new ArrayList<>();
+        try (JsonRecordReader reader = new JsonRecordReader(input(json))) {
+            while (reader.hasNext()) {
+                records.add(reader.next());
+            }
+        }
+        return records;
+    }
+
+    @Test
+    void testJsonArray() throws IOException {
+        List<Map<String, Object>> records = readAll(
+            "[{\"id\": 1, \"name\": \"a\"}, {\"id\": 2, \"tags\": [1, 2]}]"
+        );
+
+        assertEquals(2, records.size());
+        assertEquals(1, records.get(0).get("id"));
+        assertEquals("a", records.get(0).get("name"));
+        assertEquals(Arrays.asList(1, 2), records.get(1).get("tags"));
+    }
+
+    @Test
+    void testNdjson() throws IOException {
+        List<Map<String, Object>> records = readAll("{\"id\": 1}\n{\"id\": 2}\n\n{\"id\": 3}\n");
+
+        assertEquals(3, records.size());
+        assertEquals(3, records.get(2).get("id"));
+    }
+
+    @Test
+    void testEmptyInput() throws IOException {
+        assertTrue(readAll("").isEmpty());
+        assertTrue(readAll("[]").isEmpty());
+    }
+
+    @Test
+    void testNonObjectElementRejected() {
+        assertThrows(RuntimeException.class, () -> readAll("[{\"id\": 1}, 42]"));
+    }
+
+    @Test
+    void testBytesReadAdvances() throws IOException {
+        String json = "{\"id\": 1}\n{\"id\": 2}\n";
+        try (JsonRecordReader reader = new JsonRecordReader(input(json))) {
+            reader.next();
+            long afterFirst = reader.getBytesRead();
+            reader.next();
+            assertTrue(reader.getBytesRead() > afterFirst);
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void testSkip() throws IOException {
+        for (String json : Arrays.asList(
+                "[{\"id\": 1, \"tags\": [1, {\"x\": 2}]}, {\"id\": 2}, {\"id\": 3}]",
+                "{\"id\": 1, \"tags\": [1, {\"x\": 2}]}\n{\"id\": 2}\n{\"id\": 3}\n")) {
+            try (JsonRecordReader reader = new JsonRecordReader(input(json))) {
+                assertTrue(reader.skip());
+                assertTrue(reader.hasNext());
+                assertTrue(reader.skip()); // drops the record hasNext buffered
+                assertEquals(3, reader.next().get("id"));
+                assertFalse(reader.skip());
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.datavalidator.metrics;
+
+import com.datavalidator.columnar.ColumnBatch;
+import com.datavalidator.columnar.DoubleColumn;
+import com.datavalidator.core.SlotRecord;
+import com.datavalidator.core.ValidationEngine;
+import com.datavalidator.core.ValidationPlan;
+import com.datavalidator.core.ValidationResult;
+import com.datavalidator.scoring.QualityScorer;
+import com.datavalidator.validators.ColumnarValidator;
+import com.datavalidator.validators.RangeValidator;
+import com.datavalidator.validators.RequiredFieldValidator;
+import com.datavalidator.validators.Validator;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationMetricsTest {
+    private static ValidationEngine engine() {
+        List<Validator> validators = Arrays.asList(
+            new RequiredFieldValidator("required", Arrays.asList("id", "name"), 10, true),
+            new RangeValidator("age_range", "age", 0.0, 150.0, true, 5)
+        );
+        QualityScorer scorer = new QualityScorer(QualityScorer.ScoringMode.AVERAGE, 0.8);
+        return new ValidationEngine(validators, scorer, ValidationEngine.ValidationMode.STRICT);
+    }
+
+    private static Map<String, Object> record(Object id, Object name, Object age) {
+        Map<String, Object> record = new HashMap<>();
+        record.put("id", id);
+        record.put("name", name);
+        record.put("age", age);
+        return record;
+    }
+
+    @Test
+    void testCountsVerdictsAndSeverities() {
+        ValidationMetrics metrics = new ValidationMetrics(1);
+        ValidationEngine engine = metrics.instrument(engine());
+
+        engine.validate(record(1, "a", 30));
+        engine.validate(record(null, "", 30));   // missing id (CRITICAL), blank name (HIGH)
+        engine.validate(record(2, "b", 200));    // above maximum (MEDIUM)
+
+        RuleMetrics required = metrics.get("required");
+        assertEquals(3, required.getInvocations());
+        assertEquals(2, required.getPasses());
+        assertEquals(1, required.getFailures());
+        assertEquals(1, required.getCriticalErrors());
+        assertEquals(1, required.getHighErrors());
+        assertEquals(3, required.getTimedInvocations());
+
+        RuleMetrics range = metrics.get("age_range");
+        assertEquals(1, range.getFailures());
+        assertEquals(1, range.getErrors(ValidationResult.Severity.MEDIUM));
+
+        List<String> names = new ArrayList<>();
+        metrics.getRuleMetrics().forEach(rule -> names.add(rule.getRuleName()));
+        assertEquals(Arrays.asList("required", "age_range"), names);
+    }
+
+    @Test
+    void testInstrumentedEngineMatchesOriginal() {
+        ValidationEngine plain = engine();
+        ValidationEngine instrumented = new ValidationMetrics().instrument(plain);
+
+        for (Map<String, Object> record : Arrays.asList(record(1, "a", 30), record(null, "", 200))) {
+            ValidationResult expected = plain.validate(record);
+            ValidationResult actual = instrumented.validate(record);
+            assertEquals(expected.isValid(), actual.isValid());
+            assertEquals(expected.getQualityScore(), actual.getQualityScore(), 1e-9);
+            assertEquals(expected.getErrorCount(), actual.getErrorCount());
+        }
+    }
+
+    @Test
+    void testSamplingKeepsCountsExact() {
+        ValidationMetrics metrics = new ValidationMetrics(1000);
+        ValidationEngine engine = metrics.instrument(engine());
+
+        for (int i = 0; i < 500; i++) {
+            engine.validate(record(i, "n", 30));
+        }
+
+        RuleMetrics required = metrics.get("required");
+        assertEquals(500, required.getInvocations());
+        assertTrue(required.getTimedInvocations() < 500);
+    }
+
+    @Test
+    void testListenerAndPlanPath() {
+        ValidationMetrics metrics = new ValidationMetrics(1);
+        AtomicInteger failures = new AtomicInteger();
+        metrics.addListener((rule, passed, errorCount, nanos) -> {
+            if (!passed) {
+                failures.incrementAndGet();
+            }
+            assertTrue(nanos >= 0);
+        });
+
+        ValidationPlan plan = metrics.instrument(engine()).compile();
+        SlotRecord slots = plan.newRecord();
+        slots.set(plan.getLayout().slotOf("id"), 1);
+        slots.set(plan.getLayout().slotOf("age"), 300);
+        assertFalse(plan.validate(slots).isValid());
+
+        assertEquals(2, failures.get()); // name missing, age out of range
+        assertEquals(1, metrics.get("age_range").getInvocations());
+    }
+
+    @Test
+    void testColumnarPathIsKept() {
+        ValidationMetrics metrics = new ValidationMetrics();
+        ValidationEngine engine = metrics.instrument(engine());
+        assertTrue(engine.getValidators().get(1) instanceof ColumnarValidator);
+
+        ColumnBatch batch = new ColumnBatch(3).add(new DoubleColumn("age", new double[] {1, 200, 3}, null));
+        engine.validateBatch(batch);
+
+        RuleMetrics range = metrics.get("age_range");
+        assertEquals(3, range.getInvocations());
+        assertEquals(1, range.getFailures());
+    }
+
+    @Test
+    void testMBeanRegistration() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        ValidationMetrics metrics = new ValidationMetrics();
+        ValidationEngine engine = metrics.instrument(engine());
+        engine.validate(record(1, "a", 500));
+
+        metrics.registerMBeans(server);
+        ObjectName name = ValidationMetrics.objectName("age_range");
+        assertEquals(1L, server.getAttribute(name, "Failures"));
+        assertEquals(1L, server.getAttribute(name, "MediumErrors"));
+
+        metrics.unregisterMBeans();
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(10_000);
+
+        assertEquals(100, histogram.getCount());
+        assertTrue(histogram.getPercentileNanos(0.5) >= 100 && histogram.getPercentileNanos(0.5) < 200);
+        assertEquals(10_000, histogram.getPercentileNanos(1.0));
+        assertEquals(10_000, histogram.getMaxNanos());
+    }
+}
@@ -0,0 +1,115 @@
+package com.datavalidator.scoring;
+
+import com.datavalidator.core.ValidationEngine;
+import com.datavalidator.core.ValidationResult;
+import com.datavalidator.validators.RangeValidator;
+import com.datavalidator.validators.RequiredFieldValidator;
+import com.datavalidator.validators.Validator;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetQualityReportTest {
+    private static ValidationEngine engine() {
+        List<Validator> validators = Arrays.asList(
+            new RequiredFieldValidator("required", Arrays.asList("id", "name"), 10, true),
+            new RangeValidator("age_range", "age", 0.0, 150.0, true, 5)
+        );
+        QualityScorer scorer = new QualityScorer(QualityScorer.ScoringMode.AVERAGE, 0.8);
+        return new ValidationEngine(validators, scorer, ValidationEngine.ValidationMode.STRICT);
+    }
+
+    private static List<Map<String, Object>> records(int count) {
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("id", i % 10 == 0 ? null : i);
+            record.put("name", i % 4 == 0 ? " " : "n" + i);
+            record.put("age", i % 5 == 0 ? 200 : 30);
+            records.add(record);
+        }
+        return records;
+    }
+
+    @Test
+    void testRates() {
+        ValidationEngine engine = engine();
+        DatasetQualityReport report = DatasetQualityReport.forEngine(engine);
+        for (Map<String, Object> record : records(100)) {
+            report.add(record, engine.validate(record));
+        }
+
+        assertEquals(100, report.getRecords());
+        assertEquals(0.10, report.getNullRate("id"), 1e-9);
+        assertEquals(0.25, report.getEmptyRate("name"), 1e-9);
+        assertEquals(0.20, report.getRuleFailureRate("age_range"), 1e-9);
+        assertEquals(0.20, report.getFieldFailureRate("age"), 1e-9);
+        // Missing id or blank name; records 0, 20, 40, ... have both but count once
+        assertEquals(0.30, report.getRuleFailureRate("required"), 1e-9);
+        assertTrue(Double.isNaN(report.getNullRate("untracked")));
+    }
+
+    @Test
+    void testMergedPartialsMatchSinglePass() {
+        ValidationEngine engine = engine();
+        List<Map<String, Object>> records = records(1000);
+
+        DatasetQualityReport whole = DatasetQualityReport.forEngine(engine);
+        DatasetQualityReport first = DatasetQualityReport.forEngine(engine);
+        DatasetQualityReport second = DatasetQualityReport.forEngine(engine);
+        for (int i = 0; i < records.size(); i++) {
+            ValidationResult result = engine.validate(records.get(i));
+            whole.add(records.get(i), result);
+            (i % 3 == 0 ? first : second).add(records.get(i), result);
+        }
+        first.merge(second);
+
+        assertEquals(whole.toMap(), first.toMap());
+    }
+
+    @Test
+    void testMergeRejectsDifferentFields() {
+        DatasetQualityReport a = new DatasetQualityReport(Arrays.asList("a"));
+        DatasetQualityReport b = new DatasetQualityReport(Arrays.asList("b"));
+        assertThrows(IllegalArgumentException.class, () -> a.merge(b));
+    }
+
+    @Test
+    void testHistogramQuantiles() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        for (int i = 0; i < 10_000; i++) {
+            histogram.add(i / 10_000.0);
+        }
+
+        assertEquals(0.5, histogram.quantile(0.5), 0.001);
+        assertEquals(0.9, histogram.quantile(0.9), 0.001);
+        assertEquals(0.0, histogram.getMin(), 0.0);
+        assertEquals(0.9999, histogram.getMax(), 0.0);
+        assertTrue(Double.isNaN(new ScoreHistogram().quantile(0.5)));
+    }
+
+    @Test
+    void testStateSurvivesJsonRoundTripAndKeepsCounting() throws Exception {
+        ValidationEngine engine = engine();
+        List<Map<String, Object>> records = records(200);
+        DatasetQualityReport whole = DatasetQualityReport.forEngine(engine);
+        DatasetQualityReport first = DatasetQualityReport.forEngine(engine);
+        for (int i = 0; i < records.size(); i++) {
+            ValidationResult result = engine.validate(records.get(i));
+            whole.add(records.get(i), result);
+            if (i < 120) {
+                first.add(records.get(i), result);
+            }
+        }
+
+        com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> state = mapper.readValue(mapper.writeValueAsBytes(first.toState()), Map.class);
+        DatasetQualityReport resumed = DatasetQualityReport.fromState(state);
+        for (int i = 120; i < records.size(); i++) {
+            resumed.add(records.get(i), engine.validate(records.get(i)));
+        }
+        assertEquals(whole.toMap(), resumed.toMap());
+    }
+}
@@ -0,0 +1,216 @@
+package com.datavalidator.server;
+
+import com.datavalidator.core.ValidationEngine;
+import com.datavalidator.core.ValidationResult;
+import com.datavalidator.scoring.QualityScorer;
+import com.datavalidator.validators.RangeValidator;
+import com.datavalidator.validators.Validator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationServerTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ValidationServer server;
+
+    private static ValidationEngine engine(Validator... extra) {
+        List<Validator> validators = new ArrayList<>();
+        validators.add(new RangeValidator("age", "age", 0.0, 150.0, true, 5));
+        validators.addAll(Arrays.asList(extra));
+        return new ValidationEngine(validators,
+            new QualityScorer(QualityScorer.ScoringMode.AVERAGE, 0.8),
+            ValidationEngine.ValidationMode.STRICT);
+    }
+
+    private ValidationServer start(ValidationEngine engine, int workers, int queueCapacity, long maxBody) throws IOException {
+        server = new ValidationServer(engine, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+            workers, queueCapacity, maxBody);
+        server.start();
+        return server;
+    }
+
+    @AfterEach
+    void stop() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private static final class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        Map<String, Object> json() throws IOException {
+            return MAPPER.readValue(body, new TypeReference<Map<String, Object>>() {});
+        }
+
+        List<Map<String, Object>> lines() throws IOException {
+            List<Map<String, Object>> lines = new ArrayList<>();
+            for (String line : body.split("\n")) {
+                lines.add(MAPPER.readValue(line, new TypeReference<Map<String, Object>>() {}));
+            }
+            return lines;
+        }
+    }
+
+    private Response request(String method, String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)
+            new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        if (in != null) {
+            try (InputStream stream = in) {
+                stream.transferTo(content);
+            }
+        }
+        return new Response(status, content.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testSingleRecord() throws IOException {
+        start(engine(), 2, 16, 1 << 20);
+
+        Response valid = request("POST", "/validate", "{\"age\": 30}");
+        assertEquals(200, valid.status);
+        assertEquals(true, valid.json().get("valid"));
+        assertFalse(valid.json().containsKey("index"));
+
+        Map<String, Object> invalid = request("POST", "/validate", "{\"age\": 200}").json();
+        assertEquals(false, invalid.get("valid"));
+        List<?> errors = (List<?>) invalid.get("errors");
+        assertEquals("ABOVE_MAXIMUM", ((Map<?, ?>) errors.get(0)).get("code"));
+    }
+
+    @Test
+    void testBatchAcceptsArraysAndNdjson() throws IOException {
+        start(engine(), 2, 16, 1 << 20);
+
+        List<Map<String, Object>> array = request("POST", "/validate/batch",
+            "[{\"age\": 30}, {\"age\": 200}, {\"age\": 40}]").lines();
+        assertEquals(3, array.size());
+        assertEquals(Arrays.asList(true, false, true),
+            Arrays.asList(array.get(0).get("valid"), array.get(1).get("valid"), array.get(2).get("valid")));
+        assertEquals(2, array.get(2).get("index"));
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            ndjson.append("{\"age\": ").append(i % 200).append("}\n");
+        }
+        List<Map<String, Object>> lines = request("POST", "/validate/batch", ndjson.toString()).lines();
+        assertEquals(5000, lines.size());
+        assertEquals(4999, lines.get(4999).get("index"));
+        assertEquals(false, lines.get(199).get("valid"));
+        assertEquals(5003L, ((Number) server.getStats().get("records")).longValue());
+    }
+
+    @Test
+    void testRejectsBadRequests() throws IOException {
+        start(engine(), 2, 16, 64);
+
+        assertEquals(400, request("POST", "/validate", "{not json").status);
+        assertEquals(400, request("POST", "/validate/batch", "42").status);
+        assertEquals(405, request("GET", "/validate", null).status);
+        assertEquals(404, request("POST", "/validate/other", "{}").status);
+        assertEquals(413, request("POST", "/validate", "{\"age\": \"" + "x".repeat(100) + "\"}").status);
+        assertEquals(200, request("GET", "/health", null).status);
+
+        Map<String, Object> stats = request("GET", "/stats", null).json();
+        assertEquals(2, stats.get("badRequests"));
+        assertEquals(1, stats.get("tooLarge"));
+    }
+
+    @Test
+    void testShedsLoadWhenTheQueueIsFull() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Validator blocking = new Validator() {
+            @Override
+            public ValidationResult validate(Map<String, Object> record) {
+                if (record.containsKey("block")) {
+                    entered.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return ValidationResult.passed();
+            }
+
+            @Override
+            public String getName() {
+                return "blocking";
+            }
+
+            @Override
+            public int getPriority() {
+                return 1;
+            }
+        };
+        start(engine(blocking), 1, 1, 1 << 20);
+
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        try {
+            Future<Response> first = clients.submit(() -> request("POST", "/validate", "{\"block\": true}"));
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+            Future<Response> second = clients.submit(() -> request("POST", "/validate", "{\"age\": 1}"));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (((Number) server.getStats().get("queued")).intValue() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertEquals(503, request("POST", "/validate", "{\"age\": 1}").status);
+            release.countDown();
+            assertEquals(200, first.get(10, TimeUnit.SECONDS).status);
+            assertEquals(200, second.get(10, TimeUnit.SECONDS).status);
+            assertEquals(1L, ((Number) server.getStats().get("rejected")).longValue());
+        } finally {
+            release.countDown();
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    void testStatsReportLatencyPercentiles() throws IOException {
+        start(engine(), 2, 16, 1 << 20);
+        for (int i = 0; i < 50; i++) {
+            request("POST", "/validate", "{\"age\": " + i + "}");
+        }
+
+        Map<?, ?> single = (Map<?, ?>) request("GET", "/stats", null).json().get("single");
+        assertEquals(50, single.get("requests"));
+        double p50 = ((Number) single.get("p50Micros")).doubleValue();
+        double p99 = ((Number) single.get("p99Micros")).doubleValue();
+        assertTrue(p50 > 0);
+        assertTrue(p50 <= p99);
+        assertTrue(p99 <= ((Number) single.get("maxMicros")).doubleValue());
+    }
+}
@@ -0,0 +1,91 @@
+package com.datavalidator.validators;
+
+import com.datavalidator.core.ValidationResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupValidatorTest {
+    @TempDir
+    Path dir;
+
+    private Path keys(String... lines) throws IOException {
+        return Files.write(dir.resolve("keys.txt"), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testIndexContainsExactlyTheKeys() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            lines.add("C" + i);
+        }
+        lines.add("C7"); // duplicate
+        lines.add("  ");
+        lines.add(" padded ");
+        lines.add("größe");
+        Path keyFile = keys(lines.toArray(new String[0]));
+
+        for (boolean verified : new boolean[] {false, true}) {
+            LookupIndex index = LookupIndex.build(keyFile, dir.resolve("keys-" + verified + ".idx"), verified);
+            assertEquals(verified, index.isVerified());
+            assertEquals(100_002, index.size());
+            for (int i = 0; i < 100_000; i++) {
+                assertTrue(index.contains("C" + i));
+                assertFalse(index.contains("D" + i));
+            }
+            assertTrue(index.contains("padded"));
+            assertTrue(index.contains("größe"));
+            assertFalse(index.contains("grösse"));
+            assertFalse(index.contains(""));
+        }
+    }
+
+    @Test
+    void testIndexIsReusedUntilTheKeyFileChanges() throws IOException {
+        Path keyFile = keys("a", "b");
+        Path indexFile = LookupIndex.defaultIndexFile(keyFile);
+        LookupIndex.openOrBuild(keyFile, indexFile, false);
+        FileTime built = Files.getLastModifiedTime(indexFile);
+        Files.setLastModifiedTime(indexFile, FileTime.fromMillis(built.toMillis() - 60_000));
+        FileTime aged = Files.getLastModifiedTime(indexFile);
+
+        assertTrue(LookupIndex.openOrBuild(keyFile, indexFile, false).contains("b"));
+        assertEquals(aged, Files.getLastModifiedTime(indexFile)); // mapped, not rebuilt
+
+        assertTrue(LookupIndex.openOrBuild(keyFile, indexFile, true).isVerified()); // setting changed
+        keys("a", "b", "c");
+        Files.setLastModifiedTime(keyFile, FileTime.fromMillis(aged.toMillis() + 120_000));
+        assertTrue(LookupIndex.openOrBuild(keyFile, indexFile, true).contains("c"));
+
+        Files.delete(keyFile);
+        assertTrue(LookupIndex.openOrBuild(keyFile, indexFile, false).contains("c")); // shipped without keys
+        assertFalse(Files.exists(dir.resolve("keys.txt.idx.tmp")));
+    }
+
+    @Test
+    void testValidatorRejectsUnknownKeys() throws IOException {
+        Path keyFile = keys("42", "SKU-1");
+        LookupValidator validator = new LookupValidator("sku_exists", "sku",
+            LookupIndex.build(keyFile, dir.resolve("keys.idx"), true), "keys.txt", 5);
+
+        assertSame(ValidationResult.passed(), validator.validate(Collections.singletonMap("sku", "SKU-1")));
+        assertTrue(validator.validate(Collections.singletonMap("sku", 42L)).isValid());
+        assertTrue(validator.validate(Collections.singletonMap("sku", 42.0)).isValid());
+        assertTrue(validator.validate(Collections.singletonMap("sku", new StringBuilder("42"))).isValid());
+        assertTrue(validator.validate(new HashMap<>()).isValid());
+
+        ValidationResult result = validator.validate(Collections.singletonMap("sku", "SKU-2"));
+        assertFalse(result.isValid());
+        assertEquals(0.0, result.getQualityScore());
+        ValidationResult.ValidationError error = result.getErrors().get(0);
+        assertEquals(ValidationResult.ErrorCode.NOT_IN_REFERENCE_SET, error.getCode());
+        assertEquals("Value SKU-2 not found in keys.txt", error.getMessage());
+    }
+}
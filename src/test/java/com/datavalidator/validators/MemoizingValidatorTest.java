@@ -0,0 +1,166 @@
+package com.datavalidator.validators;
+
+import com.datavalidator.core.FieldLayout;
+import com.datavalidator.core.SlotRecord;
+import com.datavalidator.core.ValidationResult;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoizingValidatorTest {
+    private static Map<String, Object> record(String field, Object value) {
+        Map<String, Object> record = new HashMap<>();
+        record.put(field, value);
+        return record;
+    }
+
+    private static void assertSameOutcome(ValidationResult expected, ValidationResult actual) {
+        assertEquals(expected.isValid(), actual.isValid());
+        assertEquals(expected.getQualityScore(), actual.getQualityScore(), 1e-9);
+        assertEquals(expected.getErrorCount(), actual.getErrorCount());
+        for (int i = 0; i < expected.getErrorCount(); i++) {
+            assertEquals(expected.getErrors().get(i).getCode(), actual.getErrors().get(i).getCode());
+            assertEquals(expected.getErrors().get(i).getMessage(), actual.getErrors().get(i).getMessage());
+        }
+    }
+
+    @Test
+    void testRepeatedValuesHitAndReplayTheSameOutcome() {
+        RangeValidator range = new RangeValidator("age", "age", 0.0, 150.0, true, 5);
+        MemoizingValidator memo = MemoizingValidator.wrap(range, 100);
+
+        for (Object value : Arrays.asList(30, 200, "abc", 30, 200, "abc", null)) {
+            assertSameOutcome(range.validate(record("age", value)), memo.validate(record("age", value)));
+        }
+        assertEquals(3, memo.getHits());
+        assertEquals(4, memo.getMisses());
+        assertEquals(3.0 / 7, memo.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void testMissingAndNullAreRememberedSeparately() {
+        RangeValidator range = new RangeValidator("age", "age", 0.0, 150.0, true, 5);
+        MemoizingValidator memo = MemoizingValidator.wrap(range, 100);
+
+        Map<String, Object> missing = new HashMap<>();
+        for (int i = 0; i < 2; i++) {
+            assertSameOutcome(range.validate(missing), memo.validate(missing));
+            assertSameOutcome(range.validate(record("age", null)), memo.validate(record("age", null)));
+        }
+        assertEquals(2, memo.getSize());
+
+        TypeValidator types = new TypeValidator("types", Collections.singletonMap("id", "string"), 5, false);
+        MemoizingValidator fieldwise = MemoizingValidator.wrap(types, 100);
+        for (int i = 0; i < 2; i++) {
+            assertSameOutcome(types.validate(missing), fieldwise.validate(missing));
+            assertSameOutcome(types.validate(record("id", null)), fieldwise.validate(record("id", null)));
+        }
+        assertEquals(1, fieldwise.getSize()); // type rules skip missing fields without a lookup
+    }
+
+    @Test
+    void testUncacheableValuesGoToTheDelegate() {
+        TypeValidator types = new TypeValidator("types", Collections.singletonMap("tags", "list"), 5, false);
+        MemoizingValidator memo = MemoizingValidator.wrap(types, 100);
+
+        List<String> tags = new ArrayList<>(Collections.singletonList("a"));
+        assertTrue(memo.validate(record("tags", tags)).isValid());
+        assertTrue(memo.validate(record("tags", tags)).isValid());
+        assertEquals(0, memo.getHits() + memo.getMisses());
+        assertEquals(0, memo.getSize());
+    }
+
+    @Test
+    void testCapacityBoundsTheCache() {
+        MemoizingValidator memo = MemoizingValidator.wrap(new RangeValidator("age", "age", 0.0, 150.0, true, 5), 64);
+        for (int i = 0; i < 1000; i++) {
+            memo.validate(record("age", i));
+        }
+        assertTrue(memo.getSize() <= 64);
+        assertEquals(1000 - memo.getSize(), memo.getEvictions());
+
+        memo.validate(record("age", 999)); // most recent survives
+        assertEquals(1, memo.getHits());
+    }
+
+    @Test
+    void testBoundPlanSharesTheCache() {
+        Map<String, String> fieldTypes = new LinkedHashMap<>();
+        fieldTypes.put("country", "string");
+        fieldTypes.put("count", "integer");
+        TypeValidator types = new TypeValidator("types", fieldTypes, 5, false);
+        MemoizingValidator memo = MemoizingValidator.wrap(types, 100);
+
+        FieldLayout layout = FieldLayout.of(fieldTypes.keySet(), false);
+        SlotValidator bound = memo.bind(layout);
+        SlotRecord record = new SlotRecord(layout);
+        record.set(layout.slotOf("country"), "DE");
+        record.set(layout.slotOf("count"), "7");
+
+        ValidationResult expected = types.bind(layout).validate(record);
+        assertSameOutcome(expected, bound.validate(record));
+        assertSameOutcome(expected, bound.validate(record));
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("country", "DE");
+        map.put("count", "7");
+        assertSameOutcome(expected, memo.validate(map));
+        assertEquals(4, memo.getHits()); // both fields, on the second bound call and the map call
+    }
+
+    @Test
+    void testLowCardinalityFieldHitsNextToAUniqueOne() {
+        Map<String, String> fieldTypes = new LinkedHashMap<>();
+        fieldTypes.put("id", "integer");
+        fieldTypes.put("country", "string");
+        TypeValidator types = new TypeValidator("types", fieldTypes, 5, false);
+        MemoizingValidator memo = MemoizingValidator.wrap(types, 100);
+        String[] countries = {"DE", "FR", "US", "JP"};
+
+        for (int i = 0; i < 1000; i++) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("id", i % 100 == 0 ? (Object) ("x" + i) : (Object) i);
+            record.put("country", i % 50 == 0 ? (Object) 7 : countries[i % countries.length]);
+            assertSameOutcome(types.validate(record), memo.validate(record));
+        }
+
+        assertEquals(0, memo.getHits("id"));
+        assertEquals(1000, memo.getMisses("id"));
+        assertEquals(1000 - 5, memo.getHits("country")); // four countries and the integer 7
+        assertTrue(memo.getSize("id") <= 100);
+    }
+
+    @Test
+    void testRulesCheckingFieldsTogetherAreRejected() {
+        RequiredFieldValidator required = new RequiredFieldValidator("req", Arrays.asList("a", "b"), 5, true);
+        assertThrows(IllegalArgumentException.class, () -> MemoizingValidator.wrap(required, 10));
+    }
+
+    @Test
+    void testColumnarKernelIsKept() {
+        assertTrue(MemoizingValidator.wrap(new RangeValidator("age", "age", 0.0, 150.0, true, 5), 10)
+            instanceof ColumnarValidator);
+    }
+
+    @Test
+    void testValidatorWithoutDeclaredFieldsIsRejected() {
+        Validator opaque = new Validator() {
+            @Override
+            public ValidationResult validate(Map<String, Object> record) {
+                return ValidationResult.passed();
+            }
+
+            @Override
+            public String getName() {
+                return "opaque";
+            }
+
+            @Override
+            public int getPriority() {
+                return 1;
+            }
+        };
+        assertThrows(IllegalArgumentException.class, () -> MemoizingValidator.wrap(opaque, 10));
+    }
+}
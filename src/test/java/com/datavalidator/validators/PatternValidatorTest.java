@@ -0,0 +1,91 @@
+package com.datavalidator.validators;
+
+import com.datavalidator.core.ValidationResult;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternValidatorTest {
+    private static final String EMAIL = "^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
+    private static final String PHONE = "^\\+?[1-9]\\d{6,14}$";
+    private static final String UUID = "^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$";
+
+    @Test
+    void testCommonShapesSkipTheRegex() {
+        assertTrue(new PatternValidator("p", "f", UUID, 1).isRegexFree());
+        assertTrue(new PatternValidator("p", "f", PHONE, 1).isRegexFree());
+        assertTrue(new PatternValidator("p", "f", "ORD-\\d+", 1).isRegexFree());
+        assertTrue(new PatternValidator("p", "f", ".*\\.csv", 1).isRegexFree());
+        assertTrue(new PatternValidator("p", "f", "[A-Z_]*", 1).isRegexFree());
+        assertFalse(new PatternValidator("p", "f", EMAIL, 1).isRegexFree()); // prefiltered only
+        assertFalse(new PatternValidator("p", "f", "(ab)+", 1).isRegexFree());
+        assertFalse(new PatternValidator("p", "f", "a|b", 1).isRegexFree());
+    }
+
+    @Test
+    void testFastPathAgreesWithTheRegex() {
+        String[] patterns = {
+            EMAIL, PHONE, UUID, "ORD-\\d+", ".*\\.csv", "[A-Z_]*", "\\d{3}-\\d{4}", "a?b?c?", "x*c.",
+            "[^abc]+z", "\\S+\\s\\S+", "\\w{2,4}\\W?", "[a-]+[-z]", "[\\d.]+", "[^\\D]{2}", "a{0}b", "",
+            "[ab]*[bc]c", ".{2}", "\\Q.\\E", "a+?", "[a&&b]", "\\$\\d+", "\\\\[a-c]$",
+        };
+        String alphabet = "abcxz.-@+_ 0129AZ$\\\né😀";
+        Random random = new Random(42);
+        for (String regex : patterns) {
+            PatternValidator validator = new PatternValidator("p", "f", regex, 1);
+            Pattern reference = Pattern.compile(regex);
+            for (int i = 0; i < 20_000; i++) {
+                StringBuilder text = new StringBuilder();
+                int length = random.nextInt(12);
+                for (int n = 0; n < length; n++) {
+                    text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                String value = text.toString();
+                assertEquals(reference.matcher(value).matches(), validator.matches(value),
+                    () -> regex + " on '" + value + "'");
+            }
+        }
+    }
+
+    @Test
+    void testEmailPhoneAndUuid() {
+        PatternValidator email = new PatternValidator("email_format", "email", EMAIL, 3);
+        assertTrue(email.matches("john@example.com"));
+        assertTrue(email.matches("a.b+tag@sub.example.org"));
+        assertFalse(email.matches("invalid-email"));
+        assertFalse(email.matches("john@example"));
+        assertFalse(email.matches("@example.com"));
+
+        PatternValidator phone = new PatternValidator("phone_format", "phone", PHONE, 3);
+        assertTrue(phone.matches("+14155550123"));
+        assertTrue(phone.matches("4155550123"));
+        assertFalse(phone.matches("+04155550123"));
+        assertFalse(phone.matches("415-555-0123"));
+        assertFalse(phone.matches("+1415555012345678"));
+
+        PatternValidator uuid = new PatternValidator("uuid_format", "id", UUID, 3);
+        assertTrue(uuid.matches("123e4567-e89b-12d3-a456-426614174000"));
+        assertFalse(uuid.matches("123E4567-E89B-12D3-A456-426614174000"));
+        assertFalse(uuid.matches("123e4567e89b12d3a456426614174000"));
+    }
+
+    @Test
+    void testValidatorRejectsMismatches() {
+        PatternValidator validator = new PatternValidator("email_format", "email", EMAIL, 3);
+
+        assertSame(ValidationResult.passed(), validator.validate(Collections.singletonMap("email", "john@example.com")));
+        assertTrue(validator.validate(Collections.singletonMap("email", new StringBuilder("john@example.com"))).isValid());
+        assertTrue(validator.validate(new HashMap<>()).isValid());
+        assertTrue(new PatternValidator("zip", "zip", "\\d{5}", 1).validate(Collections.singletonMap("zip", 12345L)).isValid());
+
+        ValidationResult result = validator.validate(Collections.singletonMap("email", "invalid-email"));
+        assertFalse(result.isValid());
+        assertEquals(0.0, result.getQualityScore());
+        ValidationResult.ValidationError error = result.getErrors().get(0);
+        assertEquals(ValidationResult.ErrorCode.PATTERN_MISMATCH, error.getCode());
+        assertEquals(ValidationResult.Severity.MEDIUM, error.getSeverity());
+        assertEquals("Value invalid-email does not match " + EMAIL, error.getMessage());
+    }
+}
@@ -0,0 +1,61 @@
+package com.datavalidator.validators;
+
+import com.datavalidator.core.ValidationResult;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RangeValidatorTest {
+    @Test
+    void testInRange() {
+        RangeValidator validator = new RangeValidator("age", "age", 0.0, 150.0, true, 5);
+
+        ValidationResult result = validator.validate(Collections.singletonMap("age", 150));
+        assertTrue(result.isValid());
+        assertSame(ValidationResult.passed(), result);
+    }
+
+    @Test
+    void testAboveMaximumCarriesCodeAndArguments() {
+        RangeValidator validator = new RangeValidator("age", "age", 0.0, 150.0, true, 5);
+
+        ValidationResult result = validator.validate(Collections.singletonMap("age", 200));
+        assertFalse(result.isValid());
+        assertEquals(0.5, result.getQualityScore(), 0.01);
+
+        ValidationResult.ValidationError error = result.getErrors().get(0);
+        assertEquals(ValidationResult.ErrorCode.ABOVE_MAXIMUM, error.getCode());
+        assertEquals(200, error.getActual());
+        assertEquals("Value 200.00 is above maximum )150.00", error.getMessage());
+    }
+
+    @Test
+    void testBelowExclusiveMinimum() {
+        RangeValidator validator = new RangeValidator("age", "age", 0.0, 150.0, false, 5);
+
+        ValidationResult.ValidationError error =
+            validator.validate(Collections.singletonMap("age", "0")).getErrors().get(0);
+        assertEquals(ValidationResult.ErrorCode.BELOW_MINIMUM, error.getCode());
+        assertEquals("Value 0.00 is below minimum [0.00", error.getMessage());
+    }
+
+    @Test
+    void testNotANumber() {
+        RangeValidator validator = new RangeValidator("age", "age", 0.0, 150.0, true, 5);
+
+        ValidationResult result = validator.validate(Collections.singletonMap("age", "abc"));
+        assertFalse(result.isValid());
+        assertEquals(0.0, result.getQualityScore(), 0.01);
+        assertEquals(ValidationResult.ErrorCode.NOT_A_NUMBER, result.getErrors().get(0).getCode());
+        assertEquals("Value is not a number", result.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void testMissingAndNullPass() {
+        RangeValidator validator = new RangeValidator("age", "age", 0.0, 150.0, true, 5);
+
+        assertTrue(validator.validate(new HashMap<>()).isValid());
+        assertTrue(validator.validate(Collections.singletonMap("age", null)).isValid());
+    }
+}
@@ -0,0 +1,91 @@
+package com.datavalidator.validators;
+
+import com.datavalidator.core.ValidationResult;
+import org.junit.jupiter.api.Test;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TypeValidatorTest {
+    private static boolean accepts(String type, Object value, boolean allowCoercion) {
+        TypeValidator validator = new TypeValidator(
+            "types", Collections.singletonMap("field", type), 5, allowCoercion
+        );
+        ValidationResult result = validator.validate(Collections.singletonMap("field", value));
+        return result.getErrorCount() == 0;
+    }
+
+    @Test
+    void testIntegralNamesAcceptEveryIntegralClass() {
+        for (String type : Arrays.asList("integer", "int", "long", "Integer")) {
+            assertTrue(accepts(type, 1, false), type);
+            assertTrue(accepts(type, 4_000_000_000L, false), type);
+            assertTrue(accepts(type, new BigInteger("123456789012345678901"), false), type);
+            assertFalse(accepts(type, "1", false), type);
+            assertFalse(accepts(type, 1.5, false), type);
+        }
+    }
+
+    @Test
+    void testNoAccidentalSubstringMatches() {
+        // The old simple-name match let "int" accept any class whose name contains it
+        assertFalse(accepts("int", new AtomicInteger(1), false));
+        assertFalse(accepts("string", 'c', false));
+    }
+
+    @Test
+    void testKnownTypes() {
+        assertTrue(accepts("string", "a", false));
+        assertTrue(accepts("double", 1.5, false));
+        assertFalse(accepts("double", 1, false));
+        assertTrue(accepts("number", 1, false));
+        assertTrue(accepts("boolean", true, false));
+        assertTrue(accepts("array", Arrays.asList(1, 2), false));
+        assertTrue(accepts("object", new HashMap<>(), false));
+    }
+
+    @Test
+    void testUnknownTypeNamesKeepSimpleNameMatch() {
+        assertTrue(accepts("date", LocalDate.of(2024, 1, 1), false));
+        assertFalse(accepts("date", "2024-01-01", false));
+        assertTrue(accepts(" date ", LocalDate.of(2024, 1, 1), false)); // trimmed like the known names
+        assertTrue(accepts(" string ", "a", false));
+    }
+
+    @Test
+    void testCoercion() {
+        assertTrue(accepts("integer", "12", true));
+        assertFalse(accepts("integer", "1.5", true));
+        assertTrue(accepts("double", 1, true));
+        assertTrue(accepts("double", "1e3", true));
+        assertFalse(accepts("boolean", "true", true));
+    }
+
+    @Test
+    void testVerdictCacheFollowsClassChanges() {
+        Map<String, String> types = new LinkedHashMap<>();
+        types.put("id", "integer");
+        TypeValidator validator = new TypeValidator("types", types, 5, false);
+
+        Object[] values = {1, "x", 2L, "y", 3, new AtomicInteger(4), 5L, new ArrayList<>(), new AtomicInteger(6)};
+        boolean[] expected = {true, false, true, false, true, false, true, false, false};
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(expected[i], validator.validate(Collections.singletonMap("id", values[i])).isValid());
+        }
+    }
+
+    @Test
+    void testMismatchError() {
+        TypeValidator validator = new TypeValidator("types", Collections.singletonMap("id", "integer"), 5, false);
+
+        ValidationResult result = validator.validate(Collections.singletonMap("id", "abc"));
+        assertFalse(result.isValid());
+        ValidationResult.ValidationError error = result.getErrors().get(0);
+        assertEquals(ValidationResult.ErrorCode.TYPE_MISMATCH, error.getCode());
+        assertEquals(ValidationResult.Severity.HIGH, error.getSeverity());
+        assertEquals("id", error.getField());
+    }
+}